@@ -0,0 +1,84 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.AsyncChangeDispatcher;
+import com.calendar.bst.EventBST;
+import com.calendar.bst.EventChangeListener;
+import com.calendar.model.Event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// What change listeners add to the write path. SLOW stands in for a subscriber such as a search
+// index that does real work per change: called directly it runs inside every insert, behind an
+// AsyncChangeDispatcher the insert only publishes to the ring buffer. The dropped count per trial
+// is printed, since a subscriber that cannot keep up loses changes rather than slowing writes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeListenerBenchmark {
+
+    public enum Listener { NONE, DIRECT, DIRECT_SLOW, ASYNC_SLOW }
+
+    private static final long SLOW_TOKENS = 500;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"NONE", "DIRECT", "DIRECT_SLOW", "ASYNC_SLOW"})
+    private Listener listener;
+
+    private List<Event> events;
+    private AsyncChangeDispatcher dispatcher;
+    private EventChangeListener attached;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        events = EventDataGenerator.random(size);
+        EventChangeListener slow = change -> Blackhole.consumeCPU(SLOW_TOKENS);
+        attached = switch (listener) {
+            case NONE -> null;
+            case DIRECT -> blackhole::consume;
+            case DIRECT_SLOW -> slow;
+            case ASYNC_SLOW -> dispatcher = new AsyncChangeDispatcher(slow);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+            System.out.printf("%n%,d of %,d changes dropped%n",
+                    dispatcher.getDroppedCount(), dispatcher.getDroppedCount() + dispatcher.getPublishedCount());
+        }
+    }
+
+    @Benchmark
+    public EventBST insert() {
+        EventBST tree = new EventBST();
+        if (attached != null) {
+            tree.addChangeListener(attached);
+        }
+        for (Event event : events) {
+            tree.insert(event);
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,78 @@
+package com.calendar.benchmark;
+
+import com.calendar.model.Event;
+import com.calendar.persistence.CalendarPersistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Save and load latency of plain versus gzipped calendar files. The file size for each
+// configuration is printed once per trial, since JMH itself only reports time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CompressionBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"NONE", "GZIP"})
+    private CalendarPersistence.Compression compression;
+
+    private Path directory;
+    private List<Event> events;
+    private CalendarPersistence writer;
+    private CalendarPersistence reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("calendar-bench");
+        events = EventDataGenerator.random(size);
+        writer = new CalendarPersistence(directory.resolve("save.json"));
+        writer.setCompression(compression);
+        reader = new CalendarPersistence(directory.resolve("load.json"));
+        reader.setCompression(compression);
+        reader.saveEvents(events);
+
+        long bytes = Files.size(reader.getFilePath());
+        System.out.printf("%n%s, %,d events: %,d bytes on disk (%.1f bytes/event)%n",
+                compression, size, bytes, (double) bytes / size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writer.deleteData();
+        reader.deleteData();
+        directory.toFile().delete();
+    }
+
+    @Benchmark
+    public void save() {
+        writer.saveEvents(events);
+    }
+
+    @Benchmark
+    public List<Event> load() {
+        return reader.loadEvents();
+    }
+}
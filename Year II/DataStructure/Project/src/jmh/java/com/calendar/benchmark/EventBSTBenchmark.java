@@ -0,0 +1,100 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Read and delete paths against a tree built once per trial from the seeded generator
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBSTBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private EventBST tree;
+    private String[] ids;
+    private Event[] events;
+    private LocalDate[] dates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Event> data = EventDataGenerator.random(size);
+        tree = new EventBST();
+        data.forEach(tree::insert);
+
+        SplittableRandom random = new SplittableRandom(EventDataGenerator.DEFAULT_SEED);
+        ids = new String[PROBES];
+        events = new Event[PROBES];
+        dates = new LocalDate[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            events[i] = data.get(random.nextInt(size));
+            ids[i] = events[i].getId();
+            dates[i] = events[i].getDate();
+        }
+    }
+
+    private int nextProbe() {
+        next = (next + 1) & (PROBES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Event findById() {
+        return tree.findById(ids[nextProbe()]);
+    }
+
+    @Benchmark
+    public List<Event> findEventsByDate() {
+        return tree.findEventsByDate(dates[nextProbe()]);
+    }
+
+    @Benchmark
+    public List<Event> findEventsInRange() {
+        LocalDate start = dates[nextProbe()];
+        return tree.findEventsInRange(start, start.plusDays(6));
+    }
+
+    @Benchmark
+    public List<Event> searchByTitleContains() {
+        return tree.searchByTitleContains("review");
+    }
+
+    // Re-inserts the deleted event so the tree keeps its size across invocations
+    @Benchmark
+    public boolean deleteById() {
+        int probe = nextProbe();
+        boolean deleted = tree.deleteById(ids[probe]);
+        tree.insert(events[probe]);
+        return deleted;
+    }
+
+    @Benchmark
+    public EventBST.BSTStatistics getStatistics() {
+        return tree.getStatistics();
+    }
+}
@@ -0,0 +1,58 @@
+package com.calendar.benchmark;
+
+import com.calendar.model.Event;
+import com.calendar.model.EventIdGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+// Event.builder().build() throughput under parallel ingestion, per id generator
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class EventBuildBenchmark {
+
+    public enum Generator { TIME_ORDERED, RANDOM_UUID }
+
+    @Param({"TIME_ORDERED", "RANDOM_UUID"})
+    private Generator generator;
+
+    private EventIdGenerator idGenerator;
+    private final LocalDate date = LocalDate.of(2026, 1, 1);
+    private final LocalTime time = LocalTime.of(9, 0);
+
+    @Setup
+    public void setUp() {
+        idGenerator = generator == Generator.TIME_ORDERED
+                ? EventIdGenerator.timeOrdered()
+                : EventIdGenerator.random();
+    }
+
+    @Benchmark
+    public Event build() {
+        return Event.builder()
+                .date(date)
+                .time(time)
+                .title("Standup")
+                .idGenerator(idGenerator)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.calendar.benchmark;
+
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Seeded so every run, fork and machine benchmarks exactly the same calendar
+public final class EventDataGenerator {
+
+    public static final long DEFAULT_SEED = 20260101L;
+    public static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+
+    private static final String[] TITLES = {
+            "Standup", "1:1", "Lunch", "Design Review", "Sprint Planning", "Gym",
+            "Dentist", "Team Sync", "Lecture", "Study Group", "Dinner", "Call Mom"
+    };
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 12, 1, 9, 0);
+
+    private final SplittableRandom random;
+    private final int days;
+    private long sequence;
+
+    public EventDataGenerator(long seed, int days) {
+        this.random = new SplittableRandom(seed);
+        this.days = days;
+    }
+
+    // Spreads events over roughly three years, about a hundred per day at 100k events
+    public static List<Event> random(int count) {
+        return new EventDataGenerator(DEFAULT_SEED, 1095).generate(count);
+    }
+
+    public static List<Event> sorted(int count) {
+        List<Event> events = random(count);
+        Collections.sort(events);
+        return events;
+    }
+
+    public static List<Event> reversed(int count) {
+        List<Event> events = sorted(count);
+        Collections.reverse(events);
+        return events;
+    }
+
+    public List<Event> generate(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(next());
+        }
+        return events;
+    }
+
+    public Event next() {
+        long n = sequence++;
+        String title = TITLES[random.nextInt(TITLES.length)];
+        return Event.builder()
+                .id(0x0190_0000_0000_7000L, 0x8000_0000_0000_0000L | n)
+                .date(FIRST_DAY.plusDays(random.nextInt(days)))
+                .time(LocalTime.of(6 + random.nextInt(16), random.nextInt(4) * 15))
+                .durationMinutes(15 * (1 + random.nextInt(8)))
+                .title(random.nextInt(10) == 0 ? title + " #" + n : title)
+                .description(random.nextInt(4) == 0 ? "Notes for " + title : "")
+                .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                .createdAt(CREATED_AT)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+import com.calendar.store.CompactEventStore;
+import com.calendar.store.OffHeapEventStore;
+import com.calendar.store.SqliteEventStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Compares the event stores under an allocation-heavy workload. Run with "-prof gc" to see
+// how much collector time the resident object graph costs: the off-heap store leaves the GC
+// almost nothing to trace, and the SQLite store keeps nothing resident at all. The 10M size
+// needs a machine with well over 12 GB of memory; pass -p size=1000000 on smaller ones.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "-XX:+UseG1GC"})
+public class EventStoreBenchmark {
+
+    public enum Store { BST, COMPACT, OFF_HEAP, SQLITE }
+
+    @Param({"BST", "COMPACT", "OFF_HEAP", "SQLITE"})
+    private Store store;
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private EventBST tree;
+    private CompactEventStore compact;
+    private OffHeapEventStore offHeap;
+    private SqliteEventStore sqlite;
+    private Path sqliteDirectory;
+    private LocalDate day = EventDataGenerator.FIRST_DAY;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Event> events = EventDataGenerator.random(size);
+        switch (store) {
+            case BST -> {
+                tree = new EventBST();
+                events.forEach(tree::insert);
+            }
+            case COMPACT -> {
+                compact = new CompactEventStore();
+                compact.addAll(events);
+            }
+            case OFF_HEAP -> {
+                offHeap = new OffHeapEventStore();
+                events.forEach(offHeap::add);
+            }
+            case SQLITE -> {
+                sqliteDirectory = Files.createTempDirectory("calendar-bench");
+                sqlite = new SqliteEventStore(sqliteDirectory.resolve("events.db"));
+                sqlite.insertAll(events);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (offHeap != null) {
+            offHeap.close();
+        }
+        if (sqlite != null) {
+            sqlite.close();
+            try (Stream<Path> files = Files.list(sqliteDirectory)) {
+                files.forEach(file -> file.toFile().delete());
+            }
+            sqliteDirectory.toFile().delete();
+        }
+    }
+
+    @Benchmark
+    public List<Event> weekQuery() {
+        day = day.plusDays(1);
+        if (day.isAfter(EventDataGenerator.FIRST_DAY.plusDays(1000))) {
+            day = EventDataGenerator.FIRST_DAY;
+        }
+        return switch (store) {
+            case BST -> tree.findEventsInRange(day, day.plusDays(6));
+            case COMPACT -> compact.findEventsInRange(day, day.plusDays(6));
+            case OFF_HEAP -> offHeap.findEventsInRange(day, day.plusDays(6));
+            case SQLITE -> sqlite.findEventsInRange(day, day.plusDays(6));
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+import com.calendar.persistence.ICalendarReader;
+import com.calendar.persistence.ICalendarWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Export and import of a large .ics file. The import file is written in date order, as most
+// calendar tools do, which is the worst case for inserting into the tree one event at a time;
+// importEvents goes through the bulk-load path instead. streamEvents reads without building
+// the tree, to separate parsing cost from tree cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ICalendarBenchmark {
+
+    @Param({"500000"})
+    private int size;
+
+    private Path directory;
+    private List<Event> events;
+    private Path exportFile;
+    private Path importFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("calendar-bench");
+        events = EventDataGenerator.sorted(size);
+        exportFile = directory.resolve("export.ics");
+        importFile = directory.resolve("import.ics");
+        ICalendarWriter.export(importFile, events);
+
+        long bytes = Files.size(importFile);
+        System.out.printf("%n%,d events: %,d bytes on disk (%.1f bytes/event)%n",
+                size, bytes, (double) bytes / size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(exportFile);
+        Files.deleteIfExists(importFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int exportEvents() {
+        return ICalendarWriter.export(exportFile, events);
+    }
+
+    @Benchmark
+    public long streamEvents() {
+        try (ICalendarReader reader = new ICalendarReader(importFile)) {
+            return reader.events().count();
+        }
+    }
+
+    @Benchmark
+    public EventBST importEvents() {
+        EventBST calendar = new EventBST();
+        ICalendarReader.importInto(importFile, calendar);
+        return calendar;
+    }
+}
@@ -0,0 +1,87 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+import com.calendar.persistence.CalendarPersistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Latency of saving after a single-event edit: rewriting the whole snapshot versus appending the
+// delta to the journal. Each invocation moves one event to a new time (one delete plus one insert).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IncrementalSaveBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private EventBST calendar;
+    private CalendarPersistence persistence;
+    private Event edited;
+    private int edits;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("calendar-bench");
+        List<Event> events = EventDataGenerator.random(size);
+        calendar = new EventBST();
+        for (Event event : events) {
+            calendar.insert(event);
+        }
+        edited = events.get(size / 2);
+        persistence = new CalendarPersistence(directory.resolve("calendar.json"));
+        persistence.saveEvents(calendar.getAllEvents());
+        calendar.checkpoint();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        persistence.deleteData();
+        directory.toFile().delete();
+    }
+
+    private void editOneEvent() {
+        calendar.deleteById(edited.getId());
+        edited = edited.toBuilder().time(LocalTime.ofSecondOfDay((++edits * 60L) % 86_400)).build();
+        calendar.insert(edited);
+    }
+
+    @Benchmark
+    public void fullRewrite() {
+        editOneEvent();
+        persistence.saveEvents(calendar.getAllEvents());
+        calendar.checkpoint();
+    }
+
+    @Benchmark
+    public boolean journalAppend() {
+        editOneEvent();
+        boolean incremental = persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents);
+        calendar.checkpoint();
+        return incremental;
+    }
+}
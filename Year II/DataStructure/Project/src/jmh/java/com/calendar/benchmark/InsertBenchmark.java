@@ -0,0 +1,84 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of building a whole tree. The tree is not self-balancing, so sorted and reversed input
+// degenerate into a list: O(n^2) work and recursion as deep as the tree, which is why those
+// orders run at smaller sizes and with a large thread stack.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+public class InsertBenchmark {
+
+    public enum Order { RANDOM, SORTED, REVERSE }
+
+    @State(Scope.Benchmark)
+    public static class RandomInput {
+
+        @Param({"10000", "100000", "1000000"})
+        private int size;
+
+        private List<Event> events;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            events = EventDataGenerator.random(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OrderedInput {
+
+        @Param({"SORTED", "REVERSE"})
+        private Order order;
+
+        @Param({"1000", "5000", "10000"})
+        private int orderedSize;
+
+        private List<Event> events;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            events = order == Order.SORTED
+                    ? EventDataGenerator.sorted(orderedSize)
+                    : EventDataGenerator.reversed(orderedSize);
+        }
+    }
+
+    @Benchmark
+    public EventBST insertRandom(RandomInput input) {
+        return build(input.events);
+    }
+
+    @Benchmark
+    public EventBST insertOrdered(OrderedInput input) {
+        return build(input.events);
+    }
+
+    private static EventBST build(List<Event> events) {
+        EventBST tree = new EventBST();
+        for (Event event : events) {
+            tree.insert(event);
+        }
+        return tree;
+    }
+}
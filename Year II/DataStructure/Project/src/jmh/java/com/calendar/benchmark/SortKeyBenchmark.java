@@ -0,0 +1,237 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Before and after for the packed sort key. The sorts run the same array through the original
+// three-way comparison (date, then time, then priority), Event.compareTo and the raw key alone,
+// copying it first so the copy costs the same in all three. Insert and range query run on
+// OrderedTree, the EventBST insert and range walk with the comparison passed in, once with the
+// original comparison and date checks and once with the key. EventBST itself is measured
+// alongside as the shipped version.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortKeyBenchmark {
+
+    // Event.compareTo as it was before the key was cached on the event
+    private static final Comparator<Event> LEGACY_ORDER = (a, b) -> {
+        int dateComparison = a.getDate().compareTo(b.getDate());
+        if (dateComparison != 0) {
+            return dateComparison;
+        }
+        int timeComparison = a.getTime().compareTo(b.getTime());
+        if (timeComparison != 0) {
+            return timeComparison;
+        }
+        return Integer.compare(b.getPriority().getLevel(), a.getPriority().getLevel());
+    };
+
+    private static final Comparator<Event> KEY_ORDER = Comparator.comparingLong(Event::getSortKey);
+
+    // A week at a time, starting anywhere in the generator's three years
+    private static final int QUERIES = 1000;
+    private static final int WINDOW_DAYS = 7;
+    private static final int GENERATED_DAYS = 1095;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Event[] events;
+    private OrderedTree legacyTree;
+    private OrderedTree sortKeyTree;
+    private EventBST eventTree;
+    private LocalDate[] windows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        events = EventDataGenerator.random(size).toArray(new Event[0]);
+        legacyTree = OrderedTree.of(events, LEGACY_ORDER);
+        sortKeyTree = OrderedTree.of(events, Comparator.naturalOrder());
+        eventTree = new EventBST();
+        for (Event event : events) {
+            eventTree.insert(event);
+        }
+
+        SplittableRandom random = new SplittableRandom(EventDataGenerator.DEFAULT_SEED);
+        windows = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            windows[i] = EventDataGenerator.FIRST_DAY.plusDays(random.nextInt(GENERATED_DAYS - WINDOW_DAYS));
+        }
+    }
+
+    @Benchmark
+    public Event[] legacyCompare() {
+        Event[] copy = events.clone();
+        Arrays.sort(copy, LEGACY_ORDER);
+        return copy;
+    }
+
+    @Benchmark
+    public Event[] compareTo() {
+        Event[] copy = events.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Event[] sortKey() {
+        Event[] copy = events.clone();
+        Arrays.sort(copy, KEY_ORDER);
+        return copy;
+    }
+
+    @Benchmark
+    public OrderedTree legacyInsert() {
+        return OrderedTree.of(events, LEGACY_ORDER);
+    }
+
+    @Benchmark
+    public OrderedTree sortKeyInsert() {
+        return OrderedTree.of(events, Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public EventBST eventBstInsert() {
+        EventBST tree = new EventBST();
+        for (Event event : events) {
+            tree.insert(event);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    public void legacyRange(Blackhole blackhole) {
+        for (LocalDate start : windows) {
+            blackhole.consume(legacyTree.rangeByDate(start, start.plusDays(WINDOW_DAYS - 1)));
+        }
+    }
+
+    @Benchmark
+    public void sortKeyRange(Blackhole blackhole) {
+        for (LocalDate start : windows) {
+            blackhole.consume(sortKeyTree.rangeByKey(Event.startOfDayKey(start),
+                    Event.startOfDayKey(start.plusDays(WINDOW_DAYS))));
+        }
+    }
+
+    @Benchmark
+    public void eventBstRange(Blackhole blackhole) {
+        for (LocalDate start : windows) {
+            blackhole.consume(eventTree.findEventsInRange(start, start.plusDays(WINDOW_DAYS - 1)));
+        }
+    }
+
+    // EventBST's unbalanced insert and pruned range walk without indexes, caches or listeners, so
+    // the variants differ only in how events are compared
+    public static final class OrderedTree {
+
+        private final Comparator<Event> order;
+        private Node root;
+
+        private OrderedTree(Comparator<Event> order) {
+            this.order = order;
+        }
+
+        static OrderedTree of(Event[] events, Comparator<Event> order) {
+            OrderedTree tree = new OrderedTree(order);
+            for (Event event : events) {
+                tree.root = tree.insert(tree.root, event);
+            }
+            return tree;
+        }
+
+        private Node insert(Node node, Event event) {
+            if (node == null) {
+                return new Node(event);
+            }
+            if (order.compare(event, node.event) < 0) {
+                node.left = insert(node.left, event);
+            } else {
+                node.right = insert(node.right, event);
+            }
+            return node;
+        }
+
+        // The range walk as it was, comparing dates at every node
+        List<Event> rangeByDate(LocalDate start, LocalDate end) {
+            List<Event> events = new ArrayList<>();
+            rangeByDate(root, start, end, events);
+            return events;
+        }
+
+        private void rangeByDate(Node node, LocalDate start, LocalDate end, List<Event> events) {
+            if (node == null) {
+                return;
+            }
+            LocalDate date = node.event.getDate();
+            if (date.compareTo(start) >= 0) {
+                rangeByDate(node.left, start, end, events);
+            }
+            if (!date.isBefore(start) && !date.isAfter(end)) {
+                events.add(node.event);
+            }
+            if (date.compareTo(end) <= 0) {
+                rangeByDate(node.right, start, end, events);
+            }
+        }
+
+        // As EventBST walks it now: fromKey <= key < toKey
+        List<Event> rangeByKey(long fromKey, long toKey) {
+            List<Event> events = new ArrayList<>();
+            rangeByKey(root, fromKey, toKey, events);
+            return events;
+        }
+
+        private void rangeByKey(Node node, long fromKey, long toKey, List<Event> events) {
+            if (node == null) {
+                return;
+            }
+            long key = node.event.getSortKey();
+            if (key >= fromKey) {
+                rangeByKey(node.left, fromKey, toKey, events);
+            }
+            if (key >= fromKey && key < toKey) {
+                events.add(node.event);
+            }
+            if (key < toKey) {
+                rangeByKey(node.right, fromKey, toKey, events);
+            }
+        }
+
+        private static final class Node {
+            private final Event event;
+            private Node left;
+            private Node right;
+
+            Node(Event event) {
+                this.event = event;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.calendar.benchmark;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+import com.calendar.model.EventPriority;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Sequential vs parallel aggregation over the subtree-splitting spliterator. The parallel stream
+// runs inside a pool of the given size rather than the common pool, so one run gives the scaling
+// curve across thread counts; counts above the machine's cores show the oversubscription cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private EventBST tree;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tree = new EventBST();
+        EventDataGenerator.random(size).forEach(tree::insert);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long sequentialCount() {
+        return tree.stream().filter(StreamBenchmark::isHeavy).count();
+    }
+
+    @Benchmark
+    public long parallelCount() throws InterruptedException, ExecutionException {
+        // A parallel stream started from a pool thread forks its tasks into that pool
+        return pool.submit(() -> tree.parallelStream().filter(StreamBenchmark::isHeavy).count()).get();
+    }
+
+    private static boolean isHeavy(Event event) {
+        return event.getPriority() == EventPriority.URGENT
+                && event.getTitle().toLowerCase().contains("review");
+    }
+}
@@ -6,10 +6,17 @@ import com.calendar.exception.EventNotFoundException;
 import com.calendar.model.Event;
 import com.calendar.model.EventCategory;
 import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceFrequency;
+import com.calendar.model.RecurrenceRule;
+import com.calendar.metrics.CalendarMetrics;
+import com.calendar.persistence.AutosaveService;
 import com.calendar.persistence.CalendarPersistence;
+import com.calendar.scheduling.FreeSlotFinder;
+import com.calendar.scheduling.TimeSlot;
 import com.calendar.ui.ConsoleColors;
 import com.calendar.ui.InputReader;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -20,6 +27,7 @@ public class PersonalCalendar {
     private final EventBST calendar;
     private final InputReader input;
     private final CalendarPersistence persistence;
+    private final AutosaveService autosave;
     private boolean hasUnsavedChanges;
 
     public PersonalCalendar() {
@@ -27,6 +35,27 @@ public class PersonalCalendar {
         this.input = new InputReader(new Scanner(System.in));
         this.persistence = new CalendarPersistence();
         this.hasUnsavedChanges = false;
+
+        // Run with -Dcalendar.metrics=true to collect operation metrics for the statistics screen
+        if (Boolean.getBoolean("calendar.metrics")) {
+            CalendarMetrics metrics = new CalendarMetrics();
+            calendar.setMetrics(metrics);
+            persistence.setMetrics(metrics);
+        }
+        // -Dcalendar.queryCache=<entries> memoises repeated date lookups between edits
+        int cacheSize = Integer.getInteger("calendar.queryCache", 0);
+        if (cacheSize > 0) {
+            calendar.enableQueryCache(cacheSize);
+        }
+        // -Dcalendar.compress=true writes the calendar file gzipped; either format loads
+        if (Boolean.getBoolean("calendar.compress")) {
+            persistence.setCompression(CalendarPersistence.Compression.GZIP);
+        }
+        // -Dcalendar.autosave=<seconds> saves in the background once edits pause for that long
+        int autosaveSeconds = Integer.getInteger("calendar.autosave", 0);
+        this.autosave = autosaveSeconds > 0
+                ? new AutosaveService(calendar, persistence, Duration.ofSeconds(autosaveSeconds))
+                : null;
     }
 
     public static void main(String[] args) {
@@ -42,7 +71,7 @@ public class PersonalCalendar {
         boolean running = true;
         while (running) {
             printMenu();
-            int choice = input.readIntInRange("Enter your choice: ", 0, 13);
+            int choice = input.readIntInRange("Enter your choice: ", 0, 14);
 
             switch (choice) {
                 case 1 -> addEvent();
@@ -58,6 +87,7 @@ public class PersonalCalendar {
                 case 11 -> viewCalendarStats();
                 case 12 -> saveEvents();
                 case 13 -> loadEvents();
+                case 14 -> findFreeSlots();
                 case 0 -> running = confirmExit();
             }
 
@@ -66,6 +96,9 @@ public class PersonalCalendar {
             }
         }
 
+        if (autosave != null) {
+            autosave.close();
+        }
         printGoodbye();
         input.close();
     }
@@ -101,10 +134,11 @@ public class PersonalCalendar {
         System.out.println("║  11. 📈 View Calendar Statistics            ║");
         System.out.println("║  12. 💾 Save Calendar                       ║");
         System.out.println("║  13. 📂 Load Calendar                       ║");
+        System.out.println("║  14. 🕒 Find Free Time Slots                ║");
         System.out.println("║  0.  🚪 Exit                                ║");
         System.out.println("╚═════════════════════════════════════════════╝" + ConsoleColors.RESET);
 
-        if (hasUnsavedChanges) {
+        if (hasUnsavedChanges()) {
             System.out.println(ConsoleColors.YELLOW + "  ⚠️  You have unsaved changes" + ConsoleColors.RESET);
         }
         System.out.println();
@@ -122,6 +156,13 @@ public class PersonalCalendar {
         EventCategory category = input.readEnum("Select category:", EventCategory.class);
         EventPriority priority = input.readEnum("Select priority:", EventPriority.class);
 
+        RecurrenceRule recurrence = null;
+        if (input.readConfirmation("Does this event repeat?")) {
+            RecurrenceFrequency frequency = input.readEnum("Select frequency:", RecurrenceFrequency.class);
+            int occurrences = input.readIntInRange("Number of occurrences (2-520): ", 2, 520);
+            recurrence = new RecurrenceRule(frequency, 1, occurrences, null, null);
+        }
+
         boolean checkConflicts = input.readConfirmation("Check for time conflicts?");
 
         try {
@@ -133,10 +174,10 @@ public class PersonalCalendar {
                     .description(description)
                     .category(category)
                     .priority(priority)
+                    .recurrence(recurrence)
                     .build();
 
-            calendar.insert(event, checkConflicts);
-            hasUnsavedChanges = true;
+            applyEdit(() -> calendar.insert(event, checkConflicts));
 
             System.out.println(ConsoleColors.success("Event added successfully!"));
             System.out.println();
@@ -216,6 +257,36 @@ public class PersonalCalendar {
         displayEvents(results, "No events found in category: " + category.getDisplayName());
     }
 
+    private void findFreeSlots() {
+        ConsoleColors.clearScreen();
+        ConsoleColors.printHeader("🕒 FIND FREE TIME SLOTS");
+
+        LocalDate startDate = input.readDate("Enter start date (dd/MM/yyyy): ");
+        LocalDate endDate = input.readDate("Enter end date (dd/MM/yyyy): ");
+        LocalTime dayStart = input.readTime("Working day starts at (HH:mm): ");
+        LocalTime dayEnd = input.readTime("Working day ends at (HH:mm): ");
+        int minutes = input.readIntInRange("Slot length in minutes (1-480): ", 1, 480);
+
+        try {
+            List<TimeSlot> slots = new FreeSlotFinder(calendar)
+                    .findFreeSlots(startDate, endDate, dayStart, dayEnd, Duration.ofMinutes(minutes))
+                    .limit(10)
+                    .toList();
+
+            if (slots.isEmpty()) {
+                System.out.println(ConsoleColors.warning("No free slot of that length in the given period."));
+                return;
+            }
+
+            System.out.println(ConsoleColors.GREEN + "First " + slots.size() + " free slot(s):" + ConsoleColors.RESET);
+            for (TimeSlot slot : slots) {
+                System.out.println("  • " + slot);
+            }
+        } catch (Exception e) {
+            System.out.println(ConsoleColors.error(e.getMessage()));
+        }
+    }
+
     private void deleteEvent() {
         ConsoleColors.clearScreen();
         ConsoleColors.printHeader("❌ DELETE EVENT");
@@ -245,8 +316,7 @@ public class PersonalCalendar {
 
         if (input.readConfirmation("Are you sure you want to delete this event?")) {
             try {
-                calendar.deleteById(event.getId());
-                hasUnsavedChanges = true;
+                applyEdit(() -> calendar.deleteById(event.getId()));
                 System.out.println(ConsoleColors.success("Event deleted successfully!"));
             } catch (EventNotFoundException e) {
                 System.out.println(ConsoleColors.error(e.getMessage()));
@@ -281,6 +351,15 @@ public class PersonalCalendar {
         }
 
         System.out.println(calendar.getStatistics());
+        if (calendar.getMetrics() != null) {
+            System.out.println(calendar.getMetricsSnapshot());
+        }
+        if (calendar.isQueryCacheEnabled()) {
+            System.out.println(calendar.getQueryCacheStatistics());
+        }
+        if (autosave != null) {
+            System.out.println(autosave.getStatistics());
+        }
 
         System.out.println();
         System.out.println(ConsoleColors.CYAN + "╔══════════════════════════════════════════╗");
@@ -312,9 +391,7 @@ public class PersonalCalendar {
             if (input.readConfirmation("Load saved events?")) {
                 try {
                     List<Event> events = persistence.loadEvents();
-                    for (Event event : events) {
-                        calendar.insert(event);
-                    }
+                    replaceCalendar(events);
                     System.out.println(ConsoleColors.success(
                             String.format("Loaded %d events from disk.", events.size())));
                 } catch (Exception e) {
@@ -342,7 +419,7 @@ public class PersonalCalendar {
 
         if (input.readConfirmation("Proceed with save?")) {
             try {
-                persistence.saveEvents(calendar.getAllEvents());
+                persistCalendar();
                 hasUnsavedChanges = false;
                 System.out.println(ConsoleColors.success("Calendar saved successfully!"));
             } catch (Exception e) {
@@ -363,7 +440,7 @@ public class PersonalCalendar {
             return;
         }
 
-        if (!calendar.isEmpty() && hasUnsavedChanges) {
+        if (!calendar.isEmpty() && hasUnsavedChanges()) {
             System.out.println(ConsoleColors.warning("You have unsaved changes in your current calendar!"));
             if (!input.readConfirmation("Loading will replace current events. Continue?")) {
                 System.out.println(ConsoleColors.info("Load cancelled."));
@@ -378,10 +455,7 @@ public class PersonalCalendar {
 
         try {
             List<Event> events = persistence.loadEvents();
-            calendar.clear();
-            for (Event event : events) {
-                calendar.insert(event);
-            }
+            replaceCalendar(events);
             hasUnsavedChanges = false;
             System.out.println(ConsoleColors.success(
                     String.format("Loaded %d events from disk.", events.size())));
@@ -391,11 +465,11 @@ public class PersonalCalendar {
     }
 
     private boolean confirmExit() {
-        if (hasUnsavedChanges) {
+        if (hasUnsavedChanges()) {
             System.out.println(ConsoleColors.warning("You have unsaved changes!"));
             if (input.readConfirmation("Save before exiting?")) {
                 try {
-                    persistence.saveEvents(calendar.getAllEvents());
+                    persistCalendar();
                     System.out.println(ConsoleColors.success("Calendar saved."));
                 } catch (Exception e) {
                     System.out.println(ConsoleColors.error("Failed to save: " + e.getMessage()));
@@ -410,6 +484,45 @@ public class PersonalCalendar {
 
     // ==================== Helper Methods ====================
 
+    // After a load or save only the edits since then are journaled; otherwise the file is rewritten
+    private void persistCalendar() {
+        if (autosave != null) {
+            autosave.flush();
+            return;
+        }
+        persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents);
+        calendar.checkpoint();
+    }
+
+    // With autosave on, edits are applied under its lock so a background save never sees half of one
+    private void applyEdit(Runnable change) {
+        if (autosave != null) {
+            autosave.edit(change);
+        } else {
+            change.run();
+        }
+        hasUnsavedChanges = true;
+    }
+
+    private void replaceCalendar(List<Event> events) {
+        Runnable load = () -> {
+            calendar.clear();
+            for (Event event : events) {
+                calendar.insert(event);
+            }
+            calendar.checkpoint();
+        };
+        if (autosave != null) {
+            autosave.reload(load);
+        } else {
+            load.run();
+        }
+    }
+
+    private boolean hasUnsavedChanges() {
+        return autosave != null ? autosave.hasPendingEdits() : hasUnsavedChanges;
+    }
+
     private void displayEvents(List<Event> events, String emptyMessage) {
         if (events.isEmpty()) {
             System.out.println(ConsoleColors.warning(emptyMessage));
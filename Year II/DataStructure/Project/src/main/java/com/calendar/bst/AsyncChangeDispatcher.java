@@ -0,0 +1,167 @@
+package com.calendar.bst;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Hands changes from the tree's writing thread to a subscriber running on a virtual thread through
+// a fixed-size ring buffer, so the write path only stores a slot and a counter. There must be one
+// producer: attach a dispatcher to a single tree, which is itself single-writer. When the
+// subscriber falls a whole buffer behind, further changes are dropped and counted rather than
+// blocking the writer; a subscriber that cannot tolerate gaps should rebuild from the tree when
+// getDroppedCount() moves. Changes published after close are dropped the same way.
+// Final because the constructor starts the worker on this instance.
+public final class AsyncChangeDispatcher implements EventChangeListener, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long FLUSH_POLL_NANOS = 100_000;
+    // Empty polls before the worker parks, since waking a parked thread costs far more than a
+    // publish. On a single core spinning only takes time from the writer.
+    private static final int SPINS_BEFORE_PARK = Runtime.getRuntime().availableProcessors() > 1 ? 1000 : 0;
+
+    private final EventChangeListener subscriber;
+    private final EventChange[] ring;
+    private final int mask;
+    // Next slot to fill, written only by the producer
+    private final AtomicLong tail = new AtomicLong();
+    // Next slot to deliver, written only by the worker
+    private final AtomicLong head = new AtomicLong();
+    private final Thread worker;
+    // The producer's last reading of head, refreshed only when the ring looks full
+    private long cachedHead;
+
+    // Set by the worker before parking so the producer knows to wake it
+    private volatile boolean idle;
+    private volatile boolean closed;
+    private volatile long dropped;
+    private volatile long failures;
+    private volatile RuntimeException lastError;
+
+    public AsyncChangeDispatcher(EventChangeListener subscriber) {
+        this(subscriber, DEFAULT_CAPACITY);
+    }
+
+    public AsyncChangeDispatcher(EventChangeListener subscriber, int capacity) {
+        this.subscriber = Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        // Rounded up to a power of two so the slot is a mask rather than a division
+        int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new EventChange[slots];
+        this.mask = slots - 1;
+        this.worker = Thread.ofVirtual().name("calendar-change-dispatch").start(this::run);
+    }
+
+    @Override
+    public void onChange(EventChange change) {
+        Objects.requireNonNull(change, "Change cannot be null");
+        if (closed) {
+            // Still attached to a tree that keeps writing; the change is lost like any other drop
+            dropped++;
+            return;
+        }
+        long next = tail.get();
+        if (next - cachedHead == ring.length) {
+            cachedHead = head.get();
+            if (next - cachedHead == ring.length) {
+                dropped++;
+                return;
+            }
+        }
+        ring[(int) next & mask] = change;
+        tail.set(next + 1);
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    // Waits until every change published before the call has been handed to the subscriber
+    public void flush() {
+        long target = tail.get();
+        while (head.get() < target && worker.isAlive()) {
+            LockSupport.parkNanos(FLUSH_POLL_NANOS);
+        }
+    }
+
+    // Delivers what is already queued, then stops the worker
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    public long getPublishedCount() {
+        return tail.get();
+    }
+
+    public long getDeliveredCount() {
+        return head.get();
+    }
+
+    public int getPendingCount() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public long getFailureCount() {
+        return failures;
+    }
+
+    public RuntimeException getLastError() {
+        return lastError;
+    }
+
+    private void run() {
+        long next = head.get();
+        int spins = 0;
+        while (true) {
+            if (next == tail.get()) {
+                if (++spins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                spins = 0;
+                if (closed) {
+                    // A change published just before close() may have landed after the check above
+                    if (next == tail.get()) {
+                        return;
+                    }
+                    continue;
+                }
+                idle = true;
+                if (next == tail.get() && !closed) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                continue;
+            }
+
+            spins = 0;
+            int slot = (int) next & mask;
+            EventChange change = ring[slot];
+            ring[slot] = null;
+            try {
+                subscriber.onChange(change);
+            } catch (RuntimeException e) {
+                // One bad change must not stop delivery of the rest
+                failures++;
+                lastError = e;
+            }
+            head.set(++next);
+        }
+    }
+}
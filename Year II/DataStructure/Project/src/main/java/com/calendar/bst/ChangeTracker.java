@@ -0,0 +1,48 @@
+package com.calendar.bst;
+
+import com.calendar.model.Event;
+import com.calendar.store.ChangeSet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Records ids touched since the last checkpoint. Once the tree is cleared the delta is moot, so
+// tracking stops costing anything until the next checkpoint.
+class ChangeTracker {
+
+    private final Map<String, Event> upserts = new LinkedHashMap<>();
+    private final Set<String> deletes = new HashSet<>();
+    private boolean fullRewrite;
+
+    void inserted(Event event) {
+        if (!fullRewrite) {
+            upserts.put(event.getId(), event);
+        }
+    }
+
+    // The delete is kept even for an id inserted after the checkpoint; replaying it is a no-op
+    void deleted(Event event) {
+        if (!fullRewrite) {
+            String id = event.getId();
+            upserts.remove(id);
+            deletes.add(id);
+        }
+    }
+
+    void cleared() {
+        fullRewrite = true;
+        upserts.clear();
+        deletes.clear();
+    }
+
+    boolean isEmpty() {
+        return !fullRewrite && upserts.isEmpty() && deletes.isEmpty();
+    }
+
+    ChangeSet snapshot() {
+        return fullRewrite ? ChangeSet.FULL_REWRITE : new ChangeSet(new ArrayList<>(upserts.values()), deletes, false);
+    }
+}
@@ -3,30 +3,74 @@ package com.calendar.bst;
 import com.calendar.exception.EventConflictException;
 import com.calendar.exception.EventNotFoundException;
 import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.metrics.CalendarMetrics;
+import com.calendar.metrics.MetricsSnapshot;
+import com.calendar.metrics.TreeTraversalEvent;
 import com.calendar.model.Event;
 import com.calendar.model.EventCategory;
 import com.calendar.model.EventPriority;
+import com.calendar.store.ChangeSet;
+import com.calendar.store.EventStore;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.Period;
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class EventBST {
+// Not thread-safe. Reads are not side-effect free either: with the query cache enabled a lookup
+// updates the cache's LRU order and counters, and with metrics attached it records into them. Both
+// lock internally, so concurrent readers under a shared read lock are safe, but nothing else a
+// read touches may be made mutable without the same care.
+public class EventBST implements EventStore {
 
     private BSTNode root;
     private int size;
     private int modificationCount;
+    private final SecondaryIndex<EventCategory> categoryIndex;
+    private final SecondaryIndex<EventPriority> priorityIndex;
+    private final NavigableSet<Event> recurringSeries;
+    private Duration longestDuration;
+    private CalendarMetrics metrics;
+    private QueryCache queryCache;
+    private ChangeTracker changes;
+    // Copied on write; the write path only pays for an array length check without listeners
+    private EventChangeListener[] listeners = NO_LISTENERS;
+    private long listenerFailures;
+    private RuntimeException lastListenerError;
+
+    private static final EventChangeListener[] NO_LISTENERS = new EventChangeListener[0];
+
+    // How far past today series are expanded for queries without an end date
+    public static final Period SERIES_HORIZON = Period.ofYears(1);
 
     public EventBST() {
         this.root = null;
         this.size = 0;
         this.modificationCount = 0;
+        this.categoryIndex = new SecondaryIndex<>(EventCategory.class, Event::getCategory);
+        this.priorityIndex = new SecondaryIndex<>(EventPriority.class, Event::getPriority);
+        this.recurringSeries = new TreeSet<>(SecondaryIndex.INDEX_ORDER);
+        this.longestDuration = Duration.ZERO;
     }
 
+    @Override
     public void insert(Event event) {
         Objects.requireNonNull(event, "Event cannot be null");
-        root = insertRecursive(root, event);
+        long start = startTimer();
+        Visits visits = startVisits(null);
+        root = insertRecursive(root, event, visits);
+        addToIndexes(event);
         size++;
+        modificationCount++;
+        invalidateCached(event);
+        if (changes != null) {
+            changes.inserted(event);
+        }
+        notifyChanged(EventChange.Type.INSERTED, event);
+        record(CalendarMetrics.Operation.INSERT, start, visits);
     }
 
     public void insert(Event event, boolean checkForConflict) {
@@ -41,44 +85,52 @@ public class EventBST {
         insert(event);
     }
 
-    private BSTNode insertRecursive(BSTNode node, Event event) {
+    private BSTNode insertRecursive(BSTNode node, Event event, Visits visits) {
         if (node == null) {
             return new BSTNode(event);
         }
+        visit(visits);
 
         int comparison = event.compareTo(node.getEvent());
         if (comparison < 0) {
-            node.setLeft(insertRecursive(node.getLeft(), event));
+            node.setLeft(insertRecursive(node.getLeft(), event, visits));
         } else {
-            node.setRight(insertRecursive(node.getRight(), event));
+            node.setRight(insertRecursive(node.getRight(), event, visits));
         }
 
         return node;
     }
 
+    @Override
     public Event findById(String id) {
-        Event result = findByIdRecursive(root, id);
+        TreeTraversalEvent trace = TreeTraversalEvent.start();
+        long start = startTimer();
+        Visits visits = startVisits(trace);
+        Event result = findByIdRecursive(root, Event.idMatcher(id), visits);
+        record(CalendarMetrics.Operation.FIND_BY_ID, start, visits);
+        trace.finish("FIND_BY_ID", count(visits), result == null ? 0 : 1, size);
         if (result == null) {
             throw new EventNotFoundException("id=" + id);
         }
         return result;
     }
 
-    private Event findByIdRecursive(BSTNode node, String id) {
+    private Event findByIdRecursive(BSTNode node, Predicate<Event> matcher, Visits visits) {
         if (node == null) {
             return null;
         }
+        visit(visits);
 
-        if (node.getEvent().getId().equals(id)) {
+        if (matcher.test(node.getEvent())) {
             return node.getEvent();
         }
 
-        Event leftResult = findByIdRecursive(node.getLeft(), id);
+        Event leftResult = findByIdRecursive(node.getLeft(), matcher, visits);
         if (leftResult != null) {
             return leftResult;
         }
 
-        return findByIdRecursive(node.getRight(), id);
+        return findByIdRecursive(node.getRight(), matcher, visits);
     }
 
     public Event searchByTitle(String title) {
@@ -103,40 +155,174 @@ public class EventBST {
     }
 
     public List<Event> searchByTitleContains(String titlePattern) {
+        TreeTraversalEvent trace = TreeTraversalEvent.start();
+        Visits visits = startVisits(trace);
         List<Event> results = new ArrayList<>();
         String lowerPattern = titlePattern.toLowerCase();
-        findByPredicate(root, results, e -> e.getTitle().toLowerCase().contains(lowerPattern));
+        findByPredicate(root, results, e -> e.getTitle().toLowerCase().contains(lowerPattern), visits);
+        trace.finish("TITLE_SCAN", count(visits), results.size(), size);
         return results;
     }
 
+    @Override
     public List<Event> findEventsByDate(LocalDate date) {
         Objects.requireNonNull(date, "Date cannot be null");
+        TreeTraversalEvent trace = TreeTraversalEvent.start();
+        long start = startTimer();
+        Visits visits = startVisits(trace);
+        QueryCache.Key key = QueryCache.forDate(date);
+        List<Event> cached = cachedResult(key);
+        if (cached != null) {
+            record(CalendarMetrics.Operation.FIND_BY_DATE, start, visits);
+            return cached;
+        }
+
         List<Event> events = new ArrayList<>();
-        findEventsByDateRecursive(root, date, events);
-        return events;
+        findEventsInRangeRecursive(root, Event.startOfDayKey(date), Event.startOfDayKey(date.plusDays(1)),
+                events, visits);
+        List<Event> result = mergeOccurrences(events, date, date);
+        cacheResult(key, result);
+        record(CalendarMetrics.Operation.FIND_BY_DATE, start, visits);
+        trace.finish("DATE", count(visits), result.size(), size);
+        return result;
+    }
+
+    @Override
+    public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        TreeTraversalEvent trace = TreeTraversalEvent.start();
+        long start = startTimer();
+        Visits visits = startVisits(trace);
+        QueryCache.Key key = QueryCache.forRange(startDate, endDate);
+        List<Event> cached = cachedResult(key);
+        if (cached != null) {
+            record(CalendarMetrics.Operation.FIND_IN_RANGE, start, visits);
+            return cached;
+        }
+
+        List<Event> events = new ArrayList<>();
+        findEventsInRangeRecursive(root, Event.startOfDayKey(startDate), Event.startOfDayKey(endDate.plusDays(1)),
+                events, visits);
+        List<Event> result = mergeOccurrences(events, startDate, endDate);
+        cacheResult(key, result);
+        record(CalendarMetrics.Operation.FIND_IN_RANGE, start, visits);
+        trace.finish("RANGE", count(visits), result.size(), size);
+        return result;
     }
 
-    private void findEventsByDateRecursive(BSTNode node, LocalDate date, List<Event> events) {
+    // Collects events with fromKey <= key < toKey; keys are cached on the event so no dates are compared
+    private void findEventsInRangeRecursive(BSTNode node, long fromKey, long toKey, List<Event> events, Visits visits) {
         if (node == null) {
             return;
         }
+        visit(visits);
 
-        LocalDate eventDate = node.getEvent().getDate();
+        Event event = node.getEvent();
+        long key = event.getSortKey();
 
-        if (eventDate.compareTo(date) >= 0) {
-            findEventsByDateRecursive(node.getLeft(), date, events);
+        if (key >= fromKey) {
+            findEventsInRangeRecursive(node.getLeft(), fromKey, toKey, events, visits);
         }
 
-        if (eventDate.equals(date)) {
-            events.add(node.getEvent());
+        if (key >= fromKey && key < toKey && !event.isRecurring()) {
+            events.add(event);
         }
 
-        if (eventDate.compareTo(date) <= 0) {
-            findEventsByDateRecursive(node.getRight(), date, events);
+        if (key < toKey) {
+            findEventsInRangeRecursive(node.getRight(), fromKey, toKey, events, visits);
         }
     }
 
-    public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+    // Series are stored once; their occurrences are expanded here only for the requested window.
+    // A null start means from each series' first date.
+    private List<Event> mergeOccurrences(List<Event> events, LocalDate start, LocalDate end) {
+        return mergeOccurrences(events, seriesOccurrences(series -> true, start, end));
+    }
+
+    // Occurrences between start and end of every series passing the filter, in tree order
+    List<Event> seriesOccurrences(Predicate<Event> filter, LocalDate start, LocalDate end) {
+        if (recurringSeries.isEmpty()) {
+            return List.of();
+        }
+
+        List<Event> occurrences = new ArrayList<>();
+        for (Event series : recurringSeries.headSet(SecondaryIndex.lowerBound(end.plusDays(1)), false)) {
+            LocalDate from = start != null ? start : series.getDate();
+            LocalDate lastDate = series.getLastOccurrenceDate();
+            if (filter.test(series) && (lastDate == null || !lastDate.isBefore(from))) {
+                occurrences.addAll(series.occurrencesBetween(from, end));
+            }
+        }
+        occurrences.sort(null);
+        return occurrences;
+    }
+
+    // Last date series are expanded to for queries without an end date
+    static LocalDate seriesHorizon() {
+        return LocalDate.now().plus(SERIES_HORIZON);
+    }
+
+    private static List<Event> mergeOccurrences(List<Event> events, List<Event> occurrences) {
+        if (occurrences.isEmpty()) {
+            return events;
+        }
+
+        List<Event> merged = new ArrayList<>(events.size() + occurrences.size());
+        int i = 0;
+        int j = 0;
+        while (i < events.size() && j < occurrences.size()) {
+            if (events.get(i).compareTo(occurrences.get(j)) <= 0) {
+                merged.add(events.get(i++));
+            } else {
+                merged.add(occurrences.get(j++));
+            }
+        }
+        merged.addAll(events.subList(i, events.size()));
+        merged.addAll(occurrences.subList(j, occurrences.size()));
+        return merged;
+    }
+
+    // Upper bound only: it is not lowered when the longest event is deleted
+    public Duration getLongestDuration() {
+        return longestDuration;
+    }
+
+    public int getRecurringSeriesCount() {
+        return recurringSeries.size();
+    }
+
+    // Index lookups return occurrences in place of series, expanded up to SERIES_HORIZON
+    public List<Event> findByCategory(EventCategory category) {
+        Objects.requireNonNull(category, "Category cannot be null");
+        return expandSeries(categoryIndex.get(category), e -> e.getCategory() == category, null, seriesHorizon());
+    }
+
+    public List<Event> findByPriority(EventPriority priority) {
+        Objects.requireNonNull(priority, "Priority cannot be null");
+        return expandSeries(priorityIndex.get(priority), e -> e.getPriority() == priority, null, seriesHorizon());
+    }
+
+    public List<Event> findByCategoryAndPriority(EventCategory category, EventPriority priority) {
+        Objects.requireNonNull(category, "Category cannot be null");
+        Objects.requireNonNull(priority, "Priority cannot be null");
+
+        Predicate<Event> matches = e -> e.getCategory() == category && e.getPriority() == priority;
+        if (categoryIndex.size(category) <= priorityIndex.size(priority)) {
+            return expandSeries(categoryIndex.get(category), matches, null, seriesHorizon());
+        }
+        return expandSeries(priorityIndex.get(priority), matches, null, seriesHorizon());
+    }
+
+    public List<Event> findByCategoryAndPriority(EventCategory category, EventPriority priority,
+            LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(category, "Category cannot be null");
+        Objects.requireNonNull(priority, "Priority cannot be null");
         Objects.requireNonNull(startDate, "Start date cannot be null");
         Objects.requireNonNull(endDate, "End date cannot be null");
 
@@ -144,62 +330,115 @@ public class EventBST {
             throw new InvalidDateRangeException(startDate, endDate);
         }
 
-        List<Event> events = new ArrayList<>();
-        findEventsInRangeRecursive(root, startDate, endDate, events);
-        return events;
+        // A series starting before the range is not in the index range, so series come from the
+        // series set rather than from the candidates
+        Predicate<Event> matches = e -> e.getCategory() == category && e.getPriority() == priority;
+        if (categoryIndex.size(category) <= priorityIndex.size(priority)) {
+            return expandSeries(categoryIndex.getInRange(category, startDate, endDate), matches, startDate, endDate);
+        }
+        return expandSeries(priorityIndex.getInRange(priority, startDate, endDate), matches, startDate, endDate);
     }
 
-    private void findEventsInRangeRecursive(BSTNode node, LocalDate start, LocalDate end, List<Event> events) {
-        if (node == null) {
-            return;
-        }
+    // One-off candidates passing the filter, merged with the occurrences of matching series
+    private List<Event> expandSeries(Collection<Event> candidates, Predicate<Event> matches, LocalDate start,
+                                     LocalDate end) {
+        List<Event> events = filter(candidates, e -> !e.isRecurring() && matches.test(e));
+        return mergeOccurrences(events, seriesOccurrences(matches, start, end));
+    }
+
+    // Counts stored events, so a series counts once
+    public int countByCategory(EventCategory category) {
+        return categoryIndex.size(category);
+    }
+
+    public int countByPriority(EventPriority priority) {
+        return priorityIndex.size(priority);
+    }
 
-        LocalDate eventDate = node.getEvent().getDate();
+    public EventQuery query() {
+        return new EventQuery(this);
+    }
+
+    SecondaryIndex<EventCategory> getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    SecondaryIndex<EventPriority> getPriorityIndex() {
+        return priorityIndex;
+    }
 
-        if (eventDate.compareTo(start) >= 0) {
-            findEventsInRangeRecursive(node.getLeft(), start, end, events);
+    // In-order walk restricted to [start, end] (null = unbounded); stops as soon as the visitor returns false
+    boolean scanInRange(LocalDate start, LocalDate end, Predicate<Event> visitor) {
+        long fromKey = start == null ? Long.MIN_VALUE : Event.startOfDayKey(start);
+        long toKey = end == null ? Long.MAX_VALUE : Event.startOfDayKey(end.plusDays(1));
+        return scanInRangeRecursive(root, fromKey, toKey, visitor);
+    }
+
+    private boolean scanInRangeRecursive(BSTNode node, long fromKey, long toKey, Predicate<Event> visitor) {
+        if (node == null) {
+            return true;
         }
 
-        if (!eventDate.isBefore(start) && !eventDate.isAfter(end)) {
-            events.add(node.getEvent());
+        long key = node.getEvent().getSortKey();
+        boolean afterStart = key >= fromKey;
+        boolean beforeEnd = key < toKey;
+
+        if (afterStart && !scanInRangeRecursive(node.getLeft(), fromKey, toKey, visitor)) {
+            return false;
         }
 
-        if (eventDate.compareTo(end) <= 0) {
-            findEventsInRangeRecursive(node.getRight(), start, end, events);
+        if (afterStart && beforeEnd && !visitor.test(node.getEvent())) {
+            return false;
         }
-    }
 
-    public List<Event> findByCategory(EventCategory category) {
-        List<Event> results = new ArrayList<>();
-        findByPredicate(root, results, e -> e.getCategory() == category);
-        return results;
+        return !beforeEnd || scanInRangeRecursive(node.getRight(), fromKey, toKey, visitor);
     }
 
-    public List<Event> findByPriority(EventPriority priority) {
+    private List<Event> filter(Collection<Event> candidates, Predicate<Event> predicate) {
         List<Event> results = new ArrayList<>();
-        findByPredicate(root, results, e -> e.getPriority() == priority);
+        for (Event event : candidates) {
+            if (predicate.test(event)) {
+                results.add(event);
+            }
+        }
         return results;
     }
 
-    private void findByPredicate(BSTNode node, List<Event> results, Predicate<Event> predicate) {
+    private void findByPredicate(BSTNode node, List<Event> results, Predicate<Event> predicate, Visits visits) {
         if (node == null) {
             return;
         }
+        visit(visits);
 
-        findByPredicate(node.getLeft(), results, predicate);
+        findByPredicate(node.getLeft(), results, predicate, visits);
 
         if (predicate.test(node.getEvent())) {
             results.add(node.getEvent());
         }
 
-        findByPredicate(node.getRight(), results, predicate);
+        findByPredicate(node.getRight(), results, predicate, visits);
     }
 
+    @Override
     public boolean deleteById(String id) {
-        Event eventToDelete = findById(id); // Throws if not found
-        root = deleteRecursive(root, eventToDelete);
+        long start = startTimer();
+        Visits visits = startVisits(null);
+        Event eventToDelete = findByIdRecursive(root, Event.idMatcher(id), visits);
+        if (eventToDelete == null) {
+            throw new EventNotFoundException("id=" + id);
+        }
+        root = deleteRecursive(root, eventToDelete, visits);
+        categoryIndex.remove(eventToDelete);
+        priorityIndex.remove(eventToDelete);
+        recurringSeries.remove(eventToDelete);
         size--;
         modificationCount++;
+        invalidateCached(eventToDelete);
+        if (changes != null) {
+            changes.deleted(eventToDelete);
+        }
+        notifyChanged(EventChange.Type.DELETED, eventToDelete);
+        record(CalendarMetrics.Operation.DELETE, start, visits);
         return true;
     }
 
@@ -208,24 +447,36 @@ public class EventBST {
         if (eventToDelete == null) {
             return false;
         }
-        root = deleteRecursive(root, eventToDelete);
+        long start = startTimer();
+        Visits visits = startVisits(null);
+        root = deleteRecursive(root, eventToDelete, visits);
+        categoryIndex.remove(eventToDelete);
+        priorityIndex.remove(eventToDelete);
+        recurringSeries.remove(eventToDelete);
         size--;
         modificationCount++;
+        invalidateCached(eventToDelete);
+        if (changes != null) {
+            changes.deleted(eventToDelete);
+        }
+        notifyChanged(EventChange.Type.DELETED, eventToDelete);
+        record(CalendarMetrics.Operation.DELETE, start, visits);
         return true;
     }
 
-    private BSTNode deleteRecursive(BSTNode node, Event event) {
+    private BSTNode deleteRecursive(BSTNode node, Event event, Visits visits) {
         if (node == null) {
             return null;
         }
+        visit(visits);
 
         int comparison = event.compareTo(node.getEvent());
 
         if (comparison < 0) {
-            node.setLeft(deleteRecursive(node.getLeft(), event));
+            node.setLeft(deleteRecursive(node.getLeft(), event, visits));
         } else if (comparison > 0) {
-            node.setRight(deleteRecursive(node.getRight(), event));
-        } else if (node.getEvent().getId().equals(event.getId())) {
+            node.setRight(deleteRecursive(node.getRight(), event, visits));
+        } else if (node.getEvent().equals(event)) {
 
             if (node.getLeft() == null && node.getRight() == null) {
                 return null;
@@ -240,9 +491,12 @@ public class EventBST {
 
             BSTNode successor = findMinNode(node.getRight());
             node.setEvent(successor.getEvent());
-            node.setRight(deleteRecursive(node.getRight(), successor.getEvent()));
+            node.setRight(deleteRecursive(node.getRight(), successor.getEvent(), visits));
         } else {
-            node.setRight(deleteRecursive(node.getRight(), event));
+            // Inserts put equal keys on the right, but a subtree relinked balanced by a bulk
+            // operation can hold them on either side
+            node.setLeft(deleteRecursive(node.getLeft(), event, visits));
+            node.setRight(deleteRecursive(node.getRight(), event, visits));
         }
 
         return node;
@@ -255,39 +509,476 @@ public class EventBST {
         return node;
     }
 
+    // Cuts out every event starting between the two dates (inclusive; a series by its first date)
+    // with two splits and a join, so the cost is O(h + k) rather than k separate deletes
+    public List<Event> deleteRange(LocalDate startDate, LocalDate endDate) {
+        return deleteRange(startDate, endDate, event -> true);
+    }
+
+    // As above, but only events matching the predicate are removed; the rest of the range is
+    // relinked balanced between the two halves. Every event in the range is visited, so the cost
+    // is O(h + r) for r events in the range.
+    public List<Event> deleteRange(LocalDate startDate, LocalDate endDate, Predicate<Event> predicate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+        Objects.requireNonNull(predicate, "Predicate cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        long start = startTimer();
+        Visits visits = startVisits(null);
+        // Splitting and rejoining reshapes the tree, which live iterators could not detect without
+        // a modification, so a range with nothing to remove is left alone
+        if (scanInRange(startDate, endDate, predicate.negate())) {
+            record(CalendarMetrics.Operation.DELETE, start, visits);
+            return new ArrayList<>();
+        }
+        BSTNode[] lower = splitNodes(root, Event.startOfDayKey(startDate), visits);
+        BSTNode[] upper = splitNodes(lower[1], Event.startOfDayKey(endDate.plusDays(1)), visits);
+
+        List<BSTNode> kept = new ArrayList<>();
+        List<Event> removed = new ArrayList<>();
+        partition(upper[0], predicate, kept, removed, visits);
+        BSTNode middle = linkBalanced(kept, 0, kept.size() - 1);
+        root = joinNodes(joinNodes(lower[0], middle, visits), upper[1], visits);
+        if (!removed.isEmpty()) {
+            boolean seriesRemoved = removeFromIndexes(removed);
+            size -= removed.size();
+            modificationCount++;
+            if (seriesRemoved) {
+                invalidateAllCached();
+            } else if (queryCache != null) {
+                queryCache.invalidate(startDate, endDate, modificationCount);
+            }
+            notifyChanged(EventChange.Type.DELETED, removed);
+        }
+        record(CalendarMetrics.Operation.DELETE, start, visits);
+        return removed;
+    }
+
+    // One in-order pass partitions the nodes; survivors are relinked into a balanced tree
+    public List<Event> deleteIf(Predicate<Event> predicate) {
+        Objects.requireNonNull(predicate, "Predicate cannot be null");
+        long start = startTimer();
+        Visits visits = startVisits(null);
+        List<BSTNode> kept = new ArrayList<>(size);
+        List<Event> removed = new ArrayList<>();
+        partition(root, predicate, kept, removed, visits);
+
+        if (!removed.isEmpty()) {
+            root = linkBalanced(kept, 0, kept.size() - 1);
+            removeFromIndexes(removed);
+            size = kept.size();
+            modificationCount++;
+            invalidateAllCached();
+            notifyChanged(EventChange.Type.DELETED, removed);
+        }
+        record(CalendarMetrics.Operation.DELETE, start, visits);
+        return removed;
+    }
+
+    // Moves every event starting on or after the pivot into a new tree; this tree keeps the rest.
+    // A series moves with its first date, taking all of its occurrences along.
+    public EventBST split(LocalDate pivot) {
+        Objects.requireNonNull(pivot, "Pivot date cannot be null");
+        BSTNode[] parts = splitNodes(root, Event.startOfDayKey(pivot), null);
+        root = parts[0];
+
+        EventBST tail = new EventBST();
+        tail.root = parts[1];
+        List<Event> moved = new ArrayList<>();
+        inOrderTraversal(parts[1], moved, null);
+        if (moved.isEmpty()) {
+            return tail;
+        }
+
+        boolean seriesMoved = removeFromIndexes(moved);
+        for (Event event : moved) {
+            tail.addToIndexes(event);
+        }
+        tail.size = moved.size();
+        size -= moved.size();
+        modificationCount++;
+        if (seriesMoved) {
+            invalidateAllCached();
+        } else if (queryCache != null) {
+            queryCache.invalidate(pivot, LocalDate.MAX, modificationCount);
+        }
+        notifyChanged(EventChange.Type.DELETED, moved);
+        return tail;
+    }
+
+    // Appends a tree whose events all start at or after this tree's last event; other is left empty.
+    // The trees must not share ids either: unlike union() nothing looks for repeats, so the link
+    // itself is O(h) and only indexing the appended events, O(m log n), grows with their number.
+    public void join(EventBST other) {
+        Objects.requireNonNull(other, "Other calendar cannot be null");
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot join a calendar with itself");
+        }
+        if (root != null && other.root != null && other.firstNode().getEvent().compareTo(lastNode().getEvent()) < 0) {
+            throw new IllegalArgumentException("Joined calendar must start after this calendar ends");
+        }
+        if (other.root == null) {
+            return;
+        }
+
+        List<Event> appended = new ArrayList<>(other.size);
+        inOrderTraversal(other.root, appended, null);
+        root = joinNodes(root, other.root, null);
+        for (Event event : appended) {
+            addToIndexes(event);
+            if (changes != null) {
+                changes.inserted(event);
+            }
+        }
+        size += appended.size();
+        modificationCount++;
+        invalidateAllCached();
+        notifyChanged(EventChange.Type.INSERTED, appended);
+        other.clear();
+    }
+
+    // Moves every event of other into this tree; other is left empty. An incoming event whose id is
+    // already here replaces the existing copy wherever either sorts, unless nothing about it changed,
+    // in which case it is skipped. Finding repeated ids takes one O(n) pass; join() skips it when the
+    // ids are known to be disjoint. Disjoint ranges are then linked together in O(h); interleaved
+    // ones are merged in O(n + m) and rebuilt balanced, which beats m separate inserts into an
+    // unbalanced tree. Indexes take O(m log n).
+    public void union(EventBST other) {
+        Objects.requireNonNull(other, "Other calendar cannot be null");
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a calendar with itself");
+        }
+        if (other.root == null) {
+            return;
+        }
+
+        List<Event> incoming = new ArrayList<>(other.size);
+        inOrderTraversal(other.root, incoming, null);
+        List<Event> replaced = new ArrayList<>();
+        List<Event> unchanged = new ArrayList<>();
+        findRepeatedIds(incoming, replaced, unchanged);
+        if (!unchanged.isEmpty()) {
+            Set<Event> skipped = new HashSet<>(unchanged);
+            other.unlink(skipped);
+            incoming.removeIf(skipped::contains);
+        }
+        if (!replaced.isEmpty()) {
+            unlink(new HashSet<>(replaced));
+            removeFromIndexes(replaced);
+        }
+
+        if (other.root == null) {
+            // Everything was already here as it is; only replacements count as a change
+        } else if (root == null || lastNode().getEvent().compareTo(other.firstNode().getEvent()) < 0) {
+            root = joinNodes(root, other.root, null);
+        } else if (other.lastNode().getEvent().compareTo(firstNode().getEvent()) < 0) {
+            root = joinNodes(other.root, root, null);
+        } else {
+            root = mergeBalanced(other);
+        }
+
+        for (Event event : incoming) {
+            addToIndexes(event);
+            size++;
+            if (changes != null) {
+                changes.inserted(event);
+            }
+        }
+        if (!replaced.isEmpty() || !incoming.isEmpty()) {
+            modificationCount++;
+            invalidateAllCached();
+            notifyChanged(EventChange.Type.DELETED, replaced);
+            notifyChanged(EventChange.Type.INSERTED, incoming);
+        }
+
+        other.clear();
+    }
+
+    // Inserting a large sorted batch one event at a time would degrade this unbalanced tree into a
+    // list, so the batch is sorted, linked into a balanced subtree and merged in with union().
+    // A repeated id keeps its last copy in the batch, which then replaces any copy already present.
+    public void bulkLoad(Collection<Event> events) {
+        Objects.requireNonNull(events, "Events cannot be null");
+        Map<Event, Event> latest = new HashMap<>(events.size() * 2);
+        for (Event event : events) {
+            Objects.requireNonNull(event, "Event cannot be null");
+            // Keys compare by id, so the key stays the first copy and the value the last
+            latest.put(event, event);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+        List<BSTNode> nodes = new ArrayList<>(latest.size());
+        for (Event event : latest.values()) {
+            nodes.add(new BSTNode(event));
+        }
+        nodes.sort((a, b) -> a.getEvent().compareTo(b.getEvent()));
+
+        EventBST batch = new EventBST();
+        batch.root = linkBalanced(nodes, 0, nodes.size() - 1);
+        batch.size = nodes.size();
+        union(batch);
+    }
+
+    // Sorts the events here that share an id with an incoming one into those the incoming copy
+    // replaces and incoming copies identical to what is already here
+    private void findRepeatedIds(List<Event> incoming, List<Event> replaced, List<Event> unchanged) {
+        if (root == null) {
+            return;
+        }
+        Map<Event, Event> byId = new HashMap<>(incoming.size() * 2);
+        for (Event event : incoming) {
+            byId.put(event, event);
+        }
+        List<Event> existing = new ArrayList<>();
+        findByPredicate(root, existing, byId::containsKey, null);
+        for (Event event : existing) {
+            Event replacement = byId.get(event);
+            if (replacement.hasSameDetails(event)) {
+                unchanged.add(replacement);
+            } else {
+                replaced.add(event);
+            }
+        }
+    }
+
+    // Takes the given events out of the tree structure alone and relinks the rest balanced. A full
+    // partition finds them wherever equal keys put them, where a keyed descent could miss one.
+    private void unlink(Set<Event> events) {
+        List<BSTNode> kept = new ArrayList<>(size);
+        partition(root, events::contains, kept, new ArrayList<>(), null);
+        root = linkBalanced(kept, 0, kept.size() - 1);
+        size = kept.size();
+    }
+
+    private BSTNode mergeBalanced(EventBST other) {
+        List<BSTNode> mine = new ArrayList<>(size);
+        collectNodes(root, mine, null);
+        List<BSTNode> theirs = new ArrayList<>(other.size);
+        collectNodes(other.root, theirs, null);
+
+        List<BSTNode> merged = new ArrayList<>(mine.size() + theirs.size());
+        int i = 0;
+        int j = 0;
+        while (i < mine.size() && j < theirs.size()) {
+            if (mine.get(i).getEvent().compareTo(theirs.get(j).getEvent()) <= 0) {
+                merged.add(mine.get(i++));
+            } else {
+                merged.add(theirs.get(j++));
+            }
+        }
+        merged.addAll(mine.subList(i, mine.size()));
+        merged.addAll(theirs.subList(j, theirs.size()));
+        return linkBalanced(merged, 0, merged.size() - 1);
+    }
+
+    private void collectNodes(BSTNode node, List<BSTNode> nodes, Visits visits) {
+        if (node != null) {
+            visit(visits);
+            collectNodes(node.getLeft(), nodes, visits);
+            nodes.add(node);
+            collectNodes(node.getRight(), nodes, visits);
+        }
+    }
+
+    private BSTNode firstNode() {
+        return findMinNode(root);
+    }
+
+    private BSTNode lastNode() {
+        BSTNode node = root;
+        while (node.getRight() != null) {
+            node = node.getRight();
+        }
+        return node;
+    }
+
+    // Returns {keys < key, keys >= key}, reusing the existing nodes
+    private BSTNode[] splitNodes(BSTNode node, long key, Visits visits) {
+        if (node == null) {
+            return new BSTNode[2];
+        }
+        visit(visits);
+
+        if (node.getEvent().getSortKey() < key) {
+            BSTNode[] parts = splitNodes(node.getRight(), key, visits);
+            node.setRight(parts[0]);
+            parts[0] = node;
+            return parts;
+        }
+        BSTNode[] parts = splitNodes(node.getLeft(), key, visits);
+        node.setLeft(parts[1]);
+        parts[1] = node;
+        return parts;
+    }
+
+    // Every key in left must sort before every key in right; the largest left node becomes the root
+    private BSTNode joinNodes(BSTNode left, BSTNode right, Visits visits) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        BSTNode parent = null;
+        BSTNode max = left;
+        while (max.getRight() != null) {
+            visit(visits);
+            parent = max;
+            max = max.getRight();
+        }
+        if (parent != null) {
+            parent.setRight(max.getLeft());
+            max.setLeft(left);
+        }
+        max.setRight(right);
+        return max;
+    }
+
+    private void partition(BSTNode node, Predicate<Event> predicate, List<BSTNode> kept, List<Event> removed,
+                           Visits visits) {
+        if (node == null) {
+            return;
+        }
+        visit(visits);
+
+        partition(node.getLeft(), predicate, kept, removed, visits);
+        if (predicate.test(node.getEvent())) {
+            removed.add(node.getEvent());
+        } else {
+            kept.add(node);
+        }
+        partition(node.getRight(), predicate, kept, removed, visits);
+    }
+
+    private BSTNode linkBalanced(List<BSTNode> nodes, int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        BSTNode node = nodes.get(mid);
+        node.setLeft(linkBalanced(nodes, low, mid - 1));
+        node.setRight(linkBalanced(nodes, mid + 1, high));
+        return node;
+    }
+
+    private void addToIndexes(Event event) {
+        categoryIndex.add(event);
+        priorityIndex.add(event);
+        if (event.isRecurring()) {
+            recurringSeries.add(event);
+        }
+        if (event.getDuration().compareTo(longestDuration) > 0) {
+            longestDuration = event.getDuration();
+        }
+    }
+
+    private boolean removeFromIndexes(List<Event> events) {
+        boolean seriesRemoved = false;
+        for (Event event : events) {
+            categoryIndex.remove(event);
+            priorityIndex.remove(event);
+            seriesRemoved |= recurringSeries.remove(event);
+            if (changes != null) {
+                changes.deleted(event);
+            }
+        }
+        return seriesRemoved;
+    }
+
+    // Stored events in order, with each series once at its first date rather than expanded; saves
+    // and bulk operations depend on that. Date queries expand series.
     public List<Event> getAllEvents() {
+        TreeTraversalEvent trace = TreeTraversalEvent.start();
+        Visits visits = startVisits(trace);
         List<Event> events = new ArrayList<>();
-        inOrderTraversal(root, events);
+        inOrderTraversal(root, events, visits);
+        trace.finish("IN_ORDER", count(visits), events.size(), size);
         return events;
     }
 
-    private void inOrderTraversal(BSTNode node, List<Event> events) {
+    // Stored events from the given date on, in order: at least limit of them unless the tree runs
+    // out, then the rest of the last date reached, so a caller can page through by resuming on the
+    // following day without missing or repeating anything
+    public List<Event> getAllEventsFrom(LocalDate startDate, int limit) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        List<Event> events = new ArrayList<>(limit);
+        scanInRange(startDate, null, event -> {
+            if (events.size() >= limit && event.getDate().isAfter(events.get(events.size() - 1).getDate())) {
+                return false;
+            }
+            events.add(event);
+            return true;
+        });
+        return events;
+    }
+
+    private void inOrderTraversal(BSTNode node, List<Event> events, Visits visits) {
         if (node != null) {
-            inOrderTraversal(node.getLeft(), events);
+            visit(visits);
+            inOrderTraversal(node.getLeft(), events, visits);
             events.add(node.getEvent());
-            inOrderTraversal(node.getRight(), events);
+            inOrderTraversal(node.getRight(), events, visits);
         }
     }
 
+    public Spliterator<Event> spliterator() {
+        return new EventSpliterator(this, root, size, modificationCount);
+    }
+
+    // Stored events, like getAllEvents()
+    public Stream<Event> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // What the calendar shows between the two dates, with series expanded
+    public Stream<Event> stream(LocalDate startDate, LocalDate endDate) {
+        return findEventsInRange(startDate, endDate).stream();
+    }
+
+    public Stream<Event> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public List<Event> getUpcomingEvents() {
         LocalDate today = LocalDate.now();
+        QueryCache.Key key = QueryCache.forUpcoming(today);
+        List<Event> cached = cachedResult(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        TreeTraversalEvent trace = TreeTraversalEvent.start();
+        Visits visits = startVisits(trace);
         List<Event> events = new ArrayList<>();
-        getUpcomingEventsRecursive(root, today, events);
-        return events;
+        getUpcomingEventsRecursive(root, today, events, visits);
+        // Unbounded series would never end, so they are expanded SERIES_HORIZON ahead
+        List<Event> result = mergeOccurrences(events, today, seriesHorizon());
+        trace.finish("UPCOMING", count(visits), result.size(), size);
+        cacheResult(key, result);
+        return result;
     }
 
-    private void getUpcomingEventsRecursive(BSTNode node, LocalDate today, List<Event> events) {
+    private void getUpcomingEventsRecursive(BSTNode node, LocalDate today, List<Event> events, Visits visits) {
         if (node == null) {
             return;
         }
+        visit(visits);
 
-        getUpcomingEventsRecursive(node.getLeft(), today, events);
+        getUpcomingEventsRecursive(node.getLeft(), today, events, visits);
 
-        if (!node.getEvent().getDate().isBefore(today)) {
+        if (!node.getEvent().getDate().isBefore(today) && !node.getEvent().isRecurring()) {
             events.add(node.getEvent());
         }
 
-        getUpcomingEventsRecursive(node.getRight(), today, events);
+        getUpcomingEventsRecursive(node.getRight(), today, events, visits);
     }
 
     public List<Event> getTodaysEvents() {
@@ -295,16 +986,22 @@ public class EventBST {
     }
 
     public List<Event> getPastEvents() {
+        TreeTraversalEvent trace = TreeTraversalEvent.start();
+        Visits visits = startVisits(trace);
         LocalDate today = LocalDate.now();
         List<Event> events = new ArrayList<>();
-        findByPredicate(root, events, e -> e.getDate().isBefore(today));
-        return events;
+        findByPredicate(root, events, e -> e.getDate().isBefore(today) && !e.isRecurring(), visits);
+        List<Event> result = mergeOccurrences(events, null, today.minusDays(1));
+        trace.finish("PAST", count(visits), result.size(), size);
+        return result;
     }
 
+    @Override
     public int getSize() {
         return size;
     }
 
+    @Override
     public boolean isEmpty() {
         return root == null;
     }
@@ -470,7 +1167,176 @@ public class EventBST {
     public void clear() {
         root = null;
         size = 0;
+        categoryIndex.clear();
+        priorityIndex.clear();
+        recurringSeries.clear();
+        longestDuration = Duration.ZERO;
         modificationCount++;
+        invalidateAllCached();
+        if (changes != null) {
+            changes.cleared();
+        }
+        if (listeners.length > 0) {
+            publish(new EventChange(EventChange.Type.CLEARED, null, modificationCount));
+        }
+    }
+
+    public void addChangeListener(EventChangeListener listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        EventChangeListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    public boolean removeChangeListener(EventChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                EventChangeListener[] shrunk = new EventChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, shrunk, 0, i);
+                System.arraycopy(listeners, i + 1, shrunk, i, shrunk.length - i);
+                listeners = shrunk.length == 0 ? NO_LISTENERS : shrunk;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Listeners run once the tree, its indexes and the query cache all reflect the change
+    private void notifyChanged(EventChange.Type type, Event event) {
+        if (listeners.length > 0) {
+            publish(new EventChange(type, event, modificationCount));
+        }
+    }
+
+    private void notifyChanged(EventChange.Type type, List<Event> events) {
+        if (listeners.length > 0) {
+            for (Event event : events) {
+                publish(new EventChange(type, event, modificationCount));
+            }
+        }
+    }
+
+    // The change has already happened, so a failing listener is counted rather than allowed to
+    // skip the listeners after it or make the write look like it failed
+    private void publish(EventChange change) {
+        for (EventChangeListener listener : listeners) {
+            try {
+                listener.onChange(change);
+            } catch (RuntimeException e) {
+                listenerFailures++;
+                lastListenerError = e;
+            }
+        }
+    }
+
+    public long getListenerFailureCount() {
+        return listenerFailures;
+    }
+
+    public RuntimeException getLastListenerError() {
+        return lastListenerError;
+    }
+
+    // Marks the current contents as persisted; from here on inserts and deletes are recorded so
+    // the next save can write just the delta
+    public void checkpoint() {
+        changes = new ChangeTracker();
+    }
+
+    public ChangeSet getChangesSinceCheckpoint() {
+        return changes != null ? changes.snapshot() : ChangeSet.FULL_REWRITE;
+    }
+
+    public boolean hasChangesSinceCheckpoint() {
+        return changes == null || !changes.isEmpty();
+    }
+
+    // Date, range and upcoming queries are memoised until a change touches their window
+    public void enableQueryCache(int capacity) {
+        queryCache = new QueryCache(capacity, modificationCount);
+    }
+
+    public void disableQueryCache() {
+        queryCache = null;
+    }
+
+    public boolean isQueryCacheEnabled() {
+        return queryCache != null;
+    }
+
+    public CacheStatistics getQueryCacheStatistics() {
+        return queryCache != null ? queryCache.statistics() : null;
+    }
+
+    private List<Event> cachedResult(QueryCache.Key key) {
+        return queryCache != null ? queryCache.get(key, modificationCount) : null;
+    }
+
+    private void cacheResult(QueryCache.Key key, List<Event> result) {
+        if (queryCache != null) {
+            queryCache.put(key, result, modificationCount);
+        }
+    }
+
+    // A series has occurrences on many dates, so it drops every entry rather than one bucket
+    private void invalidateCached(Event event) {
+        if (queryCache == null) {
+            return;
+        }
+        if (event.isRecurring()) {
+            queryCache.invalidateAll(modificationCount);
+        } else {
+            queryCache.invalidate(event.getDate(), event.getDate(), modificationCount);
+        }
+    }
+
+    private void invalidateAllCached() {
+        if (queryCache != null) {
+            queryCache.invalidateAll(modificationCount);
+        }
+    }
+
+    // Instrumentation is off until a metrics instance is attached; it can be shared with CalendarPersistence
+    public void setMetrics(CalendarMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public CalendarMetrics getMetrics() {
+        return metrics;
+    }
+
+    public MetricsSnapshot getMetricsSnapshot() {
+        return metrics != null ? metrics.snapshot() : new CalendarMetrics().snapshot();
+    }
+
+    private long startTimer() {
+        return metrics != null ? System.nanoTime() : 0L;
+    }
+
+    private void record(CalendarMetrics.Operation operation, long start, Visits visits) {
+        if (metrics != null) {
+            metrics.record(operation, System.nanoTime() - start, count(visits), 0);
+        }
+    }
+
+    // A counter only exists when something will read it, and each call gets its own, so
+    // concurrent readers never share one and an uninstrumented walk pays a null check per node
+    private Visits startVisits(TreeTraversalEvent trace) {
+        return metrics != null || (trace != null && trace.isEnabled()) ? new Visits() : null;
+    }
+
+    private static void visit(Visits visits) {
+        if (visits != null) {
+            visits.nodes++;
+        }
+    }
+
+    private static long count(Visits visits) {
+        return visits != null ? visits.nodes : 0;
+    }
+
+    private static final class Visits {
+        long nodes;
     }
 
     public int getModificationCount() {
@@ -521,4 +1387,34 @@ public class EventBST {
             return sb.toString();
         }
     }
+
+    public record CacheStatistics(
+            int capacity,
+            int entries,
+            long hits,
+            long misses,
+            long evictions,
+            long invalidations) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("╔══════════════════════════════════════════╗\n");
+            sb.append("║          QUERY CACHE                     ║\n");
+            sb.append("╠══════════════════════════════════════════╣\n");
+            sb.append(String.format("║  Entries:          %-20s  ║%n", entries + " / " + capacity));
+            sb.append(String.format("║  Hits:             %-20d  ║%n", hits));
+            sb.append(String.format("║  Misses:           %-20d  ║%n", misses));
+            sb.append(String.format("║  Hit Rate:         %-20s  ║%n", String.format("%.1f%%", hitRate() * 100)));
+            sb.append(String.format("║  Evictions:        %-20d  ║%n", evictions));
+            sb.append(String.format("║  Invalidations:    %-20d  ║%n", invalidations));
+            sb.append("╚══════════════════════════════════════════╝\n");
+            return sb.toString();
+        }
+    }
 }
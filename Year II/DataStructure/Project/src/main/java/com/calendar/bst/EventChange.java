@@ -0,0 +1,15 @@
+package com.calendar.bst;
+
+import com.calendar.model.Event;
+
+// One mutation of an EventBST as seen by listeners. A CLEARED change carries no event. The
+// sequence is the tree's modification count after the change; the changes of one bulk operation
+// (deleteRange, union, ...) share it, so listeners can group them.
+public record EventChange(Type type, Event event, long sequence) {
+
+    public enum Type {
+        INSERTED,
+        DELETED,
+        CLEARED
+    }
+}
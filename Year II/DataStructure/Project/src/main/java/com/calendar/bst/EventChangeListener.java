@@ -0,0 +1,10 @@
+package com.calendar.bst;
+
+// Called on the writing thread after the tree has changed, so the tree already reflects the
+// change. Exceptions propagate to the caller of the mutating method. A listener that is slow or
+// may block should be wrapped in an AsyncChangeDispatcher.
+@FunctionalInterface
+public interface EventChangeListener {
+
+    void onChange(EventChange change);
+}
@@ -0,0 +1,235 @@
+package com.calendar.bst;
+
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class EventQuery {
+
+    public enum AccessPath {
+        CATEGORY_INDEX,
+        PRIORITY_INDEX,
+        RANGE_SCAN,
+        FULL_SCAN
+    }
+
+    private final EventBST tree;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private EventCategory category;
+    private EventPriority priority;
+    private EventPriority minPriority;
+    private String titlePattern;
+    private Predicate<Event> customFilter;
+    private int limit = Integer.MAX_VALUE;
+
+    EventQuery(EventBST tree) {
+        this.tree = tree;
+    }
+
+    public EventQuery between(LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        return this;
+    }
+
+    public EventQuery on(LocalDate date) {
+        return between(date, date);
+    }
+
+    public EventQuery from(LocalDate startDate) {
+        this.startDate = Objects.requireNonNull(startDate, "Start date cannot be null");
+        return this;
+    }
+
+    public EventQuery until(LocalDate endDate) {
+        this.endDate = Objects.requireNonNull(endDate, "End date cannot be null");
+        return this;
+    }
+
+    public EventQuery category(EventCategory category) {
+        this.category = Objects.requireNonNull(category, "Category cannot be null");
+        return this;
+    }
+
+    public EventQuery priority(EventPriority priority) {
+        this.priority = Objects.requireNonNull(priority, "Priority cannot be null");
+        return this;
+    }
+
+    public EventQuery minPriority(EventPriority minPriority) {
+        this.minPriority = Objects.requireNonNull(minPriority, "Priority cannot be null");
+        return this;
+    }
+
+    public EventQuery titleContains(String pattern) {
+        this.titlePattern = Objects.requireNonNull(pattern, "Title pattern cannot be null").toLowerCase();
+        return this;
+    }
+
+    public EventQuery where(Predicate<Event> filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        this.customFilter = customFilter == null ? filter : customFilter.and(filter);
+        return this;
+    }
+
+    public EventQuery limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public AccessPath plan() {
+        int categoryCost = category != null ? tree.getCategoryIndex().size(category) : Integer.MAX_VALUE;
+        int priorityCost = priority != null ? tree.getPriorityIndex().size(priority) : Integer.MAX_VALUE;
+
+        if (category != null && categoryCost <= priorityCost) {
+            return AccessPath.CATEGORY_INDEX;
+        }
+        if (priority != null) {
+            return AccessPath.PRIORITY_INDEX;
+        }
+        if (startDate != null || endDate != null) {
+            return AccessPath.RANGE_SCAN;
+        }
+        return AccessPath.FULL_SCAN;
+    }
+
+    public void forEach(Consumer<Event> action) {
+        Objects.requireNonNull(action, "Action cannot be null");
+        if (limit == 0) {
+            return;
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        Predicate<Event> visitor = new Predicate<>() {
+            private int emitted;
+
+            @Override
+            public boolean test(Event event) {
+                if (matches(event)) {
+                    action.accept(event);
+                    emitted++;
+                }
+                return emitted < limit;
+            }
+        };
+
+        // Series are matched by their details here and by date once expanded, since a custom filter
+        // may look at the date; without an end date they are expanded up to the tree's horizon
+        SeriesMerge merged = new SeriesMerge(tree.seriesOccurrences(this::matchesDetails, startDate,
+                endDate != null ? endDate : EventBST.seriesHorizon()), visitor);
+        switch (plan()) {
+            case CATEGORY_INDEX -> scanIndex(tree.getCategoryIndex().getInRange(category, startDate, endDate), merged);
+            case PRIORITY_INDEX -> scanIndex(tree.getPriorityIndex().getInRange(priority, startDate, endDate), merged);
+            case RANGE_SCAN, FULL_SCAN -> tree.scanInRange(startDate, endDate, merged);
+        }
+        merged.drain();
+    }
+
+    public List<Event> list() {
+        List<Event> results = new ArrayList<>();
+        forEach(results::add);
+        return results;
+    }
+
+    public Optional<Event> first() {
+        int previousLimit = limit;
+        limit = Math.min(limit, 1);
+        try {
+            List<Event> results = list();
+            return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+        } finally {
+            limit = previousLimit;
+        }
+    }
+
+    public int count() {
+        int[] count = { 0 };
+        forEach(e -> count[0]++);
+        return count[0];
+    }
+
+    private void scanIndex(Iterable<Event> candidates, Predicate<Event> visitor) {
+        for (Event event : candidates) {
+            if (!visitor.test(event)) {
+                return;
+            }
+        }
+    }
+
+    // Date bounds are already enforced by the access path, so only the remaining predicates are checked here
+    private boolean matches(Event event) {
+        return matchesDetails(event) && (customFilter == null || customFilter.test(event));
+    }
+
+    private boolean matchesDetails(Event event) {
+        if (category != null && event.getCategory() != category) {
+            return false;
+        }
+        if (priority != null && event.getPriority() != priority) {
+            return false;
+        }
+        if (minPriority != null && event.getPriority().getLevel() < minPriority.getLevel()) {
+            return false;
+        }
+        return titlePattern == null || event.getTitle().toLowerCase().contains(titlePattern);
+    }
+
+    // Stands in for series nodes on the access path: their occurrences are fed to the visitor in
+    // order between the stored events, and whatever sorts after the last stored event on drain()
+    private static final class SeriesMerge implements Predicate<Event> {
+
+        private final List<Event> occurrences;
+        private final Predicate<Event> visitor;
+        private int next;
+        private boolean stopped;
+
+        SeriesMerge(List<Event> occurrences, Predicate<Event> visitor) {
+            this.occurrences = occurrences;
+            this.visitor = visitor;
+        }
+
+        @Override
+        public boolean test(Event event) {
+            if (event.isRecurring()) {
+                return true;
+            }
+            while (next < occurrences.size() && occurrences.get(next).compareTo(event) <= 0) {
+                if (!visit(occurrences.get(next++))) {
+                    return false;
+                }
+            }
+            return visit(event);
+        }
+
+        void drain() {
+            while (!stopped && next < occurrences.size()) {
+                visit(occurrences.get(next++));
+            }
+        }
+
+        private boolean visit(Event event) {
+            stopped = !visitor.test(event);
+            return !stopped;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.calendar.bst;
+
+import com.calendar.model.Event;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Covers "head, then every event in tail" in order. Splitting hands the prefix
+// (head + tail's left subtree) to a new spliterator and keeps tail's root and right subtree.
+class EventSpliterator implements Spliterator<Event> {
+
+    private final EventBST tree;
+    private final int expectedModificationCount;
+    private Event head;
+    private BSTNode tail;
+    private Deque<BSTNode> stack;
+    private long estimatedSize;
+    private boolean exactSize;
+
+    EventSpliterator(EventBST tree, BSTNode root, int size, int modificationCount) {
+        this(tree, null, root, size, true, modificationCount);
+    }
+
+    private EventSpliterator(EventBST tree, Event head, BSTNode tail, long estimatedSize,
+            boolean exactSize, int modificationCount) {
+        this.tree = tree;
+        this.head = head;
+        this.tail = tail;
+        this.estimatedSize = estimatedSize;
+        this.exactSize = exactSize;
+        this.expectedModificationCount = modificationCount;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Event> action) {
+        checkForComodification();
+
+        if (head != null) {
+            Event event = head;
+            head = null;
+            action.accept(event);
+            return true;
+        }
+
+        if (tail != null) {
+            stack = new ArrayDeque<>();
+            pushLeftSpine(tail);
+            tail = null;
+        }
+
+        if (stack == null || stack.isEmpty()) {
+            return false;
+        }
+
+        BSTNode node = stack.pop();
+        pushLeftSpine(node.getRight());
+        action.accept(node.getEvent());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Event> action) {
+        if (head != null) {
+            action.accept(head);
+            head = null;
+        }
+        if (tail != null) {
+            inOrder(tail, action);
+            tail = null;
+        }
+        while (stack != null && !stack.isEmpty()) {
+            BSTNode node = stack.pop();
+            action.accept(node.getEvent());
+            inOrder(node.getRight(), action);
+        }
+        checkForComodification();
+    }
+
+    @Override
+    public Spliterator<Event> trySplit() {
+        if (tail == null || stack != null) {
+            return null;
+        }
+
+        BSTNode splitNode = tail;
+        if (head == null && splitNode.getLeft() == null) {
+            // Nothing to hand off before the root; descend one level so the split still makes progress
+            head = splitNode.getEvent();
+            tail = splitNode.getRight();
+            return trySplit();
+        }
+
+        long prefixEstimate = estimatedSize >>> 1;
+        EventSpliterator prefix = new EventSpliterator(tree, head, splitNode.getLeft(),
+                prefixEstimate, false, expectedModificationCount);
+
+        head = splitNode.getEvent();
+        tail = splitNode.getRight();
+        estimatedSize -= prefixEstimate;
+        exactSize = false;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | SORTED | NONNULL;
+        return exactSize ? characteristics | SIZED : characteristics;
+    }
+
+    @Override
+    public Comparator<? super Event> getComparator() {
+        return null;
+    }
+
+    private void inOrder(BSTNode node, Consumer<? super Event> action) {
+        Deque<BSTNode> pending = new ArrayDeque<>();
+        BSTNode current = node;
+        while (current != null || !pending.isEmpty()) {
+            while (current != null) {
+                pending.push(current);
+                current = current.getLeft();
+            }
+            current = pending.pop();
+            action.accept(current.getEvent());
+            current = current.getRight();
+        }
+    }
+
+    private void pushLeftSpine(BSTNode node) {
+        while (node != null) {
+            stack.push(node);
+            node = node.getLeft();
+        }
+    }
+
+    private void checkForComodification() {
+        if (tree.getModificationCount() != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+}
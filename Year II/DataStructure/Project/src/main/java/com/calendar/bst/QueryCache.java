@@ -0,0 +1,117 @@
+package com.calendar.bst;
+
+import com.calendar.model.Event;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bounded LRU of query results. Each entry covers an inclusive date window, so a change confined
+// to some dates only drops the entries whose window overlaps them. Lookups reorder the LRU and bump
+// the counters, so every method locks the cache: readers sharing a tree under a read lock still
+// write here.
+class QueryCache {
+
+    enum Kind { DATE, RANGE, UPCOMING }
+
+    record Key(Kind kind, LocalDate from, LocalDate to) {
+
+        boolean overlaps(LocalDate start, LocalDate end) {
+            return !end.isBefore(from) && !start.isAfter(to);
+        }
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Key, List<Event>> entries;
+    private int validatedModCount;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    QueryCache(int capacity, int modificationCount) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.validatedModCount = modificationCount;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Event>> eldest) {
+                if (size() > QueryCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    static Key forDate(LocalDate date) {
+        return new Key(Kind.DATE, date, date);
+    }
+
+    static Key forRange(LocalDate from, LocalDate to) {
+        return new Key(Kind.RANGE, from, to);
+    }
+
+    static Key forUpcoming(LocalDate today) {
+        return new Key(Kind.UPCOMING, today, LocalDate.MAX);
+    }
+
+    // Callers get their own copy, so mutating a returned list never corrupts the cache
+    synchronized List<Event> get(Key key, int modificationCount) {
+        synchronize(modificationCount);
+        List<Event> cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new ArrayList<>(cached);
+    }
+
+    synchronized void put(Key key, List<Event> result, int modificationCount) {
+        synchronize(modificationCount);
+        entries.put(key, List.copyOf(result));
+    }
+
+    // Called after a change confined to [start, end], with the count that change produced
+    synchronized void invalidate(LocalDate start, LocalDate end, int modificationCount) {
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().overlaps(start, end)) {
+                keys.remove();
+                invalidations++;
+            }
+        }
+        // Only skip the fallback if nothing else changed since the last check
+        if (modificationCount == validatedModCount + 1) {
+            validatedModCount = modificationCount;
+        }
+    }
+
+    synchronized void invalidateAll(int modificationCount) {
+        invalidations += entries.size();
+        entries.clear();
+        validatedModCount = modificationCount;
+    }
+
+    // Coarse fallback: a mutation that bypassed precise invalidation flushes everything
+    private void synchronize(int modificationCount) {
+        if (modificationCount != validatedModCount) {
+            invalidateAll(modificationCount);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized EventBST.CacheStatistics statistics() {
+        return new EventBST.CacheStatistics(capacity, entries.size(), hits, misses, evictions, invalidations);
+    }
+}
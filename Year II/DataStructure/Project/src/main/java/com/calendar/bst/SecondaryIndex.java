@@ -0,0 +1,79 @@
+package com.calendar.bst;
+
+import com.calendar.model.Event;
+import com.calendar.model.EventPriority;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+class SecondaryIndex<K extends Enum<K>> {
+
+    // Same order as the BST, with the id breaking ties so equal-time events can coexist
+    static final Comparator<Event> INDEX_ORDER = Comparator.<Event>naturalOrder().thenComparing(Event::compareIdTo);
+
+    private final EnumMap<K, NavigableSet<Event>> buckets;
+    private final Function<Event, K> keyExtractor;
+
+    SecondaryIndex(Class<K> keyType, Function<Event, K> keyExtractor) {
+        this.buckets = new EnumMap<>(keyType);
+        this.keyExtractor = keyExtractor;
+        for (K key : keyType.getEnumConstants()) {
+            buckets.put(key, new TreeSet<>(INDEX_ORDER));
+        }
+    }
+
+    void add(Event event) {
+        buckets.get(keyExtractor.apply(event)).add(event);
+    }
+
+    void remove(Event event) {
+        buckets.get(keyExtractor.apply(event)).remove(event);
+    }
+
+    boolean contains(Event event) {
+        return buckets.get(keyExtractor.apply(event)).contains(event);
+    }
+
+    void clear() {
+        for (NavigableSet<Event> bucket : buckets.values()) {
+            bucket.clear();
+        }
+    }
+
+    NavigableSet<Event> get(K key) {
+        return Collections.unmodifiableNavigableSet(buckets.get(key));
+    }
+
+    NavigableSet<Event> getInRange(K key, LocalDate startDate, LocalDate endDate) {
+        NavigableSet<Event> bucket = buckets.get(key);
+        if (startDate != null && endDate != null) {
+            bucket = bucket.subSet(lowerBound(startDate), true, lowerBound(endDate.plusDays(1)), false);
+        } else if (startDate != null) {
+            bucket = bucket.tailSet(lowerBound(startDate), true);
+        } else if (endDate != null) {
+            bucket = bucket.headSet(lowerBound(endDate.plusDays(1)), false);
+        }
+        return Collections.unmodifiableNavigableSet(bucket);
+    }
+
+    int size(K key) {
+        return buckets.get(key).size();
+    }
+
+    // Sorts before every real event on the given date: earliest time, highest priority, smallest id
+    static Event lowerBound(LocalDate date) {
+        return Event.builder()
+                .id("")
+                .date(date)
+                .time(LocalTime.MIN)
+                .priority(EventPriority.URGENT)
+                .title("bound")
+                .build();
+    }
+}
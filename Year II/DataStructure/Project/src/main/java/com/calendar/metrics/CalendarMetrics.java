@@ -0,0 +1,79 @@
+package com.calendar.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Opt-in instrumentation shared by EventBST and CalendarPersistence. Both only call record()
+// when an instance is attached, so an uninstrumented calendar pays a single null check per call.
+public class CalendarMetrics {
+
+    public enum Operation {
+        INSERT("Insert"),
+        FIND_BY_ID("Find by id"),
+        FIND_BY_DATE("Find by date"),
+        FIND_IN_RANGE("Range"),
+        DELETE("Delete"),
+        LOAD("Load"),
+        SAVE("Save"),
+        APPEND("Append");
+
+        private final String displayName;
+
+        Operation(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final Map<Operation, Counter> counters = new EnumMap<>(Operation.class);
+
+    public CalendarMetrics() {
+        for (Operation operation : Operation.values()) {
+            counters.put(operation, new Counter());
+        }
+    }
+
+    // Synchronized because persistence may run on a background thread (autosave)
+    public synchronized void record(Operation operation, long nanos, long nodesVisited, long bytes) {
+        Counter counter = counters.get(operation);
+        counter.count++;
+        counter.nodesVisited += nodesVisited;
+        counter.bytes += bytes;
+        counter.latency.record(nanos);
+    }
+
+    public synchronized MetricsSnapshot snapshot() {
+        Map<Operation, MetricsSnapshot.OperationStats> stats = new EnumMap<>(Operation.class);
+        counters.forEach((operation, counter) -> stats.put(operation, new MetricsSnapshot.OperationStats(
+                counter.count,
+                counter.nodesVisited,
+                counter.bytes,
+                counter.latency.getMean(),
+                counter.latency.getValueAtPercentile(50),
+                counter.latency.getValueAtPercentile(99),
+                counter.latency.getValueAtPercentile(99.9),
+                counter.latency.getMax())));
+        return new MetricsSnapshot(stats);
+    }
+
+    public synchronized void reset() {
+        counters.values().forEach(Counter::reset);
+    }
+
+    private static final class Counter {
+        private long count;
+        private long nodesVisited;
+        private long bytes;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        void reset() {
+            count = 0;
+            nodesVisited = 0;
+            bytes = 0;
+            latency.reset();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.calendar.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public record MetricsSnapshot(Map<CalendarMetrics.Operation, OperationStats> operations) {
+
+    public MetricsSnapshot {
+        operations = Collections.unmodifiableMap(new EnumMap<>(operations));
+    }
+
+    public OperationStats get(CalendarMetrics.Operation operation) {
+        return operations.get(operation);
+    }
+
+    // Latencies are in nanoseconds
+    public record OperationStats(
+            long count,
+            long nodesVisited,
+            long bytes,
+            double meanNanos,
+            long p50Nanos,
+            long p99Nanos,
+            long p999Nanos,
+            long maxNanos) {
+
+        public double nodesPerOperation() {
+            return count == 0 ? 0 : (double) nodesVisited / count;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("╔════════════════════════════════════════════════════════════════════╗\n");
+        sb.append("║          OPERATION METRICS                                         ║\n");
+        sb.append("╠════════════════════════════════════════════════════════════════════╣\n");
+        sb.append(String.format("║  %-13s %8s %10s %9s %9s %9s   ║%n",
+                "Operation", "count", "nodes/op", "p50 µs", "p99 µs", "p999 µs"));
+        for (Map.Entry<CalendarMetrics.Operation, OperationStats> entry : operations.entrySet()) {
+            OperationStats stats = entry.getValue();
+            if (stats.count() == 0) {
+                continue;
+            }
+            sb.append(String.format("║  %-13s %8d %10.1f %9.1f %9.1f %9.1f   ║%n",
+                    entry.getKey().getDisplayName(),
+                    stats.count(),
+                    stats.nodesPerOperation(),
+                    stats.p50Nanos() / 1e3,
+                    stats.p99Nanos() / 1e3,
+                    stats.p999Nanos() / 1e3));
+        }
+
+        OperationStats load = operations.get(CalendarMetrics.Operation.LOAD);
+        OperationStats save = operations.get(CalendarMetrics.Operation.SAVE);
+        if (load != null && save != null && load.count() + save.count() > 0) {
+            sb.append("╠════════════════════════════════════════════════════════════════════╣\n");
+            sb.append(String.format("║  Bytes loaded:  %-17d Bytes saved:  %-18d ║%n", load.bytes(), save.bytes()));
+        }
+        sb.append("╚════════════════════════════════════════════════════════════════════╝\n");
+        return sb.toString();
+    }
+}
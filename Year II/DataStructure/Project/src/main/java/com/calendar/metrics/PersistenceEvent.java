@@ -0,0 +1,55 @@
+package com.calendar.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Emitted around every CalendarPersistence load and save, so slow I/O can be lined up with GC
+// and other activity in the same recording
+@Name("com.calendar.Persistence")
+@Label("Calendar Persistence")
+@Category({"Calendar", "Persistence"})
+@Description("Loading or saving the calendar file")
+public class PersistenceEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("File")
+    public String path;
+
+    @Label("File Size")
+    @DataAmount
+    public long fileSize;
+
+    @Label("Event Count")
+    public int eventCount;
+
+    public static PersistenceEvent start() {
+        PersistenceEvent event = new PersistenceEvent();
+        event.begin();
+        return event;
+    }
+
+    // The file is only stat'ed when the event will actually be recorded
+    public void finish(String operation, Path file, int eventCount) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.path = file.toString();
+            this.eventCount = eventCount;
+            try {
+                this.fileSize = Files.size(file);
+            } catch (IOException e) {
+                this.fileSize = -1;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.calendar.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Emitted by EventBST for calls that walk a large part of the tree. When no recording has the
+// event enabled, begin() and shouldCommit() are intrinsics that the JIT folds away.
+@Name("com.calendar.TreeTraversal")
+@Label("Calendar Tree Traversal")
+@Category({"Calendar", "Tree"})
+@Description("An EventBST operation that walks part or all of the tree")
+@StackTrace(false)
+public class TreeTraversalEvent extends Event {
+
+    @Label("Traversal")
+    public String traversal;
+
+    @Label("Nodes Visited")
+    public long nodesVisited;
+
+    @Label("Result Size")
+    public int resultSize;
+
+    @Label("Tree Size")
+    public int treeSize;
+
+    public static TreeTraversalEvent start() {
+        TreeTraversalEvent event = new TreeTraversalEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String traversal, long nodesVisited, int resultSize, int treeSize) {
+        if (shouldCommit()) {
+            this.traversal = traversal;
+            this.nodesVisited = nodesVisited;
+            this.resultSize = resultSize;
+            this.treeSize = treeSize;
+            commit();
+        }
+    }
+}
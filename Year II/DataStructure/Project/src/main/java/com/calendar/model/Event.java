@@ -5,8 +5,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 public final class Event implements Comparable<Event> {
 
@@ -14,7 +17,16 @@ public final class Event implements Comparable<Event> {
     public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     public static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
-    private final String id;
+    private static final int PRIORITY_BITS = 2;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+    private static volatile EventIdGenerator idGenerator = EventIdGenerator.timeOrdered();
+
+    // Generated and UUID-shaped ids are kept as two longs; anything else is kept verbatim in customId
+    private final long idHigh;
+    private final long idLow;
+    private final String customId;
     private final LocalDate date;
     private final LocalTime time;
     private final Duration duration;
@@ -23,9 +35,22 @@ public final class Event implements Comparable<Event> {
     private final EventCategory category;
     private final EventPriority priority;
     private final LocalDateTime createdAt;
+    private final RecurrenceRule recurrence;
+    // The stored series an occurrence was expanded from; null for every stored event
+    private final Event series;
+
+    // Cached at construction so ordering and overlap checks are plain long comparisons
+    private final long sortKey;
+    private final long endEpochSecond;
+    private final int endNano;
+    // String form of a packed id, built on the first getId() call. Unsynchronized like
+    // String.hashCode: racing threads build equal immutable strings, so any of them may win.
+    private String idString;
 
     private Event(Builder builder) {
-        this.id = builder.id;
+        this.idHigh = builder.idHigh;
+        this.idLow = builder.idLow;
+        this.customId = builder.customId;
         this.date = builder.date;
         this.time = builder.time;
         this.duration = builder.duration;
@@ -34,12 +59,126 @@ public final class Event implements Comparable<Event> {
         this.category = builder.category;
         this.priority = builder.priority;
         this.createdAt = builder.createdAt;
+        this.recurrence = builder.recurrence;
+        this.series = null;
+        this.sortKey = sortKey(date.toEpochDay(), time.toSecondOfDay(), priority);
+        long endNanos = time.getNano() + (long) duration.getNano();
+        this.endEpochSecond = startEpochSecond() + duration.getSeconds() + endNanos / NANOS_PER_SECOND;
+        this.endNano = (int) (endNanos % NANOS_PER_SECOND);
+    }
+
+    // A single materialized occurrence of a series: same details, moved to the given date. It gets
+    // its own id so it never equals, or is deleted in place of, the series it came from.
+    private Event(Event series, LocalDate occurrenceDate) {
+        this.idHigh = 0;
+        this.idLow = 0;
+        this.customId = series.getId() + "/" + occurrenceDate;
+        this.date = occurrenceDate;
+        this.time = series.time;
+        this.duration = series.duration;
+        this.title = series.title;
+        this.description = series.description;
+        this.category = series.category;
+        this.priority = series.priority;
+        this.createdAt = series.createdAt;
+        this.recurrence = null;
+        this.series = series;
+        this.sortKey = sortKey(occurrenceDate.toEpochDay(), time.toSecondOfDay(), priority);
+        this.endEpochSecond = series.endEpochSecond
+                + (occurrenceDate.toEpochDay() - series.date.toEpochDay()) * SECONDS_PER_DAY;
+        this.endNano = series.endNano;
+    }
+
+    // Epoch second of the start (UTC-agnostic) shifted left, with the inverted priority in the low
+    // bits so that higher priorities sort first within the same second
+    public static long sortKey(long epochDay, int secondOfDay, EventPriority priority) {
+        return ((epochDay * SECONDS_PER_DAY + secondOfDay) << PRIORITY_BITS)
+                | (EventPriority.URGENT.getLevel() - priority.getLevel());
+    }
+
+    // Smallest key any event on the given date can have
+    public static long startOfDayKey(LocalDate date) {
+        return sortKey(date.toEpochDay(), 0, EventPriority.URGENT);
+    }
+
+    public long getSortKey() {
+        return sortKey;
+    }
+
+    public static void setIdGenerator(EventIdGenerator generator) {
+        idGenerator = Objects.requireNonNull(generator, "Id generator cannot be null");
+    }
+
+    public static EventIdGenerator getIdGenerator() {
+        return idGenerator;
     }
 
+    // The string form is built on first use rather than stored with every event
     public String getId() {
+        if (customId != null) {
+            return customId;
+        }
+        String id = idString;
+        if (id == null) {
+            id = new UUID(idHigh, idLow).toString();
+            idString = id;
+        }
         return id;
     }
 
+    public long getIdMostSignificantBits() {
+        return idHigh;
+    }
+
+    public long getIdLeastSignificantBits() {
+        return idLow;
+    }
+
+    public boolean hasCustomId() {
+        return customId != null;
+    }
+
+    // Parses the id once and then compares primitives against each candidate
+    public static Predicate<Event> idMatcher(String id) {
+        Objects.requireNonNull(id, "Id cannot be null");
+        UUID uuid = parseCanonicalUuid(id);
+        if (uuid == null) {
+            return event -> id.equals(event.customId);
+        }
+        long high = uuid.getMostSignificantBits();
+        long low = uuid.getLeastSignificantBits();
+        return event -> event.customId == null && event.idHigh == high && event.idLow == low;
+    }
+
+    // Total order on ids, consistent with equals; custom ids sort before generated ones
+    public int compareIdTo(Event other) {
+        if (customId != null || other.customId != null) {
+            if (customId == null) {
+                return 1;
+            }
+            if (other.customId == null) {
+                return -1;
+            }
+            return customId.compareTo(other.customId);
+        }
+        int comparison = Long.compareUnsigned(idHigh, other.idHigh);
+        return comparison != 0 ? comparison : Long.compareUnsigned(idLow, other.idLow);
+    }
+
+    // Only ids that print back identically may be packed, so getId() round-trips exactly; null for
+    // anything else. The stores use it to pack ids the same way.
+    public static UUID parseCanonicalUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public LocalDate getDate() {
         return date;
     }
@@ -76,6 +215,42 @@ public final class Event implements Comparable<Event> {
         return createdAt;
     }
 
+    public RecurrenceRule getRecurrence() {
+        return recurrence;
+    }
+
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    public boolean isOccurrence() {
+        return series != null;
+    }
+
+    // For an occurrence, the series to edit or delete instead; null otherwise
+    public Event getSeries() {
+        return series;
+    }
+
+    public LocalDate getLastOccurrenceDate() {
+        return recurrence == null ? date : recurrence.lastDate(date);
+    }
+
+    public List<Event> occurrencesBetween(LocalDate from, LocalDate to) {
+        List<Event> occurrences = new ArrayList<>();
+        if (recurrence == null) {
+            if (!date.isBefore(from) && !date.isAfter(to)) {
+                occurrences.add(this);
+            }
+            return occurrences;
+        }
+
+        for (LocalDate occurrenceDate : recurrence.occurrencesBetween(date, from, to)) {
+            occurrences.add(new Event(this, occurrenceDate));
+        }
+        return occurrences;
+    }
+
     public LocalDateTime getStartDateTime() {
         return LocalDateTime.of(date, time);
     }
@@ -86,17 +261,12 @@ public final class Event implements Comparable<Event> {
 
     @Override
     public int compareTo(Event other) {
-        int dateComparison = this.date.compareTo(other.date);
-        if (dateComparison != 0) {
-            return dateComparison;
-        }
-
-        int timeComparison = this.time.compareTo(other.time);
-        if (timeComparison != 0) {
-            return timeComparison;
+        // The key only has second precision; sub-second times still order before priority
+        if (this.sortKey >> PRIORITY_BITS == other.sortKey >> PRIORITY_BITS
+                && this.time.getNano() != other.time.getNano()) {
+            return Integer.compare(this.time.getNano(), other.time.getNano());
         }
-
-        return Integer.compare(other.priority.getLevel(), this.priority.getLevel());
+        return Long.compare(this.sortKey, other.sortKey);
     }
 
     public boolean overlapsWith(Event other) {
@@ -104,12 +274,16 @@ public final class Event implements Comparable<Event> {
             return false;
         }
 
-        LocalTime thisStart = this.time;
-        LocalTime thisEnd = this.getEndTime();
-        LocalTime otherStart = other.time;
-        LocalTime otherEnd = other.getEndTime();
+        return isBefore(this.startEpochSecond(), this.time.getNano(), other.endEpochSecond, other.endNano)
+                && isBefore(other.startEpochSecond(), other.time.getNano(), this.endEpochSecond, this.endNano);
+    }
+
+    private long startEpochSecond() {
+        return sortKey >> PRIORITY_BITS;
+    }
 
-        return thisStart.isBefore(otherEnd) && otherStart.isBefore(thisEnd);
+    private static boolean isBefore(long second, int nano, long otherSecond, int otherNano) {
+        return second < otherSecond || (second == otherSecond && nano < otherNano);
     }
 
     public boolean isToday() {
@@ -131,12 +305,27 @@ public final class Event implements Comparable<Event> {
         if (obj == null || getClass() != obj.getClass())
             return false;
         Event event = (Event) obj;
-        return Objects.equals(id, event.id);
+        return idHigh == event.idHigh && idLow == event.idLow && Objects.equals(customId, event.customId);
+    }
+
+    // equals() compares ids only; this also compares every detail, so a re-imported copy that
+    // changed nothing can be told apart from one that moved or was edited
+    public boolean hasSameDetails(Event other) {
+        return equals(other)
+                && date.equals(other.date)
+                && time.equals(other.time)
+                && duration.equals(other.duration)
+                && title.equals(other.title)
+                && Objects.equals(description, other.description)
+                && category == other.category
+                && priority == other.priority
+                && createdAt.equals(other.createdAt)
+                && Objects.equals(recurrence, other.recurrence);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return customId != null ? customId.hashCode() : Long.hashCode(idHigh ^ idLow);
     }
 
     @Override
@@ -163,11 +352,12 @@ public final class Event implements Comparable<Event> {
     }
 
     public String toSimpleString() {
-        return String.format("%s %s %s - %s",
+        return String.format("%s %s %s - %s%s",
                 priority.getIcon(),
                 date.format(DATE_FORMATTER),
                 time.format(TIME_FORMATTER),
-                title);
+                title,
+                recurrence != null ? " 🔁 " + recurrence.frequency().getDisplayName() : "");
     }
 
     public String toCompactString() {
@@ -203,8 +393,12 @@ public final class Event implements Comparable<Event> {
     }
 
     public Builder toBuilder() {
-        return new Builder()
-                .id(this.id)
+        Builder builder = new Builder();
+        builder.idHigh = this.idHigh;
+        builder.idLow = this.idLow;
+        builder.customId = this.customId;
+        builder.hasId = true;
+        return builder
                 .date(this.date)
                 .time(this.time)
                 .duration(this.duration)
@@ -212,11 +406,16 @@ public final class Event implements Comparable<Event> {
                 .description(this.description)
                 .category(this.category)
                 .priority(this.priority)
-                .createdAt(this.createdAt);
+                .createdAt(this.createdAt)
+                .recurrence(this.recurrence);
     }
 
     public static class Builder {
-        private String id = UUID.randomUUID().toString();
+        private long idHigh;
+        private long idLow;
+        private String customId;
+        private boolean hasId;
+        private EventIdGenerator idGenerator;
         private LocalDate date;
         private LocalTime time;
         private Duration duration = Duration.ofHours(1);
@@ -225,9 +424,31 @@ public final class Event implements Comparable<Event> {
         private EventCategory category = EventCategory.OTHER;
         private EventPriority priority = EventPriority.MEDIUM;
         private LocalDateTime createdAt = LocalDateTime.now();
+        private RecurrenceRule recurrence;
 
         public Builder id(String id) {
-            this.id = id;
+            Objects.requireNonNull(id, "Id cannot be null");
+            UUID uuid = parseCanonicalUuid(id);
+            if (uuid != null) {
+                return id(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            }
+            this.idHigh = 0;
+            this.idLow = 0;
+            this.customId = id;
+            this.hasId = true;
+            return this;
+        }
+
+        public Builder id(long mostSignificantBits, long leastSignificantBits) {
+            this.idHigh = mostSignificantBits;
+            this.idLow = leastSignificantBits;
+            this.customId = null;
+            this.hasId = true;
+            return this;
+        }
+
+        public Builder idGenerator(EventIdGenerator idGenerator) {
+            this.idGenerator = idGenerator;
             return this;
         }
 
@@ -276,8 +497,25 @@ public final class Event implements Comparable<Event> {
             return this;
         }
 
+        public Builder recurrence(RecurrenceRule recurrence) {
+            this.recurrence = recurrence;
+            return this;
+        }
+
         public Event build() {
             validate();
+            if (!hasId) {
+                EventIdGenerator generator = idGenerator != null ? idGenerator : Event.idGenerator;
+                generator.nextId((high, low) -> {
+                    this.idHigh = high;
+                    this.idLow = low;
+                });
+                // A builder reused for several events gets a fresh id each time
+                Event event = new Event(this);
+                this.idHigh = 0;
+                this.idLow = 0;
+                return event;
+            }
             return new Event(this);
         }
 
@@ -300,6 +538,9 @@ public final class Event implements Comparable<Event> {
             if (priority == null) {
                 throw new IllegalArgumentException("Event priority cannot be null");
             }
+            if (recurrence != null && recurrence.until() != null && recurrence.until().isBefore(date)) {
+                throw new IllegalArgumentException("Recurrence end date cannot be before the event date");
+            }
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.calendar.model;
+
+import java.util.UUID;
+
+@FunctionalInterface
+public interface EventIdGenerator {
+
+    // Fills in the two halves of a 128-bit id; implementations must be safe to call from many threads
+    void nextId(IdSink sink);
+
+    @FunctionalInterface
+    interface IdSink {
+        void accept(long mostSignificantBits, long leastSignificantBits);
+    }
+
+    static EventIdGenerator timeOrdered() {
+        return TimeOrderedIdGenerator.INSTANCE;
+    }
+
+    // The previous behaviour: version 4 UUIDs from SecureRandom
+    static EventIdGenerator random() {
+        return sink -> {
+            UUID uuid = UUID.randomUUID();
+            sink.accept(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.calendar.model;
+
+public enum RecurrenceFrequency {
+    DAILY("Daily"),
+    WEEKLY("Weekly"),
+    MONTHLY("Monthly");
+
+    private final String displayName;
+
+    RecurrenceFrequency(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
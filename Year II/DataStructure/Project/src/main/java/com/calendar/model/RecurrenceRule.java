@@ -0,0 +1,168 @@
+package com.calendar.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public record RecurrenceRule(
+        RecurrenceFrequency frequency,
+        int interval,
+        int count,
+        LocalDate until,
+        Set<LocalDate> exceptions) {
+
+    public RecurrenceRule {
+        Objects.requireNonNull(frequency, "Recurrence frequency cannot be null");
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be positive");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Recurrence count cannot be negative");
+        }
+        exceptions = exceptions == null
+                ? Collections.emptySortedSet()
+                : Collections.unmodifiableSortedSet(new TreeSet<>(exceptions));
+    }
+
+    public static RecurrenceRule daily() {
+        return new RecurrenceRule(RecurrenceFrequency.DAILY, 1, 0, null, null);
+    }
+
+    public static RecurrenceRule weekly() {
+        return new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, 0, null, null);
+    }
+
+    public static RecurrenceRule monthly() {
+        return new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, 0, null, null);
+    }
+
+    public RecurrenceRule withInterval(int interval) {
+        return new RecurrenceRule(frequency, interval, count, until, exceptions);
+    }
+
+    public RecurrenceRule withCount(int count) {
+        return new RecurrenceRule(frequency, interval, count, until, exceptions);
+    }
+
+    public RecurrenceRule withUntil(LocalDate until) {
+        return new RecurrenceRule(frequency, interval, count, until, exceptions);
+    }
+
+    public RecurrenceRule withException(LocalDate date) {
+        Set<LocalDate> updated = new TreeSet<>(exceptions);
+        updated.add(Objects.requireNonNull(date, "Exception date cannot be null"));
+        return new RecurrenceRule(frequency, interval, count, until, updated);
+    }
+
+    public boolean isBounded() {
+        return count > 0 || until != null;
+    }
+
+    public LocalDate dateAt(LocalDate seriesStart, long index) {
+        long step = index * interval;
+        return switch (frequency) {
+            case DAILY -> seriesStart.plusDays(step);
+            case WEEKLY -> seriesStart.plusWeeks(step);
+            case MONTHLY -> seriesStart.plusMonths(step);
+        };
+    }
+
+    public LocalDate lastDate(LocalDate seriesStart) {
+        LocalDate last = count > 0 ? dateAt(seriesStart, count - 1L) : null;
+        if (until != null && (last == null || until.isBefore(last))) {
+            return until;
+        }
+        return last;
+    }
+
+    public List<LocalDate> occurrencesBetween(LocalDate seriesStart, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (long i = firstIndexOnOrAfter(seriesStart, from); count == 0 || i < count; i++) {
+            LocalDate date = dateAt(seriesStart, i);
+            if (date.isAfter(to) || (until != null && date.isAfter(until))) {
+                break;
+            }
+            if (!exceptions.contains(date)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    // Jumps straight to the first candidate instead of walking every occurrence since seriesStart
+    private long firstIndexOnOrAfter(LocalDate seriesStart, LocalDate from) {
+        if (!from.isAfter(seriesStart)) {
+            return 0;
+        }
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(seriesStart, from);
+            case WEEKLY -> ChronoUnit.WEEKS.between(seriesStart, from);
+            case MONTHLY -> ChronoUnit.MONTHS.between(seriesStart, from);
+        };
+        long index = units / interval;
+        while (dateAt(seriesStart, index).isBefore(from)) {
+            index++;
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("FREQ=").append(frequency.name());
+        sb.append(";INTERVAL=").append(interval);
+        if (count > 0) {
+            sb.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            sb.append(";UNTIL=").append(until);
+        }
+        if (!exceptions.isEmpty()) {
+            sb.append(";EXDATE=").append(exceptions.stream()
+                    .map(LocalDate::toString)
+                    .collect(Collectors.joining(",")));
+        }
+        return sb.toString();
+    }
+
+    public static RecurrenceRule parse(String text) {
+        Objects.requireNonNull(text, "Recurrence rule cannot be null");
+
+        RecurrenceFrequency frequency = null;
+        int interval = 1;
+        int count = 0;
+        LocalDate until = null;
+        Set<LocalDate> exceptions = new TreeSet<>();
+
+        for (String part : text.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed recurrence rule: " + text);
+            }
+            String value = part.substring(separator + 1);
+            switch (part.substring(0, separator)) {
+                case "FREQ" -> frequency = RecurrenceFrequency.valueOf(value);
+                case "INTERVAL" -> interval = Integer.parseInt(value);
+                case "COUNT" -> count = Integer.parseInt(value);
+                case "UNTIL" -> until = LocalDate.parse(value);
+                case "EXDATE" -> {
+                    for (String date : value.split(",")) {
+                        exceptions.add(LocalDate.parse(date));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown recurrence property: " + part);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule is missing FREQ: " + text);
+        }
+        return new RecurrenceRule(frequency, interval, count, until, exceptions);
+    }
+}
@@ -0,0 +1,25 @@
+package com.calendar.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// UUIDv7 layout (RFC 9562): 48-bit Unix millisecond timestamp, version, 12 random bits,
+// variant, 62 random bits. Randomness comes from ThreadLocalRandom, so parallel builders
+// never contend on a shared SecureRandom.
+final class TimeOrderedIdGenerator implements EventIdGenerator {
+
+    static final TimeOrderedIdGenerator INSTANCE = new TimeOrderedIdGenerator();
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+    private TimeOrderedIdGenerator() {
+    }
+
+    @Override
+    public void nextId(IdSink sink) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = (System.currentTimeMillis() << 16) | VERSION_7 | (random.nextInt() & 0x0FFF);
+        long low = VARIANT_RFC | (random.nextLong() >>> 2);
+        sink.accept(high, low);
+    }
+}
@@ -0,0 +1,347 @@
+package com.calendar.persistence;
+
+import com.calendar.bst.EventBST;
+import com.calendar.bst.EventChange;
+import com.calendar.bst.EventChangeListener;
+import com.calendar.model.Event;
+import com.calendar.store.ChangeSet;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Persists the calendar on a virtual thread once edits have been quiet for the debounce window,
+// so a burst of edits becomes one save. Edits must go through edit() so the saver never sees the
+// tree mid-change; the lock is held only while applying an edit, taking the change set or copying
+// one chunk of a full snapshot.
+public class AutosaveService implements AutoCloseable {
+
+    // A steady stream of edits is still saved at least this many debounce windows apart
+    private static final int MAX_DELAY_WINDOWS = 10;
+    // Events copied per lock hold while taking a full snapshot
+    static final int SNAPSHOT_CHUNK = 4096;
+
+    private final EventBST calendar;
+    private final CalendarPersistence persistence;
+    private final long debounceNanos;
+    private final ReentrantLock lock;
+    private final Condition edited;
+    // Serialises writes from the background thread and flush()
+    private final ReentrantLock saveLock;
+    private final Thread worker;
+
+    // Guarded by lock
+    private int pendingEdits;
+    private long firstEditNanos;
+    private long lastEditNanos;
+    private boolean needsFullSave;
+    private boolean closed;
+
+    private volatile long saves;
+    private volatile long coalescedEdits;
+    private volatile long lastSaveNanos;
+    private volatile RuntimeException lastError;
+
+    public AutosaveService(EventBST calendar, CalendarPersistence persistence, Duration debounce) {
+        this.calendar = Objects.requireNonNull(calendar, "Calendar cannot be null");
+        this.persistence = Objects.requireNonNull(persistence, "Persistence cannot be null");
+        Objects.requireNonNull(debounce, "Debounce cannot be null");
+        if (debounce.isNegative() || debounce.isZero()) {
+            throw new IllegalArgumentException("Debounce must be positive");
+        }
+        this.debounceNanos = debounce.toNanos();
+        this.lock = new ReentrantLock();
+        this.edited = lock.newCondition();
+        this.saveLock = new ReentrantLock();
+        this.worker = Thread.ofVirtual().name("calendar-autosave").start(this::run);
+    }
+
+    // Applies a change to the calendar and schedules a save. Exceptions from the change propagate;
+    // a save is still scheduled if the calendar was modified before the change threw.
+    public void edit(Runnable change) {
+        Objects.requireNonNull(change, "Change cannot be null");
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Autosave service is closed");
+            }
+            int modifications = calendar.getModificationCount();
+            try {
+                change.run();
+            } finally {
+                if (calendar.getModificationCount() != modifications) {
+                    long now = System.nanoTime();
+                    if (pendingEdits++ == 0) {
+                        firstEditNanos = now;
+                    }
+                    lastEditNanos = now;
+                    edited.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // For replacing the whole calendar with what is already on disk: nothing is left to save
+    public void reload(Runnable load) {
+        Objects.requireNonNull(load, "Load cannot be null");
+        lock.lock();
+        try {
+            load.run();
+            calendar.checkpoint();
+            pendingEdits = 0;
+            needsFullSave = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Saves pending edits on the calling thread, waiting for a background save already running
+    public void flush() {
+        saveLock.lock();
+        try {
+            save();
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    // Stops the background thread; edits still pending are left for an explicit flush()
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            edited.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPendingEdits() {
+        lock.lock();
+        try {
+            return pendingEdits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasPendingEdits() {
+        return getPendingEdits() > 0;
+    }
+
+    public long getSaveCount() {
+        return saves;
+    }
+
+    public Duration getLastSaveLatency() {
+        return Duration.ofNanos(lastSaveNanos);
+    }
+
+    // Null once a later save succeeds
+    public RuntimeException getLastError() {
+        return lastError;
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(getPendingEdits(), saves, coalescedEdits, getLastSaveLatency(), lastError != null);
+    }
+
+    private void run() {
+        while (awaitQuietPeriod()) {
+            saveLock.lock();
+            try {
+                save();
+            } catch (RuntimeException e) {
+                // Already recorded; the edits stay pending and are retried after another window
+            } finally {
+                saveLock.unlock();
+            }
+        }
+    }
+
+    // Blocks until edits are pending and the debounce window has passed since the last one.
+    // Returns false once the service is closed.
+    private boolean awaitQuietPeriod() {
+        lock.lock();
+        try {
+            while (!closed) {
+                if (pendingEdits == 0) {
+                    edited.awaitUninterruptibly();
+                    continue;
+                }
+                long now = System.nanoTime();
+                long quietAt = lastEditNanos + debounceNanos;
+                long latestAt = firstEditNanos + debounceNanos * MAX_DELAY_WINDOWS;
+                long wait = Math.min(quietAt, latestAt) - now;
+                if (wait <= 0) {
+                    return true;
+                }
+                edited.await(wait, TimeUnit.NANOSECONDS);
+            }
+            return false;
+        } catch (InterruptedException e) {
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds saveLock. Only taking the change set happens under the calendar lock; the
+    // events themselves are immutable, so writing them needs no lock.
+    private void save() {
+        ChangeSet changes;
+        int edits;
+        lock.lock();
+        try {
+            if (pendingEdits == 0 && !needsFullSave) {
+                return;
+            }
+            edits = pendingEdits;
+            changes = needsFullSave ? ChangeSet.FULL_REWRITE : calendar.getChangesSinceCheckpoint();
+            calendar.checkpoint();
+            pendingEdits = 0;
+            needsFullSave = false;
+        } finally {
+            lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        try {
+            persistence.saveChanges(changes, this::snapshot);
+        } catch (RuntimeException e) {
+            // The checkpoint already moved on, so only a full save is known to cover these edits
+            lock.lock();
+            try {
+                needsFullSave = true;
+                if (pendingEdits == 0) {
+                    firstEditNanos = System.nanoTime();
+                }
+                pendingEdits += edits;
+                lastEditNanos = System.nanoTime();
+            } finally {
+                lock.unlock();
+            }
+            lastError = e;
+            throw e;
+        }
+        lastSaveNanos = System.nanoTime() - start;
+        lastError = null;
+        saves++;
+        coalescedEdits += edits;
+    }
+
+    // Copies the calendar one chunk per lock hold, so a full save never blocks edits for the whole
+    // tree. Edits landing between chunks are recorded by a listener and replayed over the copy, which
+    // leaves the calendar exactly as it was when the last chunk was taken. A full save may include
+    // edits made after the checkpoint; the journal replays them again by id on the next save, which
+    // leaves the same result.
+    private List<Event> snapshot() {
+        List<EventChange> concurrent = new ArrayList<>();
+        EventChangeListener recorder = concurrent::add;
+        List<Event> events = new ArrayList<>();
+        lock.lock();
+        try {
+            calendar.addChangeListener(recorder);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            LocalDate from = LocalDate.MIN;
+            List<Event> chunk;
+            do {
+                lock.lock();
+                try {
+                    chunk = calendar.getAllEventsFrom(from, SNAPSHOT_CHUNK);
+                } finally {
+                    lock.unlock();
+                }
+                events.addAll(chunk);
+                if (!chunk.isEmpty()) {
+                    from = chunk.get(chunk.size() - 1).getDate().plusDays(1);
+                }
+            } while (chunk.size() >= SNAPSHOT_CHUNK);
+        } finally {
+            lock.lock();
+            try {
+                calendar.removeChangeListener(recorder);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return concurrent.isEmpty() ? events : replay(events, concurrent);
+    }
+
+    // The last change to each id decides whether and where it ends up
+    private static List<Event> replay(List<Event> events, List<EventChange> changes) {
+        // Keyed through Event.equals, which compares ids; a null value marks a delete
+        Map<Event, Event> latest = new HashMap<>();
+        boolean cleared = false;
+        for (EventChange change : changes) {
+            if (change.type() == EventChange.Type.CLEARED) {
+                cleared = true;
+                latest.clear();
+            } else {
+                latest.put(change.event(), change.type() == EventChange.Type.INSERTED ? change.event() : null);
+            }
+        }
+
+        List<Event> result = new ArrayList<>(events.size());
+        if (!cleared) {
+            for (Event event : events) {
+                if (!latest.containsKey(event)) {
+                    result.add(event);
+                }
+            }
+        }
+        for (Event event : latest.values()) {
+            if (event != null) {
+                result.add(event);
+            }
+        }
+        result.sort(null);
+        return result;
+    }
+
+    public record Statistics(
+            int pendingEdits,
+            long saves,
+            long coalescedEdits,
+            Duration lastSaveLatency,
+            boolean lastSaveFailed) {
+
+        public double editsPerSave() {
+            return saves == 0 ? 0 : (double) coalescedEdits / saves;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("╔══════════════════════════════════════════╗\n");
+            sb.append("║          AUTOSAVE                        ║\n");
+            sb.append("╠══════════════════════════════════════════╣\n");
+            sb.append(String.format("║  Pending Edits:    %-20d  ║%n", pendingEdits));
+            sb.append(String.format("║  Saves:            %-20d  ║%n", saves));
+            sb.append(String.format("║  Edits per Save:   %-20s  ║%n", String.format("%.1f", editsPerSave())));
+            sb.append(String.format("║  Last Save:        %-20s  ║%n",
+                    String.format("%.2f ms", lastSaveLatency.toNanos() / 1_000_000.0)));
+            sb.append(String.format("║  Last Save Failed: %-20s  ║%n", lastSaveFailed ? "Yes" : "No"));
+            sb.append("╚══════════════════════════════════════════╝\n");
+            return sb.toString();
+        }
+    }
+}
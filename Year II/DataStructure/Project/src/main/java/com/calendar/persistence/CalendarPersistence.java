@@ -1,26 +1,78 @@
 package com.calendar.persistence;
 
 import com.calendar.exception.PersistenceException;
+import com.calendar.metrics.CalendarMetrics;
+import com.calendar.metrics.PersistenceEvent;
 import com.calendar.model.Event;
 import com.calendar.model.EventCategory;
 import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+import com.calendar.store.ChangeSet;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class CalendarPersistence {
 
+    // Only affects how saves are written; loads detect the format from the first bytes
+    public enum Compression {
+        NONE,
+        GZIP
+    }
+
     private static final String DEFAULT_FILENAME = "calendar_events.json";
 
+    // Quoted values may contain escaped quotes; the others are plain tokens. Runs of plain characters
+    // are matched possessively so the matcher only recurses per escape, not per character
+    private static final String JSON_STRING = "([^\"\\\\]*+(?:\\\\.[^\"\\\\]*+)*+)";
+
+    private static final Pattern EVENT_PATTERN = Pattern.compile(
+            "\\{[^{}]*\"id\"\\s*:\\s*\"" + JSON_STRING + "\"[^{}]*" +
+                    "\"date\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
+                    "\"time\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
+                    "\"durationMinutes\"\\s*:\\s*(\\d+)[^{}]*" +
+                    "\"title\"\\s*:\\s*\"" + JSON_STRING + "\"[^{}]*" +
+                    "\"description\"\\s*:\\s*\"" + JSON_STRING + "\"[^{}]*" +
+                    "\"category\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
+                    "\"priority\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
+                    "\"createdAt\"\\s*:\\s*\"([^\"]*)\"" +
+                    "(?:[^{}]*?\"recurrence\"\\s*:\\s*\"([^\"]*)\")?[^{}]*\\}",
+            Pattern.DOTALL);
+
+    private static final Pattern JOURNAL_ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"" + JSON_STRING + "\"");
+    private static final String JOURNAL_DELETE = "{\"op\": \"delete\", ";
+    private static final String JOURNAL_UPSERT = "{\"op\": \"upsert\", ";
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     private final Path filePath;
+    private final Path journalPath;
+    private CalendarMetrics metrics;
+    private Compression compression = Compression.NONE;
+    // Entry counts for the compaction check, since byte sizes are not comparable once the snapshot
+    // is compressed; -1 until this instance has written or read the snapshot
+    private int snapshotEvents = -1;
+    private int journalEntries;
+    private StringPool.PoolStatistics lastLoadStatistics = new StringPool.PoolStatistics(0, 0, 0, 0);
 
     public CalendarPersistence() {
         this(Path.of(System.getProperty("user.home"), ".calendar", DEFAULT_FILENAME));
@@ -28,6 +80,7 @@ public class CalendarPersistence {
 
     public CalendarPersistence(Path filePath) {
         this.filePath = filePath;
+        this.journalPath = filePath.resolveSibling(filePath.getFileName() + ".journal");
     }
 
     public void saveEvents(List<Event> events) {
@@ -37,8 +90,28 @@ public class CalendarPersistence {
                 Files.createDirectories(parent);
             }
 
-            String json = eventsToJson(events);
-            Files.writeString(filePath, json);
+            PersistenceEvent trace = PersistenceEvent.start();
+            long start = metrics != null ? System.nanoTime() : 0L;
+            // Written beside the snapshot and swapped in whole, so a crash mid-write leaves the old
+            // snapshot and its journal as they were
+            Path temp = Files.createTempFile(filePath.toAbsolutePath().getParent(),
+                    filePath.getFileName().toString(), ".tmp");
+            try {
+                try (Writer out = openWriter(temp)) {
+                    writeJson(out, events);
+                }
+                Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            // The snapshot now includes everything the journal recorded
+            Files.deleteIfExists(journalPath);
+            snapshotEvents = events.size();
+            journalEntries = 0;
+            trace.finish("SAVE", filePath, events.size());
+            if (metrics != null) {
+                metrics.record(CalendarMetrics.Operation.SAVE, System.nanoTime() - start, 0, Files.size(filePath));
+            }
         } catch (IOException e) {
             throw new PersistenceException("Failed to save events", filePath.toString(), e);
         }
@@ -50,17 +123,151 @@ public class CalendarPersistence {
         }
 
         try {
-            String json = Files.readString(filePath);
-            return eventsFromJson(json);
+            PersistenceEvent trace = PersistenceEvent.start();
+            long start = metrics != null ? System.nanoTime() : 0L;
+            List<Event> events = readEvents();
+            snapshotEvents = events.size();
+            journalEntries = 0;
+            if (Files.exists(journalPath)) {
+                events = replayJournal(events);
+            }
+            trace.finish("LOAD", filePath, events.size());
+            if (metrics != null) {
+                metrics.record(CalendarMetrics.Operation.LOAD, System.nanoTime() - start, 0, Files.size(filePath));
+            }
+            return events;
         } catch (IOException e) {
             throw new PersistenceException("Failed to load events", filePath.toString(), e);
         }
     }
 
+    // Appends the delta to the journal next to the snapshot instead of rewriting it; loadEvents
+    // replays the journal and the next saveEvents folds it back in
+    public void appendChanges(ChangeSet changes) {
+        if (changes.fullRewrite()) {
+            throw new IllegalArgumentException("Changes since an unknown state need a full save");
+        }
+        if (!Files.exists(filePath)) {
+            throw new IllegalStateException("No snapshot to append changes to: " + filePath);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (String id : changes.deletedIds()) {
+            sb.append(JOURNAL_DELETE).append("\"id\": \"").append(escapeJson(id)).append("\"}\n");
+        }
+        for (Event event : changes.upserts()) {
+            sb.append(JOURNAL_UPSERT);
+            appendEventFields(sb, event, ", ");
+            sb.append("}\n");
+        }
+
+        try {
+            PersistenceEvent trace = PersistenceEvent.start();
+            long start = metrics != null ? System.nanoTime() : 0L;
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            Files.write(journalPath, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            journalEntries += changes.size();
+            trace.finish("APPEND", journalPath, changes.size());
+            if (metrics != null) {
+                metrics.record(CalendarMetrics.Operation.APPEND, System.nanoTime() - start, 0, bytes.length);
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to append changes", journalPath.toString(), e);
+        }
+    }
+
+    // Journals the delta when it is known and the journal holds fewer entries than half the
+    // snapshot's events; otherwise writes a fresh snapshot. Returns true if the save was incremental.
+    public boolean saveChanges(ChangeSet changes, Supplier<List<Event>> allEvents) {
+        if (changes.fullRewrite() || !Files.exists(filePath) || journalNeedsCompaction()) {
+            saveEvents(allEvents.get());
+            return false;
+        }
+        appendChanges(changes);
+        return true;
+    }
+
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    // A journal next to a snapshot this instance has not counted is folded in once, which
+    // establishes the counts
+    private boolean journalNeedsCompaction() {
+        if (!Files.exists(journalPath)) {
+            return false;
+        }
+        return snapshotEvents < 0 || (long) journalEntries * 2 > snapshotEvents;
+    }
+
+    private List<Event> replayJournal(List<Event> snapshot) throws IOException {
+        Map<String, Event> byId = new LinkedHashMap<>(snapshot.size() * 2);
+        for (Event event : snapshot) {
+            byId.put(event.getId(), event);
+        }
+
+        StringPool pool = new StringPool();
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            if (line.startsWith(JOURNAL_DELETE) || line.startsWith(JOURNAL_UPSERT)) {
+                journalEntries++;
+            }
+            if (line.startsWith(JOURNAL_DELETE)) {
+                Matcher matcher = JOURNAL_ID_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    byId.remove(unescapeJson(line, matcher.start(1), matcher.end(1), null));
+                }
+            } else if (line.startsWith(JOURNAL_UPSERT)) {
+                Matcher matcher = EVENT_PATTERN.matcher(line);
+                try {
+                    if (matcher.find()) {
+                        Event event = parseEvent(line, matcher, pool);
+                        byId.put(event.getId(), event);
+                    }
+                } catch (Exception e) {
+                    // A torn final line from an interrupted append is skipped like any malformed event
+                    System.err.println("Warning: Skipping malformed journal entry: " + e.getMessage());
+                }
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
     public boolean hasExistingData() {
         return Files.exists(filePath);
     }
 
+    public void setCompression(Compression compression) {
+        this.compression = Objects.requireNonNull(compression, "Compression cannot be null");
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public boolean isCompressed() {
+        try (InputStream in = Files.newInputStream(filePath)) {
+            return in.read() == GZIP_MAGIC_FIRST && in.read() == GZIP_MAGIC_SECOND;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public void setMetrics(CalendarMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public CalendarMetrics getMetrics() {
+        return metrics;
+    }
+
+    // How much the most recent load saved by sharing repeated titles and descriptions
+    public StringPool.PoolStatistics getLastLoadStatistics() {
+        return lastLoadStatistics;
+    }
+
     public Path getFilePath() {
         return filePath;
     }
@@ -68,82 +275,145 @@ public class CalendarPersistence {
     public void deleteData() {
         try {
             Files.deleteIfExists(filePath);
+            Files.deleteIfExists(journalPath);
+            snapshotEvents = -1;
+            journalEntries = 0;
         } catch (IOException e) {
             throw new PersistenceException("Failed to delete data", filePath.toString(), e);
         }
     }
 
-    private String eventsToJson(List<Event> events) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{\n");
-        sb.append("  \"version\": \"2.0\",\n");
-        sb.append("  \"exportedAt\": \"").append(LocalDateTime.now()).append("\",\n");
-        sb.append("  \"events\": [\n");
+    // Both formats are streamed, so a save never holds the whole document in memory
+    private Writer openWriter(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (compression == Compression.GZIP) {
+            out = new GZIPOutputStream(out, STREAM_BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), STREAM_BUFFER_SIZE);
+    }
 
+    private Reader openReader() throws IOException {
+        InputStream in = Files.newInputStream(filePath);
+        if (isCompressed()) {
+            in = new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    private void writeJson(Writer out, List<Event> events) throws IOException {
+        out.write("{\n");
+        out.write("  \"version\": \"2.0\",\n");
+        out.write("  \"exportedAt\": \"" + LocalDateTime.now() + "\",\n");
+        out.write("  \"events\": [\n");
+
+        StringBuilder sb = new StringBuilder(256);
         for (int i = 0; i < events.size(); i++) {
-            Event e = events.get(i);
-            sb.append("    {\n");
-            sb.append("      \"id\": \"").append(escapeJson(e.getId())).append("\",\n");
-            sb.append("      \"date\": \"").append(e.getDate()).append("\",\n");
-            sb.append("      \"time\": \"").append(e.getTime()).append("\",\n");
-            sb.append("      \"durationMinutes\": ").append(e.getDuration().toMinutes()).append(",\n");
-            sb.append("      \"title\": \"").append(escapeJson(e.getTitle())).append("\",\n");
-            sb.append("      \"description\": \"").append(escapeJson(e.getDescription())).append("\",\n");
-            sb.append("      \"category\": \"").append(e.getCategory().name()).append("\",\n");
-            sb.append("      \"priority\": \"").append(e.getPriority().name()).append("\",\n");
-            sb.append("      \"createdAt\": \"").append(e.getCreatedAt()).append("\"\n");
+            sb.setLength(0);
+            sb.append("    {\n      ");
+            appendEventFields(sb, events.get(i), ",\n      ");
+            sb.append("\n");
             sb.append("    }");
             if (i < events.size() - 1) {
                 sb.append(",");
             }
             sb.append("\n");
+            out.append(sb);
         }
 
-        sb.append("  ]\n");
-        sb.append("}\n");
-        return sb.toString();
+        out.write("  ]\n");
+        out.write("}\n");
     }
 
-    private List<Event> eventsFromJson(String json) {
+    private void appendEventFields(StringBuilder sb, Event e, String separator) {
+        sb.append("\"id\": \"").append(escapeJson(e.getId())).append('"').append(separator);
+        sb.append("\"date\": \"").append(e.getDate()).append('"').append(separator);
+        sb.append("\"time\": \"").append(e.getTime()).append('"').append(separator);
+        sb.append("\"durationMinutes\": ").append(e.getDuration().toMinutes()).append(separator);
+        sb.append("\"title\": \"").append(escapeJson(e.getTitle())).append('"').append(separator);
+        sb.append("\"description\": \"").append(escapeJson(e.getDescription())).append('"').append(separator);
+        sb.append("\"category\": \"").append(e.getCategory().name()).append('"').append(separator);
+        sb.append("\"priority\": \"").append(e.getPriority().name()).append('"').append(separator);
+        sb.append("\"createdAt\": \"").append(e.getCreatedAt()).append('"');
+        if (e.isRecurring()) {
+            sb.append(separator).append("\"recurrence\": \"").append(e.getRecurrence()).append('"');
+        }
+    }
+
+    // Streams the snapshot, plain or gzipped, and parses each event object as soon as it closes,
+    // so only one event's text is held however large the file is
+    private List<Event> readEvents() throws IOException {
         List<Event> events = new ArrayList<>();
+        StringPool pool = new StringPool();
+        StringBuilder object = new StringBuilder(512);
+        boolean inObject = false;
+        boolean inString = false;
+        boolean escaped = false;
 
-        Pattern eventPattern = Pattern.compile(
-                "\\{[^{}]*\"id\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
-                        "\"date\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
-                        "\"time\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
-                        "\"durationMinutes\"\\s*:\\s*(\\d+)[^{}]*" +
-                        "\"title\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
-                        "\"description\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
-                        "\"category\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
-                        "\"priority\"\\s*:\\s*\"([^\"]*)\"[^{}]*" +
-                        "\"createdAt\"\\s*:\\s*\"([^\"]*)\"[^{}]*\\}",
-                Pattern.DOTALL);
-
-        Matcher matcher = eventPattern.matcher(json);
-
-        while (matcher.find()) {
-            try {
-                Event event = Event.builder()
-                        .id(unescapeJson(matcher.group(1)))
-                        .date(LocalDate.parse(matcher.group(2)))
-                        .time(LocalTime.parse(matcher.group(3)))
-                        .durationMinutes(Integer.parseInt(matcher.group(4)))
-                        .title(unescapeJson(matcher.group(5)))
-                        .description(unescapeJson(matcher.group(6)))
-                        .category(EventCategory.valueOf(matcher.group(7)))
-                        .priority(EventPriority.valueOf(matcher.group(8)))
-                        .createdAt(LocalDateTime.parse(matcher.group(9)))
-                        .build();
-                events.add(event);
-            } catch (Exception e) {
-                // Skip malformed events
-                System.err.println("Warning: Skipping malformed event: " + e.getMessage());
+        try (Reader in = openReader()) {
+            char[] buffer = new char[STREAM_BUFFER_SIZE / 2];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    char c = buffer[i];
+                    if (inString) {
+                        if (escaped) {
+                            escaped = false;
+                        } else if (c == '\\') {
+                            escaped = true;
+                        } else if (c == '"') {
+                            inString = false;
+                        }
+                    } else if (c == '"') {
+                        inString = true;
+                    } else if (c == '{') {
+                        // Events hold no nested objects, so the innermost open brace starts one
+                        object.setLength(0);
+                        inObject = true;
+                    } else if (c == '}' && inObject) {
+                        object.append(c);
+                        inObject = false;
+                        parseObject(object, events, pool);
+                        continue;
+                    }
+                    if (inObject) {
+                        object.append(c);
+                    }
+                }
             }
         }
 
+        lastLoadStatistics = pool.getStatistics();
         return events;
     }
 
+    private void parseObject(CharSequence object, List<Event> events, StringPool pool) {
+        Matcher matcher = EVENT_PATTERN.matcher(object);
+        if (!matcher.find()) {
+            return;
+        }
+        try {
+            events.add(parseEvent(object, matcher, pool));
+        } catch (Exception e) {
+            // Skip malformed events
+            System.err.println("Warning: Skipping malformed event: " + e.getMessage());
+        }
+    }
+
+    private Event parseEvent(CharSequence json, Matcher matcher, StringPool pool) {
+        return Event.builder()
+                .id(unescapeJson(json, matcher.start(1), matcher.end(1), null))
+                .date(LocalDate.parse(matcher.group(2)))
+                .time(LocalTime.parse(matcher.group(3)))
+                .durationMinutes(Integer.parseInt(matcher.group(4)))
+                .title(unescapeJson(json, matcher.start(5), matcher.end(5), pool))
+                .description(unescapeJson(json, matcher.start(6), matcher.end(6), pool))
+                .category(EventCategory.valueOf(matcher.group(7)))
+                .priority(EventPriority.valueOf(matcher.group(8)))
+                .createdAt(LocalDateTime.parse(matcher.group(9)))
+                .recurrence(matcher.group(10) != null ? RecurrenceRule.parse(matcher.group(10)) : null)
+                .build();
+    }
+
     private String escapeJson(String text) {
         if (text == null)
             return "";
@@ -155,14 +425,36 @@ public class CalendarPersistence {
                 .replace("\t", "\\t");
     }
 
-    private String unescapeJson(String text) {
-        if (text == null)
-            return "";
-        return text
-                .replace("\\\"", "\"")
-                .replace("\\n", "\n")
-                .replace("\\r", "\r")
-                .replace("\\t", "\t")
-                .replace("\\\\", "\\");
+    // Single pass over the quoted value; values without a backslash are interned straight from the source
+    private String unescapeJson(CharSequence json, int start, int end, StringPool pool) {
+        if (!containsBackslash(json, start, end)) {
+            return pool != null ? pool.intern(json, start, end) : json.subSequence(start, end).toString();
+        }
+
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c != '\\' || i + 1 == end) {
+                sb.append(c);
+                continue;
+            }
+            char escaped = json.charAt(++i);
+            switch (escaped) {
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                default -> sb.append(escaped);
+            }
+        }
+        return pool != null ? pool.intern(sb, 0, sb.length()) : sb.toString();
+    }
+
+    private static boolean containsBackslash(CharSequence json, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (json.charAt(i) == '\\') {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,493 @@
+package com.calendar.persistence;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceFrequency;
+import com.calendar.model.RecurrenceRule;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Reads an RFC 5545 file one unfolded content line at a time and hands out one Event per VEVENT,
+// so reading holds no more than the current event however big the file is. Other components
+// (VTIMEZONE, VTODO, alarms inside events) are skipped. Events this model cannot represent, such as
+// yearly rules or multi-day BYDAY rules, are skipped with a warning and counted. An instance that
+// overrides one occurrence of a series (RECURRENCE-ID) becomes a one-off event with its own id,
+// and its date an exception of the series; a cancelled instance is only the exception.
+public class ICalendarReader implements Closeable {
+
+    static final int IMPORT_BATCH = 65_536;
+
+    private final Path file;
+    private final BufferedReader in;
+    // The physical line after the current content line, read ahead to detect folding
+    private String lookahead;
+    private int skipped;
+    private long lineNumber;
+    // Series UID -> dates replaced or cancelled by RECURRENCE-ID instances read so far
+    private final Map<String, Set<LocalDate>> overrides = new HashMap<>();
+
+    public ICalendarReader(Path file) {
+        this.file = Objects.requireNonNull(file, "File cannot be null");
+        try {
+            this.in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            this.lookahead = in.readLine();
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to open calendar import", file.toString(), e);
+        }
+    }
+
+    // Reads the whole file into the calendar through its bulk-load path and returns how many
+    // events the calendar gained. Events go in batches of IMPORT_BATCH, so the import holds at most
+    // one batch besides the calendar itself, while each merge still rebuilds the tree balanced. An
+    // event whose UID is already in the calendar replaces it rather than counting as new, so
+    // re-importing an edited file moves events rather than duplicating them.
+    public static int importInto(Path file, EventBST calendar) {
+        return importInto(file, calendar, IMPORT_BATCH);
+    }
+
+    static int importInto(Path file, EventBST calendar, int batchSize) {
+        Objects.requireNonNull(calendar, "Calendar cannot be null");
+        try (ICalendarReader reader = new ICalendarReader(file)) {
+            int sizeBefore = calendar.getSize();
+            List<Event> batch = new ArrayList<>(Math.min(batchSize, 1024));
+            List<Event> series = new ArrayList<>();
+            Event event;
+            while ((event = reader.next()) != null) {
+                batch.add(event);
+                if (event.isRecurring()) {
+                    series.add(event);
+                }
+                if (batch.size() == batchSize) {
+                    calendar.bulkLoad(batch);
+                    batch.clear();
+                }
+            }
+            calendar.bulkLoad(batch);
+
+            // Overrides that came after their series in the file have to be added to it afterwards
+            List<Event> patched = new ArrayList<>();
+            for (Event master : series) {
+                Set<LocalDate> dates = reader.overrides.getOrDefault(master.getId(), Set.of());
+                if (!master.getRecurrence().exceptions().containsAll(dates)) {
+                    patched.add(withExceptions(master, dates));
+                }
+            }
+            calendar.bulkLoad(patched);
+            return calendar.getSize() - sizeBefore;
+        }
+    }
+
+    // Returns null once the file has no more events
+    public Event next() {
+        try {
+            Map<String, Property> properties = null;
+            List<Property> exceptionDates = new ArrayList<>();
+            int nestedDepth = 0;
+
+            String contentLine;
+            while ((contentLine = nextContentLine()) != null) {
+                Property property = Property.parse(contentLine);
+                if (property == null) {
+                    continue;
+                }
+                if (properties == null) {
+                    if (property.name.equals("BEGIN") && property.value.equalsIgnoreCase("VEVENT")) {
+                        properties = new HashMap<>();
+                    }
+                    continue;
+                }
+
+                if (property.name.equals("BEGIN")) {
+                    nestedDepth++;
+                } else if (property.name.equals("END")) {
+                    if (nestedDepth > 0) {
+                        nestedDepth--;
+                    } else {
+                        try {
+                            Event event = toEvent(properties, exceptionDates);
+                            if (event != null) {
+                                return event;
+                            }
+                        } catch (IllegalArgumentException | DateTimeException e) {
+                            skipped++;
+                            System.err.println("Warning: Skipping event before line " + lineNumber
+                                    + ": " + e.getMessage());
+                        }
+                        properties = null;
+                        exceptionDates.clear();
+                    }
+                } else if (nestedDepth == 0) {
+                    if (property.name.equals("EXDATE")) {
+                        exceptionDates.add(property);
+                    } else {
+                        properties.putIfAbsent(property.name, property);
+                    }
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to read calendar import", file.toString(), e);
+        }
+    }
+
+    // Lazy and single pass; the stream reads from this reader as it is consumed
+    public Stream<Event> events() {
+        Iterator<Event> iterator = new Iterator<>() {
+            private Event pending;
+
+            @Override
+            public boolean hasNext() {
+                if (pending == null) {
+                    pending = ICalendarReader.this.next();
+                }
+                return pending != null;
+            }
+
+            @Override
+            public Event next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Event event = pending;
+                pending = null;
+                return event;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    public int getSkippedCount() {
+        return skipped;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to close calendar import", file.toString(), e);
+        }
+    }
+
+    // Joins folded continuation lines (those starting with a space or tab) back onto their line
+    private String nextContentLine() throws IOException {
+        if (lookahead == null) {
+            return null;
+        }
+        String current = lookahead;
+        lineNumber++;
+        lookahead = in.readLine();
+        if (lookahead == null || !isContinuation(lookahead)) {
+            return current;
+        }
+
+        StringBuilder unfolded = new StringBuilder(current);
+        while (lookahead != null && isContinuation(lookahead)) {
+            unfolded.append(lookahead, 1, lookahead.length());
+            lineNumber++;
+            lookahead = in.readLine();
+        }
+        return unfolded.toString();
+    }
+
+    private static boolean isContinuation(String line) {
+        return !line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t');
+    }
+
+    // Null for a cancelled occurrence, which only adds an exception to its series
+    private Event toEvent(Map<String, Property> properties, List<Property> exceptionDates) {
+        Property start = properties.get("DTSTART");
+        if (start == null) {
+            throw new IllegalArgumentException("VEVENT has no DTSTART");
+        }
+        boolean allDay = start.isDate();
+        LocalDateTime startsAt = start.toLocalDateTime();
+
+        Event.Builder builder = Event.builder()
+                .date(startsAt.toLocalDate())
+                .time(startsAt.toLocalTime());
+
+        Property uid = properties.get("UID");
+        String id = uid != null && !uid.value.isEmpty() ? unescapeText(uid.value) : null;
+        Property recurrenceId = properties.get("RECURRENCE-ID");
+        if (id != null && recurrenceId != null) {
+            LocalDate replaced = recurrenceId.toLocalDateTime().toLocalDate();
+            overrides.computeIfAbsent(id, k -> new TreeSet<>()).add(replaced);
+            Property status = properties.get("STATUS");
+            if (status != null && status.value.trim().equalsIgnoreCase("CANCELLED")) {
+                return null;
+            }
+            // Same form as the ids EventBST gives expanded occurrences
+            builder.id(id + "/" + replaced);
+        } else if (id != null) {
+            builder.id(id);
+        }
+        Property summary = properties.get("SUMMARY");
+        builder.title(summary != null ? unescapeText(summary.value) : null);
+        Property description = properties.get("DESCRIPTION");
+        if (description != null) {
+            builder.description(unescapeText(description.value));
+        }
+
+        Duration duration = duration(properties, startsAt, allDay);
+        if (duration != null) {
+            builder.duration(duration);
+        }
+        builder.category(category(properties));
+        builder.priority(priority(properties));
+
+        Property created = properties.getOrDefault("CREATED", properties.get("DTSTAMP"));
+        if (created != null) {
+            builder.createdAt(created.toLocalDateTime());
+        }
+
+        Property rrule = properties.get("RRULE");
+        if (rrule != null && recurrenceId == null) {
+            RecurrenceRule rule = recurrence(rrule.value, startsAt.toLocalDate(), exceptionDates);
+            Set<LocalDate> replaced = id != null ? overrides.get(id) : null;
+            builder.recurrence(replaced != null ? withExceptions(rule, replaced) : rule);
+        }
+        return builder.build();
+    }
+
+    private static RecurrenceRule withExceptions(RecurrenceRule rule, Set<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            rule = rule.withException(date);
+        }
+        return rule;
+    }
+
+    private static Event withExceptions(Event series, Set<LocalDate> dates) {
+        return series.toBuilder().recurrence(withExceptions(series.getRecurrence(), dates)).build();
+    }
+
+    private static Duration duration(Map<String, Property> properties, LocalDateTime startsAt, boolean allDay) {
+        Property duration = properties.get("DURATION");
+        if (duration != null) {
+            return parseDuration(duration.value);
+        }
+        Property end = properties.get("DTEND");
+        if (end != null) {
+            return Duration.between(startsAt, end.toLocalDateTime());
+        }
+        // Without either, an all-day event lasts the day; a timed one keeps the model's default
+        return allDay ? Duration.ofDays(1) : null;
+    }
+
+    // Duration.parse understands everything RFC 5545 allows except the week form
+    static Duration parseDuration(String value) {
+        String text = value.startsWith("+") ? value.substring(1) : value;
+        if (text.endsWith("W")) {
+            int weeksAt = text.indexOf('P') + 1;
+            Duration weeks = Duration.ofDays(7L * Integer.parseInt(text.substring(weeksAt, text.length() - 1)));
+            return text.startsWith("-") ? weeks.negated() : weeks;
+        }
+        return Duration.parse(text);
+    }
+
+    private static EventCategory category(Map<String, Property> properties) {
+        Property own = properties.get(ICalendarWriter.CATEGORY_PROPERTY);
+        if (own != null) {
+            return EventCategory.valueOf(own.value.trim().toUpperCase(Locale.ROOT));
+        }
+        Property categories = properties.get("CATEGORIES");
+        if (categories != null) {
+            for (String name : categories.value.split("(?<!\\\\),")) {
+                String candidate = unescapeText(name).trim();
+                for (EventCategory category : EventCategory.values()) {
+                    if (category.name().equalsIgnoreCase(candidate)
+                            || category.getDisplayName().equalsIgnoreCase(candidate)) {
+                        return category;
+                    }
+                }
+            }
+        }
+        return EventCategory.OTHER;
+    }
+
+    private static EventPriority priority(Map<String, Property> properties) {
+        Property own = properties.get(ICalendarWriter.PRIORITY_PROPERTY);
+        if (own != null) {
+            return EventPriority.valueOf(own.value.trim().toUpperCase(Locale.ROOT));
+        }
+        Property standard = properties.get("PRIORITY");
+        int level = standard != null ? Integer.parseInt(standard.value.trim()) : 0;
+        if (level == 1) {
+            return EventPriority.URGENT;
+        } else if (level >= 2 && level <= 4) {
+            return EventPriority.HIGH;
+        } else if (level >= 6 && level <= 9) {
+            return EventPriority.LOW;
+        }
+        return EventPriority.MEDIUM;
+    }
+
+    private static RecurrenceRule recurrence(String value, LocalDate seriesStart, List<Property> exceptionDates) {
+        RecurrenceFrequency frequency = null;
+        int interval = 1;
+        int count = 0;
+        LocalDate until = null;
+
+        for (String part : value.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed RRULE: " + value);
+            }
+            String name = part.substring(0, separator).toUpperCase(Locale.ROOT);
+            String partValue = part.substring(separator + 1);
+            switch (name) {
+                case "FREQ" -> {
+                    try {
+                        frequency = RecurrenceFrequency.valueOf(partValue.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unsupported RRULE frequency: " + partValue);
+                    }
+                }
+                case "INTERVAL" -> interval = Integer.parseInt(partValue);
+                case "COUNT" -> count = Integer.parseInt(partValue);
+                case "UNTIL" -> until = new Property("UNTIL", Map.of(), partValue).toLocalDateTime().toLocalDate();
+                case "WKST" -> { }
+                // A by-rule that only restates the start date adds nothing; anything else would
+                // produce dates this model cannot express
+                case "BYDAY" -> requireSingle(partValue, seriesStart.getDayOfWeek().name().substring(0, 2), value);
+                case "BYMONTHDAY" -> requireSingle(partValue, String.valueOf(seriesStart.getDayOfMonth()), value);
+                default -> throw new IllegalArgumentException("Unsupported RRULE part: " + part);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("RRULE is missing FREQ: " + value);
+        }
+
+        TreeSet<LocalDate> exceptions = new TreeSet<>();
+        for (Property exdate : exceptionDates) {
+            for (String date : exdate.value.split(",")) {
+                exceptions.add(new Property("EXDATE", exdate.parameters, date).toLocalDateTime().toLocalDate());
+            }
+        }
+        return new RecurrenceRule(frequency, interval, count, until, exceptions);
+    }
+
+    private static void requireSingle(String actual, String expected, String rule) {
+        if (!actual.equalsIgnoreCase(expected)) {
+            throw new IllegalArgumentException("Unsupported RRULE: " + rule);
+        }
+    }
+
+    static String unescapeText(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i + 1 == text.length()) {
+                sb.append(c);
+                continue;
+            }
+            char escaped = text.charAt(++i);
+            sb.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+        }
+        return sb.toString();
+    }
+
+    // One content line: NAME;PARAM=value;...:VALUE. Colons and semicolons inside quoted
+    // parameter values do not end the name part.
+    private record Property(String name, Map<String, String> parameters, String value) {
+
+        static Property parse(String line) {
+            int valueAt = -1;
+            boolean quoted = false;
+            List<Integer> separators = new ArrayList<>();
+            for (int i = 0; i < line.length() && valueAt < 0; i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted && c == ';') {
+                    separators.add(i);
+                } else if (!quoted && c == ':') {
+                    valueAt = i;
+                }
+            }
+            if (valueAt < 0) {
+                return null;
+            }
+
+            int nameEnd = separators.isEmpty() ? valueAt : separators.get(0);
+            Map<String, String> parameters = new HashMap<>();
+            for (int i = 0; i < separators.size(); i++) {
+                int end = i + 1 < separators.size() ? separators.get(i + 1) : valueAt;
+                String parameter = line.substring(separators.get(i) + 1, end);
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(parameter.substring(0, equals).toUpperCase(Locale.ROOT),
+                            parameter.substring(equals + 1).replace("\"", ""));
+                }
+            }
+            return new Property(line.substring(0, nameEnd).toUpperCase(Locale.ROOT), parameters,
+                    line.substring(valueAt + 1));
+        }
+
+        boolean isDate() {
+            return "DATE".equalsIgnoreCase(parameters.get("VALUE")) || value.trim().length() == 8;
+        }
+
+        // Floating times are taken as they are; UTC and TZID times are moved to the local zone
+        LocalDateTime toLocalDateTime() {
+            String text = value.trim();
+            if (isDate()) {
+                return LocalDate.parse(text, ICalendarWriter.DATE).atStartOfDay();
+            }
+            if (text.endsWith("Z")) {
+                return LocalDateTime.parse(text.substring(0, text.length() - 1), ICalendarWriter.DATE_TIME)
+                        .atOffset(ZoneOffset.UTC)
+                        .atZoneSameInstant(ZoneId.systemDefault())
+                        .toLocalDateTime();
+            }
+            LocalDateTime local = LocalDateTime.parse(text, ICalendarWriter.DATE_TIME);
+            String zone = parameters.get("TZID");
+            if (zone == null) {
+                return local;
+            }
+            try {
+                return local.atZone(ZoneId.of(zone)).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (DateTimeException e) {
+                // Zone names outside the tz database (e.g. Windows names) are read as floating
+                return local;
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.calendar.persistence;
+
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.RecurrenceRule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+// Streams events out as an RFC 5545 VCALENDAR, one VEVENT at a time, so exporting never holds more
+// than the current event in memory. Start times are written as floating local times, matching how
+// events are stored. Category and priority go into X- properties for an exact round trip, and into
+// CATEGORIES and PRIORITY as well so other tools can show them.
+public class ICalendarWriter implements Closeable {
+
+    static final String CATEGORY_PROPERTY = "X-CALENDAR-CATEGORY";
+    static final String PRIORITY_PROPERTY = "X-CALENDAR-PRIORITY";
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final String CRLF = "\r\n";
+
+    private final Path file;
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(128);
+    private int eventCount;
+
+    public ICalendarWriter(Path file) {
+        this.file = Objects.requireNonNull(file, "File cannot be null");
+        try {
+            Path parent = file.getParent();
+            if (parent != null && !Files.exists(parent)) {
+                Files.createDirectories(parent);
+            }
+            this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writeLine("BEGIN:VCALENDAR");
+            writeLine("VERSION:2.0");
+            writeLine("PRODID:-//Personal Calendar//BST 2.0//EN");
+            writeLine("CALSCALE:GREGORIAN");
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to open calendar export", file.toString(), e);
+        }
+    }
+
+    // Writes the whole calendar and returns the number of events written
+    public static int export(Path file, Iterable<Event> events) {
+        Objects.requireNonNull(events, "Events cannot be null");
+        try (ICalendarWriter writer = new ICalendarWriter(file)) {
+            for (Event event : events) {
+                writer.write(event);
+            }
+            return writer.getEventCount();
+        }
+    }
+
+    public void write(Event event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+        try {
+            writeLine("BEGIN:VEVENT");
+            writeProperty("UID", escapeText(event.getId()));
+            writeProperty("DTSTAMP", toUtc(event.getCreatedAt()));
+            writeProperty("CREATED", toUtc(event.getCreatedAt()));
+            writeProperty("DTSTART", DATE_TIME.format(event.getDate().atTime(event.getTime())));
+            writeProperty("DURATION", event.getDuration().toString());
+            writeProperty("SUMMARY", escapeText(event.getTitle()));
+            if (event.getDescription() != null && !event.getDescription().isEmpty()) {
+                writeProperty("DESCRIPTION", escapeText(event.getDescription()));
+            }
+            writeProperty("CATEGORIES", escapeText(event.getCategory().getDisplayName()));
+            writeProperty("PRIORITY", String.valueOf(standardPriority(event)));
+            writeProperty(CATEGORY_PROPERTY, event.getCategory().name());
+            writeProperty(PRIORITY_PROPERTY, event.getPriority().name());
+            if (event.isRecurring()) {
+                writeRecurrence(event);
+            }
+            writeLine("END:VEVENT");
+            eventCount++;
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to write event", file.toString(), e);
+        }
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        try (out) {
+            writeLine("END:VCALENDAR");
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to finish calendar export", file.toString(), e);
+        }
+    }
+
+    private void writeRecurrence(Event event) throws IOException {
+        RecurrenceRule rule = event.getRecurrence();
+        StringBuilder rrule = new StringBuilder();
+        rrule.append("FREQ=").append(rule.frequency().name());
+        rrule.append(";INTERVAL=").append(rule.interval());
+        if (rule.count() > 0) {
+            rrule.append(";COUNT=").append(rule.count());
+        }
+        if (rule.until() != null) {
+            rrule.append(";UNTIL=").append(DATE.format(rule.until()));
+        }
+        writeProperty("RRULE", rrule.toString());
+
+        for (LocalDate exception : rule.exceptions()) {
+            writeProperty("EXDATE", DATE_TIME.format(exception.atTime(event.getTime())));
+        }
+    }
+
+    private void writeProperty(String name, String value) throws IOException {
+        line.setLength(0);
+        line.append(name).append(':').append(value);
+        writeFolded(line);
+    }
+
+    private void writeLine(String text) throws IOException {
+        out.write(text);
+        out.write(CRLF);
+    }
+
+    // Content lines longer than 75 octets continue on lines starting with a space; a fold never
+    // splits a multi-byte character
+    private void writeFolded(CharSequence text) throws IOException {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        int segmentStart = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.codePointAt(text, i);
+            int width = utf8Length(codePoint);
+            if (octets + width > limit) {
+                out.append(text, segmentStart, i);
+                out.write(CRLF);
+                out.write(' ');
+                segmentStart = i;
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1;
+            }
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append(text, segmentStart, text.length());
+        out.write(CRLF);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    static String escapeText(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case ';' -> sb.append("\\;");
+                case ',' -> sb.append("\\,");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> { }
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // RFC 5545 runs from 1 (highest) to 9 (lowest)
+    private static int standardPriority(Event event) {
+        return switch (event.getPriority()) {
+            case URGENT -> 1;
+            case HIGH -> 3;
+            case MEDIUM -> 5;
+            case LOW -> 9;
+        };
+    }
+
+    private static String toUtc(LocalDateTime local) {
+        LocalDateTime utc = local.truncatedTo(ChronoUnit.SECONDS)
+                .atZone(ZoneId.systemDefault())
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime();
+        return DATE_TIME.format(utc) + "Z";
+    }
+}
@@ -0,0 +1,327 @@
+package com.calendar.persistence;
+
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.exception.PersistenceException;
+import com.calendar.metrics.CalendarMetrics;
+import com.calendar.model.Event;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Stores the calendar as one JSON file per year (or month) plus a manifest, so a session only
+// parses the partitions it asks for. Recurring series live in their own partition that is always
+// loaded, since their occurrences reach into later partitions.
+public class PartitionedPersistence {
+
+    public enum Scheme {
+        YEAR,
+        MONTH;
+
+        String keyOf(LocalDate date) {
+            return this == YEAR ? String.valueOf(date.getYear()) : YearMonth.from(date).toString();
+        }
+
+        LocalDate firstDay(String key) {
+            return this == YEAR ? LocalDate.of(Integer.parseInt(key), 1, 1) : YearMonth.parse(key).atDay(1);
+        }
+
+        LocalDate lastDay(String key) {
+            return this == YEAR ? LocalDate.of(Integer.parseInt(key), 12, 31) : YearMonth.parse(key).atEndOfMonth();
+        }
+    }
+
+    static final String MANIFEST_FILENAME = "manifest.json";
+    static final String RECURRING_KEY = "recurring";
+
+    private static final Pattern SCHEME_PATTERN = Pattern.compile("\"scheme\"\\s*:\\s*\"([A-Z]+)\"");
+    private static final Pattern PARTITION_PATTERN = Pattern.compile(
+            "\\{\\s*\"key\"\\s*:\\s*\"([^\"]+)\"\\s*,\\s*\"file\"\\s*:\\s*\"([^\"]+)\"\\s*,\\s*\"events\"\\s*:\\s*(\\d+)\\s*\\}");
+
+    private final Path directory;
+    private final Scheme scheme;
+    // Partition key -> event count, as recorded in the manifest
+    private final TreeMap<String, Integer> partitions;
+    // Fingerprint of each partition's contents as last loaded or saved
+    private final Map<String, Long> loaded;
+    // Ids of the events this instance has written into partitions it never loaded; the calendar
+    // holds those events, so dropping one from the calendar removes it from the partition too
+    private final Map<String, Set<String>> merged;
+    private CalendarMetrics metrics;
+
+    public PartitionedPersistence(Path directory) {
+        this(directory, Scheme.YEAR);
+    }
+
+    // An existing manifest decides the scheme; the argument only applies to a new directory
+    public PartitionedPersistence(Path directory, Scheme scheme) {
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+        this.partitions = new TreeMap<>();
+        this.loaded = new HashMap<>();
+        this.merged = new HashMap<>();
+        this.scheme = readManifest(Objects.requireNonNull(scheme, "Scheme cannot be null"));
+    }
+
+    // Returns only events from partitions that were not loaded before, so the result can be
+    // inserted straight into the calendar
+    public List<Event> loadRange(LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        List<Event> events = new ArrayList<>();
+        loadPartition(RECURRING_KEY, events);
+        for (String key : partitions.keySet()) {
+            if (!key.equals(RECURRING_KEY)
+                    && !scheme.lastDay(key).isBefore(startDate) && !scheme.firstDay(key).isAfter(endDate)) {
+                loadPartition(key, events);
+            }
+        }
+        return events;
+    }
+
+    public List<Event> loadAll() {
+        List<Event> events = new ArrayList<>();
+        for (String key : partitions.keySet()) {
+            loadPartition(key, events);
+        }
+        return events;
+    }
+
+    // Rewrites only partitions whose contents differ from what was loaded or last saved. Events
+    // landing in a partition that was never loaded are merged by id with what is already on disk.
+    public int save(List<Event> events) {
+        Objects.requireNonNull(events, "Events cannot be null");
+        Map<String, List<Event>> byPartition = new TreeMap<>();
+        for (Event event : events) {
+            byPartition.computeIfAbsent(partitionOf(event), k -> new ArrayList<>()).add(event);
+        }
+
+        Set<String> candidates = new HashSet<>(loaded.keySet());
+        candidates.addAll(merged.keySet());
+        candidates.addAll(byPartition.keySet());
+
+        int written = 0;
+        for (String key : candidates) {
+            List<Event> contents = byPartition.getOrDefault(key, List.of());
+            if (!loaded.containsKey(key) && (partitions.containsKey(key) || merged.containsKey(key))) {
+                // The calendar never saw this partition, so it stays unloaded after the merge
+                List<Event> updated = mergeWithDisk(key, contents);
+                if (contents.isEmpty()) {
+                    merged.remove(key);
+                } else {
+                    merged.put(key, idsOf(contents));
+                }
+                if (updated == null) {
+                    continue;
+                }
+                if (updated.isEmpty()) {
+                    deletePartition(key);
+                } else {
+                    partitionStore(key).saveEvents(updated);
+                    partitions.put(key, updated.size());
+                }
+                written++;
+                continue;
+            }
+            long fingerprint = fingerprint(contents);
+            Long previous = loaded.get(key);
+            if (previous != null && previous == fingerprint) {
+                continue;
+            }
+
+            if (contents.isEmpty()) {
+                deletePartition(key);
+            } else {
+                partitionStore(key).saveEvents(contents);
+                partitions.put(key, contents.size());
+                loaded.put(key, fingerprint);
+            }
+            written++;
+        }
+
+        if (written > 0) {
+            writeManifest();
+        }
+        return written;
+    }
+
+    public boolean hasExistingData() {
+        return Files.exists(directory.resolve(MANIFEST_FILENAME));
+    }
+
+    public boolean isLoaded(LocalDate date) {
+        return loaded.containsKey(scheme.keyOf(date));
+    }
+
+    public Set<String> getPartitionKeys() {
+        return Collections.unmodifiableSet(partitions.keySet());
+    }
+
+    public Set<String> getLoadedPartitions() {
+        return Collections.unmodifiableSet(loaded.keySet());
+    }
+
+    public int getStoredEventCount() {
+        int total = 0;
+        for (int count : partitions.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public Scheme getScheme() {
+        return scheme;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setMetrics(CalendarMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    Path partitionFile(String key) {
+        return directory.resolve("events-" + key + ".json");
+    }
+
+    private String partitionOf(Event event) {
+        return event.isRecurring() ? RECURRING_KEY : scheme.keyOf(event.getDate());
+    }
+
+    private void loadPartition(String key, List<Event> into) {
+        if (loaded.containsKey(key) || !partitions.containsKey(key)) {
+            return;
+        }
+        List<Event> events = partitionStore(key).loadEvents();
+        loaded.put(key, fingerprint(events));
+        // Events merged in earlier are already in the calendar
+        Set<String> held = merged.remove(key);
+        for (Event event : events) {
+            if (held == null || !held.contains(event.getId())) {
+                into.add(event);
+            }
+        }
+    }
+
+    // The disk copy with the calendar's events replacing theirs by id, minus the ones merged in
+    // earlier that the calendar no longer holds. Null when that changes nothing.
+    private List<Event> mergeWithDisk(String key, List<Event> contents) {
+        List<Event> disk = partitionStore(key).loadEvents();
+        Set<String> previous = merged.getOrDefault(key, Set.of());
+        Map<String, Event> byId = new LinkedHashMap<>();
+        for (Event event : disk) {
+            if (!previous.contains(event.getId())) {
+                byId.put(event.getId(), event);
+            }
+        }
+        for (Event event : contents) {
+            byId.put(event.getId(), event);
+        }
+        List<Event> updated = new ArrayList<>(byId.values());
+        return fingerprint(updated) == fingerprint(disk) ? null : updated;
+    }
+
+    private static Set<String> idsOf(List<Event> events) {
+        Set<String> ids = new HashSet<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    private void deletePartition(String key) {
+        try {
+            Files.deleteIfExists(partitionFile(key));
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to delete partition", partitionFile(key).toString(), e);
+        }
+        partitions.remove(key);
+        loaded.remove(key);
+        merged.remove(key);
+    }
+
+    private CalendarPersistence partitionStore(String key) {
+        CalendarPersistence store = new CalendarPersistence(partitionFile(key));
+        store.setMetrics(metrics);
+        return store;
+    }
+
+    // Order-independent hash of the fields that survive a JSON round trip
+    static long fingerprint(List<Event> events) {
+        long sum = 0;
+        for (Event e : events) {
+            long h = Objects.hash(e.getId(), e.getDate(), e.getTime(), e.getDuration().toMinutes(), e.getTitle(),
+                    e.getDescription() != null ? e.getDescription() : "", e.getCategory(), e.getPriority(),
+                    e.getCreatedAt(), String.valueOf(e.getRecurrence()));
+            h *= 0x9E3779B97F4A7C15L;
+            sum += h ^ (h >>> 29);
+        }
+        return sum * 31 + events.size();
+    }
+
+    private Scheme readManifest(Scheme requested) {
+        Path manifest = directory.resolve(MANIFEST_FILENAME);
+        if (!Files.exists(manifest)) {
+            return requested;
+        }
+        try {
+            String json = Files.readString(manifest);
+            Matcher schemeMatcher = SCHEME_PATTERN.matcher(json);
+            Scheme stored = schemeMatcher.find() ? Scheme.valueOf(schemeMatcher.group(1)) : requested;
+            Matcher matcher = PARTITION_PATTERN.matcher(json);
+            while (matcher.find()) {
+                partitions.put(matcher.group(1), Integer.parseInt(matcher.group(3)));
+            }
+            return stored;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new PersistenceException("Failed to read manifest", manifest.toString(), e);
+        }
+    }
+
+    private void writeManifest() {
+        Path manifest = directory.resolve(MANIFEST_FILENAME);
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"version\": \"1.0\",\n");
+        sb.append("  \"scheme\": \"").append(scheme.name()).append("\",\n");
+        sb.append("  \"partitions\": [\n");
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : partitions.entrySet()) {
+            sb.append("    { \"key\": \"").append(entry.getKey())
+                    .append("\", \"file\": \"").append(partitionFile(entry.getKey()).getFileName())
+                    .append("\", \"events\": ").append(entry.getValue()).append(" }");
+            sb.append(++i < partitions.size() ? ",\n" : "\n");
+        }
+        sb.append("  ]\n");
+        sb.append("}\n");
+
+        // The manifest is swapped in atomically so a crash never leaves it half written
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, MANIFEST_FILENAME, ".tmp");
+            Files.writeString(temp, sb);
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to write manifest", manifest.toString(), e);
+        }
+    }
+}
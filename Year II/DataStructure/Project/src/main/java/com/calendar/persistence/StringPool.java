@@ -0,0 +1,135 @@
+package com.calendar.persistence;
+
+import java.util.Arrays;
+
+// Open-addressing intern table keyed directly on character ranges, so a repeated value
+// ("Standup", "") is found without first allocating a substring for it
+public class StringPool {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int STRING_OBJECT_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final String[] slots;
+    private final int[] hashes;
+    private final int maxEntries;
+    private int size;
+    private int lookups;
+    private int hits;
+    private long bytesSaved;
+
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StringPool(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive");
+        }
+        this.maxEntries = maxEntries;
+        // Keep the load factor at or below one half
+        int tableSize = Integer.highestOneBit(Math.max(maxEntries, 1) * 2 - 1) << 1;
+        this.slots = new String[tableSize];
+        this.hashes = new int[tableSize];
+    }
+
+    public String intern(String value) {
+        return value == null ? null : intern(value, 0, value.length());
+    }
+
+    public String intern(CharSequence source, int start, int end) {
+        lookups++;
+        int hash = hash(source, start, end);
+        int mask = slots.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            String candidate = slots[slot];
+            if (candidate == null) {
+                String value = source.subSequence(start, end).toString();
+                // Once full the pool stops growing; new values are returned unshared
+                if (size < maxEntries) {
+                    slots[slot] = value;
+                    hashes[slot] = hash;
+                    size++;
+                }
+                return value;
+            }
+            if (hashes[slot] == hash && matches(candidate, source, start, end)) {
+                hits++;
+                bytesSaved += estimateBytes(candidate);
+                return candidate;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(slots, null);
+        size = 0;
+        lookups = 0;
+        hits = 0;
+        bytesSaved = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public PoolStatistics getStatistics() {
+        return new PoolStatistics(lookups, hits, size, bytesSaved);
+    }
+
+    // Same polynomial as String.hashCode, so it can be computed over a range of any CharSequence
+    private static int hash(CharSequence source, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        return hash;
+    }
+
+    private static boolean matches(String candidate, CharSequence source, int start, int end) {
+        if (candidate.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != source.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // String object plus its backing array: one byte per char for Latin-1, two otherwise
+    static long estimateBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        long array = ARRAY_HEADER_BYTES + (long) value.length() * (latin1 ? 1 : 2);
+        return STRING_OBJECT_BYTES + ((array + 7) & ~7L);
+    }
+
+    public record PoolStatistics(
+            int lookups,
+            int hits,
+            int distinct,
+            long bytesSaved) {
+
+        public double hitRate() {
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("╔══════════════════════════════════════════╗\n");
+            sb.append("║          STRING POOL                     ║\n");
+            sb.append("╠══════════════════════════════════════════╣\n");
+            sb.append(String.format("║  Lookups:          %-20d  ║%n", lookups));
+            sb.append(String.format("║  Shared:           %-20d  ║%n", hits));
+            sb.append(String.format("║  Distinct:         %-20d  ║%n", distinct));
+            sb.append(String.format("║  Hit Rate:         %-20s  ║%n", String.format("%.1f%%", hitRate() * 100)));
+            sb.append(String.format("║  Bytes Saved:      %-20d  ║%n", bytesSaved));
+            sb.append("╚══════════════════════════════════════════╝\n");
+            return sb.toString();
+        }
+    }
+}
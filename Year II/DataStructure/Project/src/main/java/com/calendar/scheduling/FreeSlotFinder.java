@@ -0,0 +1,153 @@
+package com.calendar.scheduling;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.model.Event;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class FreeSlotFinder {
+
+    private final EventBST calendar;
+
+    public FreeSlotFinder(EventBST calendar) {
+        this.calendar = Objects.requireNonNull(calendar, "Calendar cannot be null");
+    }
+
+    public Stream<TimeSlot> findFreeSlots(LocalDate from, LocalDate to, LocalTime dayStart, LocalTime dayEnd,
+            Duration minimumLength) {
+        Objects.requireNonNull(from, "Start date cannot be null");
+        Objects.requireNonNull(to, "End date cannot be null");
+        Objects.requireNonNull(dayStart, "Day start cannot be null");
+        Objects.requireNonNull(dayEnd, "Day end cannot be null");
+        Objects.requireNonNull(minimumLength, "Minimum length cannot be null");
+
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+        if (!dayStart.isBefore(dayEnd)) {
+            throw new IllegalArgumentException("Working day start must be before its end");
+        }
+        if (minimumLength.isNegative() || minimumLength.isZero()) {
+            throw new IllegalArgumentException("Minimum slot length must be positive");
+        }
+
+        // Events that started earlier can still be running when the window opens
+        long lookbackDays = calendar.getLongestDuration().toDays() + 1;
+        List<Event> busy = calendar.findEventsInRange(from.minusDays(lookbackDays), to);
+
+        Iterator<TimeSlot> slots = new SlotIterator(busy, from, to, dayStart, dayEnd, minimumLength);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(slots,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    public Optional<TimeSlot> findFirstFreeSlot(LocalDate from, LocalDate to, LocalTime dayStart, LocalTime dayEnd,
+            Duration minimumLength) {
+        return findFreeSlots(from, to, dayStart, dayEnd, minimumLength).findFirst();
+    }
+
+    // Single forward sweep over events sorted by start, merging overlaps as it goes
+    private static final class SlotIterator implements Iterator<TimeSlot> {
+
+        private final List<Event> busy;
+        private final LocalDate lastDay;
+        private final LocalTime dayStart;
+        private final LocalTime dayEnd;
+        private final Duration minimumLength;
+
+        private int nextEvent;
+        private LocalDate day;
+        private LocalDateTime cursor;
+        private LocalDateTime busyUntil = LocalDateTime.MIN;
+        private TimeSlot pending;
+
+        SlotIterator(List<Event> busy, LocalDate firstDay, LocalDate lastDay, LocalTime dayStart,
+                LocalTime dayEnd, Duration minimumLength) {
+            this.busy = busy;
+            this.lastDay = lastDay;
+            this.dayStart = dayStart;
+            this.dayEnd = dayEnd;
+            this.minimumLength = minimumLength;
+            this.day = firstDay;
+            openWindow();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null && day != null) {
+                advance();
+            }
+            return pending != null;
+        }
+
+        @Override
+        public TimeSlot next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TimeSlot slot = pending;
+            pending = null;
+            return slot;
+        }
+
+        private void advance() {
+            LocalDateTime windowEnd = LocalDateTime.of(day, dayEnd);
+
+            while (nextEvent < busy.size()) {
+                Event event = busy.get(nextEvent);
+                LocalDateTime eventStart = event.getStartDateTime();
+                if (!eventStart.isBefore(windowEnd)) {
+                    break;
+                }
+                nextEvent++;
+
+                LocalDateTime eventEnd = event.getEndDateTime();
+                if (eventEnd.isAfter(busyUntil)) {
+                    busyUntil = eventEnd;
+                }
+                if (!eventEnd.isAfter(cursor)) {
+                    continue;
+                }
+
+                LocalDateTime gapEnd = eventStart;
+                LocalDateTime gapStart = cursor;
+                cursor = eventEnd.isAfter(windowEnd) ? windowEnd : eventEnd;
+                if (offer(gapStart, gapEnd)) {
+                    return;
+                }
+            }
+
+            offer(cursor, windowEnd);
+
+            day = day.isBefore(lastDay) ? day.plusDays(1) : null;
+            if (day != null) {
+                openWindow();
+            }
+        }
+
+        private void openWindow() {
+            LocalDateTime windowStart = LocalDateTime.of(day, dayStart);
+            cursor = busyUntil.isAfter(windowStart) ? busyUntil : windowStart;
+        }
+
+        private boolean offer(LocalDateTime start, LocalDateTime end) {
+            if (start.isBefore(end) && Duration.between(start, end).compareTo(minimumLength) >= 0) {
+                pending = new TimeSlot(start, end);
+                return true;
+            }
+            return false;
+        }
+    }
+}
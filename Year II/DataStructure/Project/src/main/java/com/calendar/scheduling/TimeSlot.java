@@ -0,0 +1,30 @@
+package com.calendar.scheduling;
+
+import com.calendar.model.Event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public record TimeSlot(LocalDateTime start, LocalDateTime end) {
+
+    public TimeSlot {
+        Objects.requireNonNull(start, "Slot start cannot be null");
+        Objects.requireNonNull(end, "Slot end cannot be null");
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Slot start must be before slot end");
+        }
+    }
+
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s - %s (%d min)",
+                start.format(Event.DATETIME_FORMATTER),
+                end.format(Event.TIME_FORMATTER),
+                getDuration().toMinutes());
+    }
+}
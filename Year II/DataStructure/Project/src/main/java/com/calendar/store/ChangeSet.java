@@ -0,0 +1,27 @@
+package com.calendar.store;
+
+import com.calendar.model.Event;
+
+import java.util.List;
+import java.util.Set;
+
+// Net edits since a checkpoint: removing deletedIds and then adding upserts to the checkpointed
+// calendar reproduces the current one. fullRewrite means the delta is unknown (never checkpointed,
+// or cleared since) and only a complete save is safe.
+public record ChangeSet(List<Event> upserts, Set<String> deletedIds, boolean fullRewrite) {
+
+    public static final ChangeSet FULL_REWRITE = new ChangeSet(List.of(), Set.of(), true);
+
+    public ChangeSet {
+        upserts = List.copyOf(upserts);
+        deletedIds = Set.copyOf(deletedIds);
+    }
+
+    public boolean isEmpty() {
+        return !fullRewrite && upserts.isEmpty() && deletedIds.isEmpty();
+    }
+
+    public int size() {
+        return upserts.size() + deletedIds.size();
+    }
+}
@@ -0,0 +1,340 @@
+package com.calendar.store;
+
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// Immutable file of events sorted by start. Only the header and a sparse index (the key and offset
+// of every INDEX_INTERVAL-th record) are kept in memory; a range query seeks to the nearest indexed
+// record and reads forward from there.
+public final class ColdSegment {
+
+    static final int INDEX_INTERVAL = 64;
+
+    private static final long MAGIC = 0x43414C434F4C4453L; // "CALCOLDS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int TRAILER_BYTES = 8;
+
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+    private final Path file;
+    private final int size;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final long[] indexKeys;
+    private final long[] indexOffsets;
+
+    private ColdSegment(Path file, int size, LocalDate firstDate, LocalDate lastDate,
+            long[] indexKeys, long[] indexOffsets) {
+        this.file = file;
+        this.size = size;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        this.indexKeys = indexKeys;
+        this.indexOffsets = indexOffsets;
+    }
+
+    // Events must already be in start order; recurring series are not supported in cold storage
+    public static ColdSegment write(Path file, List<Event> events) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(events, "Events cannot be null");
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("Cannot write an empty segment");
+        }
+
+        int blocks = (events.size() + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+        long[] indexKeys = new long[blocks];
+        long[] indexOffsets = new long[blocks];
+
+        Path temp = null;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null && !Files.exists(parent)) {
+                Files.createDirectories(parent);
+            }
+            temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+            try (CountingOutput counter = new CountingOutput(Files.newOutputStream(temp));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(counter))) {
+                out.writeLong(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(events.size());
+                out.writeLong(events.get(0).getDate().toEpochDay());
+                out.writeLong(events.get(events.size() - 1).getDate().toEpochDay());
+
+                long previousKey = Long.MIN_VALUE;
+                for (int i = 0; i < events.size(); i++) {
+                    Event event = events.get(i);
+                    if (event.isRecurring()) {
+                        throw new IllegalArgumentException("Recurring series cannot be archived: " + event.getId());
+                    }
+                    if (event.getSortKey() < previousKey) {
+                        throw new IllegalArgumentException("Events must be sorted by start");
+                    }
+                    previousKey = event.getSortKey();
+                    if (i % INDEX_INTERVAL == 0) {
+                        out.flush();
+                        indexKeys[i / INDEX_INTERVAL] = event.getSortKey();
+                        indexOffsets[i / INDEX_INTERVAL] = counter.written;
+                    }
+                    writeEvent(out, event);
+                }
+
+                out.flush();
+                long indexOffset = counter.written;
+                for (int block = 0; block < blocks; block++) {
+                    out.writeLong(indexKeys[block]);
+                    out.writeLong(indexOffsets[block]);
+                }
+                out.writeLong(indexOffset);
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to write cold segment", file.toString(), e);
+        } finally {
+            // Still set only when the write failed, whether on I/O or on bad input
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not remove " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+
+        return new ColdSegment(file, events.size(), events.get(0).getDate(),
+                events.get(events.size() - 1).getDate(), indexKeys, indexOffsets);
+    }
+
+    public static ColdSegment open(Path file) {
+        Objects.requireNonNull(file, "File cannot be null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+            if (header.getLong() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new PersistenceException("Not a cold segment", file.toString());
+            }
+            int size = header.getInt();
+            LocalDate firstDate = LocalDate.ofEpochDay(header.getLong());
+            LocalDate lastDate = LocalDate.ofEpochDay(header.getLong());
+
+            long trailer = channel.size() - TRAILER_BYTES;
+            long indexOffset = readFully(channel, trailer, TRAILER_BYTES).getLong();
+            int blocks = (int) ((trailer - indexOffset) / 16);
+            ByteBuffer index = readFully(channel, indexOffset, blocks * 16);
+            long[] indexKeys = new long[blocks];
+            long[] indexOffsets = new long[blocks];
+            for (int block = 0; block < blocks; block++) {
+                indexKeys[block] = index.getLong();
+                indexOffsets[block] = index.getLong();
+            }
+            return new ColdSegment(file, size, firstDate, lastDate, indexKeys, indexOffsets);
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to open cold segment", file.toString(), e);
+        }
+    }
+
+    public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        List<Event> events = new ArrayList<>();
+        if (!overlaps(startDate, endDate)) {
+            return events;
+        }
+
+        long fromKey = Event.startOfDayKey(startDate);
+        long toKey = Event.startOfDayKey(endDate.plusDays(1));
+        // Start from the last block whose first key is below fromKey; equal keys can straddle blocks
+        int block = Math.max(firstBlockAtOrAfter(fromKey) - 1, 0);
+
+        int remaining = size - block * INDEX_INTERVAL;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(channel.position(indexOffsets[block]))));
+            for (; remaining > 0; remaining--) {
+                Event event = readEvent(in);
+                long key = event.getSortKey();
+                if (key >= toKey) {
+                    break;
+                }
+                if (key >= fromKey) {
+                    events.add(event);
+                }
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to read cold segment", file.toString(), e);
+        }
+        return events;
+    }
+
+    // Full scan; cold data is rarely looked up by id
+    public Event find(Predicate<Event> matcher) {
+        for (Event event : getAllEvents()) {
+            if (matcher.test(event)) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    public List<Event> getAllEvents() {
+        return findEventsInRange(firstDate, lastDate);
+    }
+
+    public boolean overlaps(LocalDate startDate, LocalDate endDate) {
+        return !endDate.isBefore(firstDate) && !startDate.isAfter(lastDate);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    private int firstBlockAtOrAfter(long key) {
+        int low = 0;
+        int high = indexKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (indexKeys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int getIndexEntries() {
+        return indexKeys.length;
+    }
+
+    private static void writeEvent(DataOutputStream out, Event event) throws IOException {
+        out.writeBoolean(event.hasCustomId());
+        if (event.hasCustomId()) {
+            writeString(out, event.getId());
+        } else {
+            out.writeLong(event.getIdMostSignificantBits());
+            out.writeLong(event.getIdLeastSignificantBits());
+        }
+        out.writeInt((int) event.getDate().toEpochDay());
+        out.writeInt(event.getTime().toSecondOfDay());
+        out.writeLong(event.getDuration().getSeconds());
+        out.writeByte(event.getCategory().ordinal());
+        out.writeByte(event.getPriority().ordinal());
+        out.writeLong(event.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(event.getCreatedAt().getNano());
+        writeString(out, event.getTitle());
+        writeString(out, event.getDescription());
+    }
+
+    private static Event readEvent(DataInputStream in) throws IOException {
+        Event.Builder builder = in.readBoolean()
+                ? Event.builder().id(readString(in))
+                : Event.builder().id(in.readLong(), in.readLong());
+        return builder
+                .date(LocalDate.ofEpochDay(in.readInt()))
+                .time(LocalTime.ofSecondOfDay(in.readInt()))
+                .duration(Duration.ofSeconds(in.readLong()))
+                .category(CATEGORIES[in.readByte()])
+                .priority(PRIORITIES[in.readByte()])
+                .createdAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC))
+                .title(readString(in))
+                .description(readString(in))
+                .build();
+    }
+
+    // Length-prefixed UTF-8; -1 marks null. writeUTF is avoided because it caps strings at 64 KiB.
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static final class CountingOutput extends FilterOutputStream {
+
+        private long written;
+
+        CountingOutput(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written += len;
+        }
+    }
+}
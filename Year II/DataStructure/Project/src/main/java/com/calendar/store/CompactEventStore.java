@@ -0,0 +1,390 @@
+package com.calendar.store;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Column-oriented event storage: one primitive array per field, kept sorted in BST order.
+// Events are only materialized when a caller asks for them.
+public class CompactEventStore implements EventStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+    private int size;
+    private int seriesCount;
+    private int[] epochDays;
+    private int[] secondsOfDay;
+    private int[] durationSeconds;
+    private byte[] flags;
+    private long[] idHigh;
+    private long[] idLow;
+    private long[] createdAtSeconds;
+    private int[] createdAtNanos;
+    private String[] titles;
+    private String[] descriptions;
+    private RecurrenceRule[] recurrences;
+    private String[] customIds;
+
+    public CompactEventStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CompactEventStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    public static CompactEventStore from(EventBST tree) {
+        List<Event> events = tree.getAllEvents();
+        CompactEventStore store = new CompactEventStore(events.size());
+        for (Event event : events) {
+            store.append(event);
+        }
+        return store;
+    }
+
+    @Override
+    public void insert(Event event) {
+        add(event);
+    }
+
+    public void add(Event event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+        long key = event.getSortKey();
+        int index = upperBound(key);
+        ensureCapacity(size + 1);
+        shift(index, 1);
+        write(index, event);
+        size++;
+    }
+
+    public void addAll(Collection<Event> events) {
+        for (Event event : events) {
+            add(event);
+        }
+    }
+
+    public Event get(int index) {
+        Objects.checkIndex(index, size);
+        return materialize(index);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Event findById(String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            throw new EventNotFoundException("id=" + id);
+        }
+        return materialize(index);
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            throw new EventNotFoundException("id=" + id);
+        }
+        if (recurrences[index] != null) {
+            seriesCount--;
+        }
+        shift(index + 1, -1);
+        size--;
+        clearSlot(size);
+        return true;
+    }
+
+    @Override
+    public List<Event> findEventsByDate(LocalDate date) {
+        Objects.requireNonNull(date, "Date cannot be null");
+        return findEventsInRange(date, date);
+    }
+
+    @Override
+    public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        int from = lowerBound(Event.startOfDayKey(startDate));
+        int to = lowerBound(Event.startOfDayKey(endDate.plusDays(1)));
+
+        List<Event> events = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (recurrences[i] == null) {
+                events.add(materialize(i));
+            }
+        }
+
+        if (seriesCount > 0) {
+            for (int i = 0; i < to; i++) {
+                if (recurrences[i] != null) {
+                    events.addAll(materialize(i).occurrencesBetween(startDate, endDate));
+                }
+            }
+            events.sort(null);
+        }
+        return events;
+    }
+
+    public List<Event> getAllEvents() {
+        List<Event> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(materialize(i));
+        }
+        return events;
+    }
+
+    public Stream<Event> stream() {
+        return IntStream.range(0, size).mapToObj(this::materialize);
+    }
+
+    public void clear() {
+        size = 0;
+        seriesCount = 0;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public void trimToSize() {
+        resize(Math.max(size, 1));
+    }
+
+    public MemoryFootprint estimateFootprint() {
+        long arrays = arrayBytes(epochDays.length, Integer.BYTES)
+                + arrayBytes(secondsOfDay.length, Integer.BYTES)
+                + arrayBytes(durationSeconds.length, Integer.BYTES)
+                + arrayBytes(flags.length, Byte.BYTES)
+                + arrayBytes(idHigh.length, Long.BYTES)
+                + arrayBytes(idLow.length, Long.BYTES)
+                + arrayBytes(createdAtSeconds.length, Long.BYTES)
+                + arrayBytes(createdAtNanos.length, Integer.BYTES)
+                + arrayBytes(titles.length, MemoryFootprint.REFERENCE_BYTES)
+                + arrayBytes(descriptions.length, MemoryFootprint.REFERENCE_BYTES)
+                + arrayBytes(recurrences.length, MemoryFootprint.REFERENCE_BYTES)
+                + (customIds != null ? arrayBytes(customIds.length, MemoryFootprint.REFERENCE_BYTES) : 0);
+
+        // Strings are shared between both layouts, so they are counted once and reported separately
+        Map<String, Boolean> seen = new IdentityHashMap<>();
+        long text = 0;
+        for (int i = 0; i < size; i++) {
+            text += seen.put(titles[i], Boolean.TRUE) == null ? MemoryFootprint.stringBytes(titles[i]) : 0;
+            text += seen.put(descriptions[i], Boolean.TRUE) == null ? MemoryFootprint.stringBytes(descriptions[i]) : 0;
+        }
+
+        return new MemoryFootprint(size, arrays, MemoryFootprint.objectGraphBytes(size), text);
+    }
+
+    private long keyAt(int index) {
+        return Event.sortKey(epochDays[index], secondsOfDay[index], PRIORITIES[flags[index] & 0x03]);
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Equal keys go after existing ones, matching where EventBST sends duplicates
+    private int upperBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int indexOf(String id) {
+        Objects.requireNonNull(id, "Id cannot be null");
+        UUID uuid = Event.parseCanonicalUuid(id);
+        for (int i = 0; i < size; i++) {
+            if (uuid != null) {
+                if (idHigh[i] == uuid.getMostSignificantBits() && idLow[i] == uuid.getLeastSignificantBits()
+                        && (customIds == null || customIds[i] == null)) {
+                    return i;
+                }
+            } else if (customIds != null && id.equals(customIds[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void write(int index, Event event) {
+        LocalDateTime createdAt = event.getCreatedAt();
+
+        epochDays[index] = Math.toIntExact(event.getDate().toEpochDay());
+        secondsOfDay[index] = event.getTime().toSecondOfDay();
+        durationSeconds[index] = Math.toIntExact(event.getDuration().toSeconds());
+        flags[index] = (byte) ((event.getCategory().ordinal() << 2) | event.getPriority().ordinal());
+        createdAtSeconds[index] = createdAt.toEpochSecond(ZoneOffset.UTC);
+        createdAtNanos[index] = createdAt.getNano();
+        titles[index] = event.getTitle();
+        descriptions[index] = event.getDescription();
+        recurrences[index] = event.getRecurrence();
+        if (event.isRecurring()) {
+            seriesCount++;
+        }
+
+        if (!event.hasCustomId()) {
+            idHigh[index] = event.getIdMostSignificantBits();
+            idLow[index] = event.getIdLeastSignificantBits();
+            if (customIds != null) {
+                customIds[index] = null;
+            }
+        } else {
+            if (customIds == null) {
+                customIds = new String[epochDays.length];
+            }
+            idHigh[index] = 0;
+            idLow[index] = 0;
+            customIds[index] = event.getId();
+        }
+    }
+
+    private Event materialize(int index) {
+        Event.Builder builder = customIds != null && customIds[index] != null
+                ? Event.builder().id(customIds[index])
+                : Event.builder().id(idHigh[index], idLow[index]);
+
+        return builder
+                .date(LocalDate.ofEpochDay(epochDays[index]))
+                .time(LocalTime.ofSecondOfDay(secondsOfDay[index]))
+                .duration(Duration.ofSeconds(durationSeconds[index]))
+                .title(titles[index])
+                .description(descriptions[index])
+                .category(CATEGORIES[flags[index] >>> 2])
+                .priority(PRIORITIES[flags[index] & 0x03])
+                .createdAt(LocalDateTime.ofEpochSecond(createdAtSeconds[index], createdAtNanos[index], ZoneOffset.UTC))
+                .recurrence(recurrences[index])
+                .build();
+    }
+
+    // Moves [from, size) by distance slots; distance is +1 to open a gap or -1 to close one
+    private void shift(int from, int distance) {
+        int length = size - from;
+        if (length <= 0) {
+            return;
+        }
+        int to = from + distance;
+        System.arraycopy(epochDays, from, epochDays, to, length);
+        System.arraycopy(secondsOfDay, from, secondsOfDay, to, length);
+        System.arraycopy(durationSeconds, from, durationSeconds, to, length);
+        System.arraycopy(flags, from, flags, to, length);
+        System.arraycopy(idHigh, from, idHigh, to, length);
+        System.arraycopy(idLow, from, idLow, to, length);
+        System.arraycopy(createdAtSeconds, from, createdAtSeconds, to, length);
+        System.arraycopy(createdAtNanos, from, createdAtNanos, to, length);
+        System.arraycopy(titles, from, titles, to, length);
+        System.arraycopy(descriptions, from, descriptions, to, length);
+        System.arraycopy(recurrences, from, recurrences, to, length);
+        if (customIds != null) {
+            System.arraycopy(customIds, from, customIds, to, length);
+        }
+    }
+
+    private void append(Event event) {
+        ensureCapacity(size + 1);
+        write(size, event);
+        size++;
+    }
+
+    private void clearSlot(int index) {
+        titles[index] = null;
+        descriptions[index] = null;
+        recurrences[index] = null;
+        if (customIds != null) {
+            customIds[index] = null;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > epochDays.length) {
+            resize(Math.max(required, epochDays.length + (epochDays.length >> 1)));
+        }
+    }
+
+    private void allocate(int capacity) {
+        epochDays = new int[capacity];
+        secondsOfDay = new int[capacity];
+        durationSeconds = new int[capacity];
+        flags = new byte[capacity];
+        idHigh = new long[capacity];
+        idLow = new long[capacity];
+        createdAtSeconds = new long[capacity];
+        createdAtNanos = new int[capacity];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+        recurrences = new RecurrenceRule[capacity];
+        customIds = null;
+    }
+
+    private void resize(int capacity) {
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        secondsOfDay = Arrays.copyOf(secondsOfDay, capacity);
+        durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        createdAtSeconds = Arrays.copyOf(createdAtSeconds, capacity);
+        createdAtNanos = Arrays.copyOf(createdAtNanos, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        recurrences = Arrays.copyOf(recurrences, capacity);
+        if (customIds != null) {
+            customIds = Arrays.copyOf(customIds, capacity);
+        }
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return MemoryFootprint.align(MemoryFootprint.ARRAY_HEADER_BYTES + (long) length * elementBytes);
+    }
+}
@@ -0,0 +1,88 @@
+package com.calendar.store;
+
+import com.calendar.model.Event;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// The operations every event store supports, so load tests and tools can run against any of them
+public interface EventStore {
+
+    void insert(Event event);
+
+    Event findById(String id);
+
+    boolean deleteById(String id);
+
+    List<Event> findEventsByDate(LocalDate date);
+
+    List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate);
+
+    int getSize();
+
+    default boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    // None of the stores are thread-safe; this view lets readers share the store while writers are exclusive.
+    // That relies on reads not mutating the store, or on whatever state they do mutate (such as the
+    // EventBST query cache) being locked on its own.
+    static EventStore synchronizedView(EventStore store) {
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        return new EventStore() {
+            @Override
+            public void insert(Event event) {
+                write(() -> {
+                    store.insert(event);
+                    return null;
+                });
+            }
+
+            @Override
+            public Event findById(String id) {
+                return read(() -> store.findById(id));
+            }
+
+            @Override
+            public boolean deleteById(String id) {
+                return write(() -> store.deleteById(id));
+            }
+
+            @Override
+            public List<Event> findEventsByDate(LocalDate date) {
+                return read(() -> store.findEventsByDate(date));
+            }
+
+            @Override
+            public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+                return read(() -> store.findEventsInRange(startDate, endDate));
+            }
+
+            @Override
+            public int getSize() {
+                return read(store::getSize);
+            }
+
+            private <T> T read(Supplier<T> operation) {
+                lock.readLock().lock();
+                try {
+                    return operation.get();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            private <T> T write(Supplier<T> operation) {
+                lock.writeLock().lock();
+                try {
+                    return operation.get();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        };
+    }
+}
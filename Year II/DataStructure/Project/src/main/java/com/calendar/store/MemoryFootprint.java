@@ -0,0 +1,92 @@
+package com.calendar.store;
+
+// Layout estimates assume a 64-bit JVM with compressed oops and 8-byte alignment,
+// i.e. what JOL reports for the default HotSpot configuration.
+public record MemoryFootprint(
+        int events,
+        long packedBytes,
+        long objectGraphBytes,
+        long textBytes) {
+
+    static final int OBJECT_HEADER_BYTES = 12;
+    static final int ARRAY_HEADER_BYTES = 16;
+    static final int REFERENCE_BYTES = 4;
+
+    // Event (12 header + 10 refs) + LocalDate + LocalTime + Duration + createdAt (LocalDateTime
+    // with its own LocalDate/LocalTime) + 36-char UUID String + BSTNode + two index TreeMap entries
+    static final long EVENT_OBJECT_BYTES = align(OBJECT_HEADER_BYTES + 10L * REFERENCE_BYTES)
+            + align(OBJECT_HEADER_BYTES + 4 + 2 + 2)
+            + align(OBJECT_HEADER_BYTES + 3 + 4)
+            + align(OBJECT_HEADER_BYTES + 8 + 4)
+            + align(OBJECT_HEADER_BYTES + 2L * REFERENCE_BYTES)
+            + align(OBJECT_HEADER_BYTES + 4 + 2 + 2)
+            + align(OBJECT_HEADER_BYTES + 3 + 4)
+            + align(OBJECT_HEADER_BYTES + 4 + 1 + 1 + REFERENCE_BYTES) + align(ARRAY_HEADER_BYTES + 36)
+            + align(OBJECT_HEADER_BYTES + 3L * REFERENCE_BYTES)
+            + 2 * align(OBJECT_HEADER_BYTES + 5L * REFERENCE_BYTES + 1);
+
+    private static final long PER_MILLION = 1_000_000L;
+
+    public long packedBytesPerEvent() {
+        return events == 0 ? 0 : packedBytes / events;
+    }
+
+    public long objectBytesPerEvent() {
+        return events == 0 ? 0 : objectGraphBytes / events;
+    }
+
+    public long bytesSaved() {
+        return objectGraphBytes - packedBytes;
+    }
+
+    public double reductionRatio() {
+        return packedBytes == 0 ? 0 : (double) objectGraphBytes / packedBytes;
+    }
+
+    static long objectGraphBytes(int events) {
+        return events * EVENT_OBJECT_BYTES;
+    }
+
+    static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // String object + Latin-1 backing array; non-Latin-1 text takes two bytes per char
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        long backing = align(ARRAY_HEADER_BYTES + (long) value.length() * (latin1 ? 1 : 2));
+        return align(OBJECT_HEADER_BYTES + 4 + 1 + 1 + REFERENCE_BYTES) + backing;
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("╔══════════════════════════════════════════╗\n");
+        sb.append("║          MEMORY FOOTPRINT                ║\n");
+        sb.append("╠══════════════════════════════════════════╣\n");
+        sb.append(String.format("║  Events:           %-20d  ║%n", events));
+        sb.append(String.format("║  Packed/event:     %-20s  ║%n", packedBytesPerEvent() + " B"));
+        sb.append(String.format("║  Objects/event:    %-20s  ║%n", objectBytesPerEvent() + " B"));
+        sb.append(String.format("║  Shared text:      %-20s  ║%n", formatBytes(textBytes)));
+        sb.append(String.format("║  Reduction:        %-20s  ║%n", String.format("%.1fx", reductionRatio())));
+        sb.append("╠══════════════════════════════════════════╣\n");
+        sb.append("║  Per 1M events (excluding text):         ║\n");
+        sb.append(String.format("║    Packed:         %-20s  ║%n", formatBytes(packedBytesPerEvent() * PER_MILLION)));
+        sb.append(String.format("║    Objects:        %-20s  ║%n", formatBytes(objectBytesPerEvent() * PER_MILLION)));
+        sb.append("╚══════════════════════════════════════════╝\n");
+        return sb.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1L << 20) {
+            return String.format("%.1f MiB", bytes / (double) (1L << 20));
+        }
+        if (bytes >= 1L << 10) {
+            return String.format("%.1f KiB", bytes / (double) (1L << 10));
+        }
+        return bytes + " B";
+    }
+}
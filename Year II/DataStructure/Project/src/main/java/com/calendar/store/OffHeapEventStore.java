@@ -0,0 +1,624 @@
+package com.calendar.store;
+
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+// Events live in fixed-width records plus a UTF-8 string heap, both in MemorySegments owned by an
+// Arena, so the GC only ever sees the segment handles and the two primitive index arrays.
+public class OffHeapEventStore implements EventStore, AutoCloseable {
+
+    static final int RECORD_BYTES = 96;
+    static final int RECORDS_PER_CHUNK = 1 << 16;
+    static final int STRING_CHUNK_BYTES = 1 << 22;
+
+    private static final long MAGIC = 0x43414C4F46464850L; // "CALOFFHP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    // Record layout
+    private static final long ID_HIGH = 0;
+    private static final long ID_LOW = 8;
+    private static final long CREATED_SECONDS = 16;
+    private static final long TITLE_OFFSET = 24;
+    private static final long DESCRIPTION_OFFSET = 32;
+    private static final long RECURRENCE_OFFSET = 40;
+    private static final long CUSTOM_ID_OFFSET = 48;
+    private static final long EPOCH_DAY = 56;
+    private static final long SECOND_OF_DAY = 60;
+    private static final long DURATION_SECONDS = 64;
+    private static final long CREATED_NANOS = 68;
+    private static final long TITLE_LENGTH = 72;
+    private static final long DESCRIPTION_LENGTH = 76;
+    private static final long RECURRENCE_LENGTH = 80;
+    private static final long CUSTOM_ID_LENGTH = 84;
+    private static final long CATEGORY = 88;
+    private static final long PRIORITY = 89;
+    private static final long FLAGS = 90;
+
+    private static final byte FLAG_DELETED = 1;
+    private static final int ABSENT = -1;
+    private static final long[] STRING_FIELDS = {
+            TITLE_OFFSET, TITLE_LENGTH,
+            DESCRIPTION_OFFSET, DESCRIPTION_LENGTH,
+            RECURRENCE_OFFSET, RECURRENCE_LENGTH,
+            CUSTOM_ID_OFFSET, CUSTOM_ID_LENGTH
+    };
+
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+    private final Arena arena;
+    private final boolean ownsArena;
+    private final List<MemorySegment> recordChunks = new ArrayList<>();
+    private final List<MemorySegment> stringChunks = new ArrayList<>();
+    private int recordCount;
+    private long stringHeapEnd;
+    private int deletedCount;
+    private int seriesCount;
+
+    // Sorted (key, record) pairs; entries past sortedCount were appended since the last sort
+    private long[] indexKeys = new long[16];
+    private int[] indexRecords = new int[16];
+    private int indexCount;
+    private int sortedCount;
+    private boolean indexHasDeletes;
+
+    public OffHeapEventStore() {
+        this(Arena.ofShared(), true);
+    }
+
+    public OffHeapEventStore(Arena arena) {
+        this(arena, false);
+    }
+
+    private OffHeapEventStore(Arena arena, boolean ownsArena) {
+        this.arena = Objects.requireNonNull(arena, "Arena cannot be null");
+        this.ownsArena = ownsArena;
+    }
+
+    public static OffHeapEventStore open(Path file) {
+        return open(file, Arena.ofShared(), true);
+    }
+
+    public static OffHeapEventStore open(Path file, Arena arena) {
+        return open(file, arena, false);
+    }
+
+    private static OffHeapEventStore open(Path file, Arena arena, boolean ownsArena) {
+        OffHeapEventStore store = new OffHeapEventStore(arena, ownsArena);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Copy-on-write mapping: the file is only changed by an explicit saveTo
+            MemorySegment mapped = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size(), arena);
+            store.attach(mapped, file);
+        } catch (IOException e) {
+            if (ownsArena) {
+                arena.close();
+            }
+            throw new PersistenceException("Failed to map event store", file.toString(), e);
+        }
+        return store;
+    }
+
+    @Override
+    public void insert(Event event) {
+        add(event);
+    }
+
+    public void add(Event event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+
+        int record = recordCount;
+        if (record % RECORDS_PER_CHUNK == 0 && record / RECORDS_PER_CHUNK == recordChunks.size()) {
+            recordChunks.add(arena.allocate((long) RECORDS_PER_CHUNK * RECORD_BYTES, Long.BYTES));
+        }
+        MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+        long base = (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES;
+
+        LocalDateTime createdAt = event.getCreatedAt();
+
+        chunk.set(LONG, base + ID_HIGH, event.getIdMostSignificantBits());
+        chunk.set(LONG, base + ID_LOW, event.getIdLeastSignificantBits());
+        chunk.set(LONG, base + CREATED_SECONDS, createdAt.toEpochSecond(ZoneOffset.UTC));
+        chunk.set(INT, base + EPOCH_DAY, Math.toIntExact(event.getDate().toEpochDay()));
+        chunk.set(INT, base + SECOND_OF_DAY, event.getTime().toSecondOfDay());
+        chunk.set(INT, base + DURATION_SECONDS, Math.toIntExact(event.getDuration().toSeconds()));
+        chunk.set(INT, base + CREATED_NANOS, createdAt.getNano());
+        chunk.set(BYTE, base + CATEGORY, (byte) event.getCategory().ordinal());
+        chunk.set(BYTE, base + PRIORITY, (byte) event.getPriority().ordinal());
+        chunk.set(BYTE, base + FLAGS, (byte) 0);
+        writeString(chunk, base + TITLE_OFFSET, base + TITLE_LENGTH, event.getTitle());
+        writeString(chunk, base + DESCRIPTION_OFFSET, base + DESCRIPTION_LENGTH, event.getDescription());
+        writeString(chunk, base + RECURRENCE_OFFSET, base + RECURRENCE_LENGTH,
+                event.isRecurring() ? event.getRecurrence().toString() : null);
+        writeString(chunk, base + CUSTOM_ID_OFFSET, base + CUSTOM_ID_LENGTH, event.hasCustomId() ? event.getId() : null);
+
+        recordCount++;
+        if (event.isRecurring()) {
+            seriesCount++;
+        }
+        appendToIndex(keyOf(chunk, base), record);
+    }
+
+    @Override
+    public Event findById(String id) {
+        int record = recordOf(id);
+        if (record < 0) {
+            throw new EventNotFoundException("id=" + id);
+        }
+        return materialize(record);
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        int record = recordOf(id);
+        if (record < 0) {
+            throw new EventNotFoundException("id=" + id);
+        }
+        MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+        long base = (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES;
+        chunk.set(BYTE, base + FLAGS, FLAG_DELETED);
+        if (chunk.get(INT, base + RECURRENCE_LENGTH) != ABSENT) {
+            seriesCount--;
+        }
+        deletedCount++;
+        indexHasDeletes = true;
+        // Dead records and their strings are reclaimed once they make up half the store
+        if (deletedCount * 2 > recordCount) {
+            compact();
+        }
+        return true;
+    }
+
+    // Slides live records and their strings down over deleted ones, in place. Strings are laid out
+    // in record order (title, description, recurrence, custom id), so every live string moves to
+    // an address no higher than its old one and nothing is overwritten before it has been moved.
+    // Chunks freed at the end stay allocated and are refilled by later adds.
+    public void compact() {
+        if (deletedCount == 0) {
+            return;
+        }
+
+        int live = 0;
+        long heapEnd = 0;
+        indexCount = 0;
+        sortedCount = 0;
+        for (int record = 0; record < recordCount; record++) {
+            MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+            long base = (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES;
+            if (chunk.get(BYTE, base + FLAGS) == FLAG_DELETED) {
+                continue;
+            }
+
+            MemorySegment target = recordChunks.get(live / RECORDS_PER_CHUNK);
+            long targetBase = (long) (live % RECORDS_PER_CHUNK) * RECORD_BYTES;
+            if (live != record) {
+                MemorySegment.copy(chunk, base, target, targetBase, RECORD_BYTES);
+            }
+            for (int field = 0; field < STRING_FIELDS.length; field += 2) {
+                heapEnd = moveString(target, targetBase + STRING_FIELDS[field],
+                        targetBase + STRING_FIELDS[field + 1], heapEnd);
+            }
+            appendToIndex(keyOf(target, targetBase), live);
+            live++;
+        }
+
+        recordCount = live;
+        stringHeapEnd = heapEnd;
+        deletedCount = 0;
+        indexHasDeletes = false;
+        sortIndex();
+    }
+
+    public int getDeletedCount() {
+        return deletedCount;
+    }
+
+    @Override
+    public int getSize() {
+        return recordCount - deletedCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    public long getOffHeapBytes() {
+        return (long) recordChunks.size() * RECORDS_PER_CHUNK * RECORD_BYTES
+                + (long) stringChunks.size() * STRING_CHUNK_BYTES;
+    }
+
+    @Override
+    public List<Event> findEventsByDate(LocalDate date) {
+        Objects.requireNonNull(date, "Date cannot be null");
+        return findEventsInRange(date, date);
+    }
+
+    @Override
+    public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+        sortIndex();
+
+        int from = lowerBound(Event.startOfDayKey(startDate));
+        int to = lowerBound(Event.startOfDayKey(endDate.plusDays(1)));
+
+        List<Event> events = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (!isRecurring(indexRecords[i])) {
+                events.add(materialize(indexRecords[i]));
+            }
+        }
+
+        if (seriesCount > 0) {
+            for (int i = 0; i < to; i++) {
+                if (isRecurring(indexRecords[i])) {
+                    events.addAll(materialize(indexRecords[i]).occurrencesBetween(startDate, endDate));
+                }
+            }
+            events.sort(null);
+        }
+        return events;
+    }
+
+    public List<Event> getAllEvents() {
+        sortIndex();
+        List<Event> events = new ArrayList<>(indexCount);
+        for (int i = 0; i < indexCount; i++) {
+            events.add(materialize(indexRecords[i]));
+        }
+        return events;
+    }
+
+    // Compacts first, so the file never carries deleted records
+    public void saveTo(Path file) {
+        compact();
+        long recordBytes = (long) recordCount * RECORD_BYTES;
+        long total = HEADER_BYTES + recordBytes + stringHeapEnd;
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null && !Files.exists(parent)) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+            try (Arena writeArena = Arena.ofConfined();
+                    FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MemorySegment out = channel.map(FileChannel.MapMode.READ_WRITE, 0, total, writeArena);
+                out.set(LONG, 0, MAGIC);
+                out.set(INT, 8, FORMAT_VERSION);
+                out.set(LONG, 16, recordCount);
+                out.set(LONG, 24, stringHeapEnd);
+
+                long position = HEADER_BYTES;
+                for (int chunk = 0; chunk < recordChunks.size() && position < HEADER_BYTES + recordBytes; chunk++) {
+                    long bytes = Math.min(recordChunks.get(chunk).byteSize(), HEADER_BYTES + recordBytes - position);
+                    MemorySegment.copy(recordChunks.get(chunk), 0, out, position, bytes);
+                    position += bytes;
+                }
+                // String chunks keep their fixed stride so stored offsets stay valid without rewriting
+                for (int chunk = 0; chunk < stringChunks.size(); chunk++) {
+                    long chunkStart = (long) chunk * STRING_CHUNK_BYTES;
+                    long bytes = Math.min(STRING_CHUNK_BYTES, stringHeapEnd - chunkStart);
+                    if (bytes > 0) {
+                        MemorySegment.copy(stringChunks.get(chunk), 0, out, position + chunkStart, bytes);
+                    }
+                }
+                out.force();
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to save event store", file.toString(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        recordChunks.clear();
+        stringChunks.clear();
+        if (ownsArena) {
+            arena.close();
+        }
+    }
+
+    private void attach(MemorySegment mapped, Path file) {
+        if (mapped.byteSize() < HEADER_BYTES || mapped.get(LONG, 0) != MAGIC) {
+            throw new PersistenceException("Not an event store file", file.toString());
+        }
+        if (mapped.get(INT, 8) != FORMAT_VERSION) {
+            throw new PersistenceException("Unsupported event store version " + mapped.get(INT, 8), file.toString());
+        }
+
+        recordCount = Math.toIntExact(mapped.get(LONG, 16));
+        stringHeapEnd = mapped.get(LONG, 24);
+        long recordBytes = (long) recordCount * RECORD_BYTES;
+        if (HEADER_BYTES + recordBytes + stringHeapEnd > mapped.byteSize()) {
+            throw new PersistenceException("Truncated event store file", file.toString());
+        }
+
+        adoptChunks(recordChunks, mapped.asSlice(HEADER_BYTES, recordBytes), (long) RECORDS_PER_CHUNK * RECORD_BYTES);
+        adoptChunks(stringChunks, mapped.asSlice(HEADER_BYTES + recordBytes, stringHeapEnd), STRING_CHUNK_BYTES);
+
+        for (int record = 0; record < recordCount; record++) {
+            MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+            long base = (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES;
+            if (chunk.get(BYTE, base + FLAGS) == FLAG_DELETED) {
+                deletedCount++;
+                continue;
+            }
+            if (chunk.get(INT, base + RECURRENCE_LENGTH) != ABSENT) {
+                seriesCount++;
+            }
+            appendToIndex(keyOf(chunk, base), record);
+        }
+        sortIndex();
+    }
+
+    // Full chunks are used in place; a trailing partial chunk is copied into a fresh full-size one
+    // so appends never run past the end of the mapping
+    private void adoptChunks(List<MemorySegment> chunks, MemorySegment region, long chunkBytes) {
+        for (long offset = 0; offset < region.byteSize(); offset += chunkBytes) {
+            long bytes = Math.min(chunkBytes, region.byteSize() - offset);
+            MemorySegment slice = region.asSlice(offset, bytes);
+            if (bytes == chunkBytes) {
+                chunks.add(slice);
+            } else {
+                MemorySegment copy = arena.allocate(chunkBytes, Long.BYTES);
+                MemorySegment.copy(slice, 0, copy, 0, bytes);
+                chunks.add(copy);
+            }
+        }
+    }
+
+    private void writeString(MemorySegment chunk, long offsetField, long lengthField, String value) {
+        if (value == null) {
+            chunk.set(LONG, offsetField, 0);
+            chunk.set(INT, lengthField, ABSENT);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > STRING_CHUNK_BYTES) {
+            throw new IllegalArgumentException("String too large for the event store: " + bytes.length + " bytes");
+        }
+
+        long chunkIndex = stringHeapEnd / STRING_CHUNK_BYTES;
+        long offsetInChunk = stringHeapEnd % STRING_CHUNK_BYTES;
+        if (offsetInChunk + bytes.length > STRING_CHUNK_BYTES) {
+            // Strings never straddle chunks; skip the unused tail
+            chunkIndex++;
+            offsetInChunk = 0;
+        }
+        while (stringChunks.size() <= chunkIndex) {
+            stringChunks.add(arena.allocate(STRING_CHUNK_BYTES, Long.BYTES));
+        }
+
+        MemorySegment.copy(bytes, 0, stringChunks.get((int) chunkIndex), BYTE, offsetInChunk, bytes.length);
+        long address = chunkIndex * STRING_CHUNK_BYTES + offsetInChunk;
+        chunk.set(LONG, offsetField, address);
+        chunk.set(INT, lengthField, bytes.length);
+        stringHeapEnd = address + bytes.length;
+    }
+
+    // Moves one string to the next free heap address at or after heapEnd, returning the new end
+    private long moveString(MemorySegment chunk, long offsetField, long lengthField, long heapEnd) {
+        int length = chunk.get(INT, lengthField);
+        if (length == ABSENT) {
+            return heapEnd;
+        }
+        long address = heapEnd;
+        if (address % STRING_CHUNK_BYTES + length > STRING_CHUNK_BYTES) {
+            address = (address / STRING_CHUNK_BYTES + 1) * STRING_CHUNK_BYTES;
+        }
+        long old = chunk.get(LONG, offsetField);
+        if (old != address) {
+            MemorySegment.copy(stringChunks.get((int) (old / STRING_CHUNK_BYTES)), old % STRING_CHUNK_BYTES,
+                    stringChunks.get((int) (address / STRING_CHUNK_BYTES)), address % STRING_CHUNK_BYTES, length);
+            chunk.set(LONG, offsetField, address);
+        }
+        return address + length;
+    }
+
+    private String readString(MemorySegment chunk, long offsetField, long lengthField) {
+        int length = chunk.get(INT, lengthField);
+        if (length == ABSENT) {
+            return null;
+        }
+        long address = chunk.get(LONG, offsetField);
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(stringChunks.get((int) (address / STRING_CHUNK_BYTES)), BYTE,
+                address % STRING_CHUNK_BYTES, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Event materialize(int record) {
+        MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+        long base = (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES;
+
+        String customId = readString(chunk, base + CUSTOM_ID_OFFSET, base + CUSTOM_ID_LENGTH);
+        Event.Builder builder = customId != null
+                ? Event.builder().id(customId)
+                : Event.builder().id(chunk.get(LONG, base + ID_HIGH), chunk.get(LONG, base + ID_LOW));
+        String recurrence = readString(chunk, base + RECURRENCE_OFFSET, base + RECURRENCE_LENGTH);
+
+        return builder
+                .date(LocalDate.ofEpochDay(chunk.get(INT, base + EPOCH_DAY)))
+                .time(LocalTime.ofSecondOfDay(chunk.get(INT, base + SECOND_OF_DAY)))
+                .duration(Duration.ofSeconds(chunk.get(INT, base + DURATION_SECONDS)))
+                .title(readString(chunk, base + TITLE_OFFSET, base + TITLE_LENGTH))
+                .description(readString(chunk, base + DESCRIPTION_OFFSET, base + DESCRIPTION_LENGTH))
+                .category(CATEGORIES[chunk.get(BYTE, base + CATEGORY)])
+                .priority(PRIORITIES[chunk.get(BYTE, base + PRIORITY)])
+                .createdAt(LocalDateTime.ofEpochSecond(chunk.get(LONG, base + CREATED_SECONDS),
+                        chunk.get(INT, base + CREATED_NANOS), ZoneOffset.UTC))
+                .recurrence(recurrence != null ? RecurrenceRule.parse(recurrence) : null)
+                .build();
+    }
+
+    private boolean isRecurring(int record) {
+        MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+        return chunk.get(INT, (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES + RECURRENCE_LENGTH) != ABSENT;
+    }
+
+    private boolean isDeleted(int record) {
+        MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+        return chunk.get(BYTE, (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES + FLAGS) == FLAG_DELETED;
+    }
+
+    private long keyOf(MemorySegment chunk, long base) {
+        return Event.sortKey(chunk.get(INT, base + EPOCH_DAY), chunk.get(INT, base + SECOND_OF_DAY),
+                PRIORITIES[chunk.get(BYTE, base + PRIORITY)]);
+    }
+
+    private int recordOf(String id) {
+        Objects.requireNonNull(id, "Id cannot be null");
+        UUID uuid = Event.parseCanonicalUuid(id);
+        for (int record = 0; record < recordCount; record++) {
+            MemorySegment chunk = recordChunks.get(record / RECORDS_PER_CHUNK);
+            long base = (long) (record % RECORDS_PER_CHUNK) * RECORD_BYTES;
+            if (chunk.get(BYTE, base + FLAGS) == FLAG_DELETED) {
+                continue;
+            }
+            boolean customId = chunk.get(INT, base + CUSTOM_ID_LENGTH) != ABSENT;
+            if (uuid != null && !customId
+                    && chunk.get(LONG, base + ID_HIGH) == uuid.getMostSignificantBits()
+                    && chunk.get(LONG, base + ID_LOW) == uuid.getLeastSignificantBits()) {
+                return record;
+            }
+            if (uuid == null && customId && id.equals(readString(chunk, base + CUSTOM_ID_OFFSET, base + CUSTOM_ID_LENGTH))) {
+                return record;
+            }
+        }
+        return -1;
+    }
+
+    private void appendToIndex(long key, int record) {
+        if (indexCount == indexKeys.length) {
+            int capacity = indexKeys.length + (indexKeys.length >> 1);
+            indexKeys = Arrays.copyOf(indexKeys, capacity);
+            indexRecords = Arrays.copyOf(indexRecords, capacity);
+        }
+        indexKeys[indexCount] = key;
+        indexRecords[indexCount] = record;
+        indexCount++;
+    }
+
+    // Sorts the appended tail, merges it into the sorted prefix and drops deleted records in one pass
+    private void sortIndex() {
+        if (sortedCount == indexCount && !indexHasDeletes) {
+            return;
+        }
+
+        mergeSort(indexKeys, indexRecords, sortedCount, indexCount,
+                new long[indexCount - sortedCount], new int[indexCount - sortedCount]);
+
+        long[] keys = new long[Math.max(indexCount, 16)];
+        int[] records = new int[keys.length];
+        int left = 0;
+        int right = sortedCount;
+        int count = 0;
+        while (left < sortedCount || right < indexCount) {
+            int take;
+            if (right >= indexCount || (left < sortedCount && indexKeys[left] <= indexKeys[right])) {
+                take = left++;
+            } else {
+                take = right++;
+            }
+            if (!indexHasDeletes || !isDeleted(indexRecords[take])) {
+                keys[count] = indexKeys[take];
+                records[count] = indexRecords[take];
+                count++;
+            }
+        }
+
+        indexKeys = keys;
+        indexRecords = records;
+        indexCount = count;
+        sortedCount = count;
+        indexHasDeletes = false;
+    }
+
+    // Stable, so equal keys keep insertion order like duplicates in EventBST
+    private static void mergeSort(long[] keys, int[] records, int from, int to, long[] keyBuffer, int[] recordBuffer) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(keys, records, from, mid, keyBuffer, recordBuffer);
+        mergeSort(keys, records, mid, to, keyBuffer, recordBuffer);
+        if (keys[mid - 1] <= keys[mid]) {
+            return;
+        }
+
+        int length = mid - from;
+        System.arraycopy(keys, from, keyBuffer, 0, length);
+        System.arraycopy(records, from, recordBuffer, 0, length);
+
+        int left = 0;
+        int right = mid;
+        int out = from;
+        while (left < length && right < to) {
+            if (keyBuffer[left] <= keys[right]) {
+                keys[out] = keyBuffer[left];
+                records[out++] = recordBuffer[left++];
+            } else {
+                keys[out] = keys[right];
+                records[out++] = records[right++];
+            }
+        }
+        while (left < length) {
+            keys[out] = keyBuffer[left];
+            records[out++] = recordBuffer[left++];
+        }
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = indexCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (indexKeys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
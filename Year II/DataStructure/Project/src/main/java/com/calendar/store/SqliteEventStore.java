@@ -0,0 +1,272 @@
+package com.calendar.store;
+
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+// Events in an SQLite table instead of the heap, so a calendar too large to load can still be
+// queried: range queries run as indexed SQL and only the matching rows are materialised. Dates
+// are stored as epoch days and times as seconds of the day so the (date, time) index orders rows
+// by start.
+public class SqliteEventStore implements EventStore, AutoCloseable {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private static final String COLUMNS =
+            "id, date, time, duration, title, description, category, priority, created_at, recurrence";
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS events (
+                id          TEXT PRIMARY KEY,
+                date        INTEGER NOT NULL,
+                time        INTEGER NOT NULL,
+                duration    INTEGER NOT NULL,
+                title       TEXT NOT NULL,
+                description TEXT,
+                category    TEXT NOT NULL,
+                priority    TEXT NOT NULL,
+                created_at  TEXT NOT NULL,
+                recurrence  TEXT
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS events_by_start ON events (date, time)",
+            // Series are few; this keeps the lookup of series started before a range cheap
+            "CREATE INDEX IF NOT EXISTS series_by_start ON events (date) WHERE recurrence IS NOT NULL"
+    };
+
+    private final Path file;
+    private final Connection connection;
+    private final PreparedStatement insert;
+    private final PreparedStatement selectById;
+    private final PreparedStatement deleteById;
+    private final PreparedStatement selectRange;
+    private final PreparedStatement selectSeries;
+    private final PreparedStatement count;
+
+    public SqliteEventStore(Path file) {
+        this.file = Objects.requireNonNull(file, "File cannot be null");
+        try {
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                // WAL lets readers keep going while a batch is written; NORMAL only syncs at checkpoints
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+            }
+            this.insert = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO events (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            this.selectById = connection.prepareStatement("SELECT " + COLUMNS + " FROM events WHERE id = ?");
+            this.deleteById = connection.prepareStatement("DELETE FROM events WHERE id = ?");
+            this.selectRange = connection.prepareStatement("SELECT " + COLUMNS + " FROM events"
+                    + " WHERE date BETWEEN ? AND ? AND recurrence IS NULL ORDER BY date, time");
+            this.selectSeries = connection.prepareStatement("SELECT " + COLUMNS + " FROM events"
+                    + " WHERE recurrence IS NOT NULL AND date <= ?");
+            this.count = connection.prepareStatement("SELECT COUNT(*) FROM events");
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to open event database", file.toString(), e);
+        }
+    }
+
+    // Inserting an id that is already stored replaces that event
+    @Override
+    public void insert(Event event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+        try {
+            bind(insert, event);
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to insert event", file.toString(), e);
+        }
+    }
+
+    // One transaction for the whole collection, flushed to SQLite every BATCH_SIZE rows; a failure
+    // rolls everything back
+    public void insertAll(Collection<Event> events) {
+        Objects.requireNonNull(events, "Events cannot be null");
+        try {
+            connection.setAutoCommit(false);
+            try {
+                int pending = 0;
+                for (Event event : events) {
+                    bind(insert, event);
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                insert.clearBatch();
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to insert events", file.toString(), e);
+        }
+    }
+
+    @Override
+    public Event findById(String id) {
+        Objects.requireNonNull(id, "Id cannot be null");
+        try {
+            selectById.setString(1, id);
+            try (ResultSet rows = selectById.executeQuery()) {
+                if (!rows.next()) {
+                    throw new EventNotFoundException("id=" + id);
+                }
+                return read(rows);
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to find event", file.toString(), e);
+        }
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        Objects.requireNonNull(id, "Id cannot be null");
+        try {
+            deleteById.setString(1, id);
+            if (deleteById.executeUpdate() == 0) {
+                throw new EventNotFoundException("id=" + id);
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to delete event", file.toString(), e);
+        }
+    }
+
+    @Override
+    public List<Event> findEventsByDate(LocalDate date) {
+        Objects.requireNonNull(date, "Date cannot be null");
+        return findEventsInRange(date, date);
+    }
+
+    // One-off events come straight from the index in start order; series that began before the
+    // end of the range are expanded in memory like the other stores do
+    @Override
+    public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+        Objects.requireNonNull(startDate, "Start date cannot be null");
+        Objects.requireNonNull(endDate, "End date cannot be null");
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidDateRangeException(startDate, endDate);
+        }
+
+        List<Event> events = new ArrayList<>();
+        try {
+            selectRange.setLong(1, startDate.toEpochDay());
+            selectRange.setLong(2, endDate.toEpochDay());
+            try (ResultSet rows = selectRange.executeQuery()) {
+                while (rows.next()) {
+                    events.add(read(rows));
+                }
+            }
+
+            selectSeries.setLong(1, endDate.toEpochDay());
+            try (ResultSet rows = selectSeries.executeQuery()) {
+                while (rows.next()) {
+                    events.addAll(read(rows).occurrencesBetween(startDate, endDate));
+                }
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to query events", file.toString(), e);
+        }
+        // Rows arrive in (date, time) order, so this only settles ties by priority and places
+        // any occurrences
+        events.sort(null);
+        return events;
+    }
+
+    public List<Event> getAllEvents() {
+        List<Event> events = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT " + COLUMNS + " FROM events ORDER BY date, time")) {
+            while (rows.next()) {
+                events.add(read(rows));
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to read events", file.toString(), e);
+        }
+        events.sort(null);
+        return events;
+    }
+
+    @Override
+    public int getSize() {
+        try (ResultSet rows = count.executeQuery()) {
+            return rows.next() ? rows.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to count events", file.toString(), e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to close event database", file.toString(), e);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Event event) throws SQLException {
+        statement.setString(1, event.getId());
+        statement.setLong(2, event.getDate().toEpochDay());
+        statement.setInt(3, event.getTime().toSecondOfDay());
+        statement.setLong(4, event.getDuration().getSeconds());
+        statement.setString(5, event.getTitle());
+        statement.setString(6, event.getDescription());
+        statement.setString(7, event.getCategory().name());
+        statement.setString(8, event.getPriority().name());
+        statement.setString(9, event.getCreatedAt().toString());
+        statement.setString(10, event.isRecurring() ? event.getRecurrence().toString() : null);
+    }
+
+    private static Event read(ResultSet rows) throws SQLException {
+        String recurrence = rows.getString(10);
+        return Event.builder()
+                .id(rows.getString(1))
+                .date(LocalDate.ofEpochDay(rows.getLong(2)))
+                .time(LocalTime.ofSecondOfDay(rows.getInt(3)))
+                .duration(Duration.ofSeconds(rows.getLong(4)))
+                .title(rows.getString(5))
+                .description(rows.getString(6))
+                .category(EventCategory.valueOf(rows.getString(7)))
+                .priority(EventPriority.valueOf(rows.getString(8)))
+                .createdAt(LocalDateTime.parse(rows.getString(9)))
+                .recurrence(recurrence != null ? RecurrenceRule.parse(recurrence) : null)
+                .build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.calendar.store;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Recent events stay in the EventBST; anything starting before the horizon can be moved into
+// immutable cold segments on disk. Range queries read both tiers and merge them by start. With
+// auto-archive on, the first insert of each day archives whatever has crossed the horizon since,
+// as the cutoff only moves once a day; otherwise archive() has to be called.
+public class TieredEventStore implements EventStore {
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".cold";
+
+    private static final Predicate<Event> ARCHIVABLE = event -> !event.isRecurring();
+
+    private final EventBST hot;
+    private final Path coldDirectory;
+    private final Period horizon;
+    private final List<ColdSegment> segments;
+    private int nextSegment;
+    private boolean autoArchive;
+    // Cutoff of the last automatic archive, so it runs once per day rather than per insert
+    private LocalDate lastCutoff;
+
+    public TieredEventStore(Path coldDirectory, Period horizon) {
+        this(new EventBST(), coldDirectory, horizon);
+    }
+
+    // Segments already in the directory are opened; only their headers and sparse indexes are read
+    public TieredEventStore(EventBST hot, Path coldDirectory, Period horizon) {
+        this.hot = Objects.requireNonNull(hot, "Hot tier cannot be null");
+        this.coldDirectory = Objects.requireNonNull(coldDirectory, "Cold directory cannot be null");
+        this.horizon = Objects.requireNonNull(horizon, "Horizon cannot be null");
+        if (horizon.isNegative()) {
+            throw new IllegalArgumentException("Horizon cannot be negative");
+        }
+        this.segments = new ArrayList<>();
+
+        if (Files.isDirectory(coldDirectory)) {
+            try (Stream<Path> files = Files.list(coldDirectory)) {
+                for (Path file : files.filter(TieredEventStore::isSegmentFile).sorted().toList()) {
+                    segments.add(ColdSegment.open(file));
+                    nextSegment = Math.max(nextSegment, segmentNumber(file) + 1);
+                }
+            } catch (IOException e) {
+                throw new PersistenceException("Failed to list cold segments", coldDirectory.toString(), e);
+            }
+        }
+    }
+
+    public int archive() {
+        return archiveBefore(LocalDate.now().minus(horizon));
+    }
+
+    // Moves one-off events starting before the cutoff into a new segment. Series stay hot because
+    // they keep producing occurrences after their first date. The segment is written before anything
+    // leaves the hot tier, so a failed write loses nothing, and series are never cut out at all.
+    public int archiveBefore(LocalDate cutoff) {
+        Objects.requireNonNull(cutoff, "Cutoff date cannot be null");
+        List<Event> archived = hot.stream()
+                .takeWhile(event -> event.getDate().isBefore(cutoff))
+                .filter(ARCHIVABLE)
+                .toList();
+        if (archived.isEmpty()) {
+            return 0;
+        }
+
+        Path file = coldDirectory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, nextSegment++, SEGMENT_SUFFIX));
+        segments.add(ColdSegment.write(file, archived));
+        hot.deleteRange(LocalDate.MIN, cutoff.minusDays(1), ARCHIVABLE);
+        return archived.size();
+    }
+
+    @Override
+    public void insert(Event event) {
+        hot.insert(event);
+        if (autoArchive) {
+            LocalDate cutoff = LocalDate.now().minus(horizon);
+            if (!cutoff.equals(lastCutoff)) {
+                lastCutoff = cutoff;
+                archiveBefore(cutoff);
+            }
+        }
+    }
+
+    @Override
+    public Event findById(String id) {
+        try {
+            return hot.findById(id);
+        } catch (EventNotFoundException e) {
+            Predicate<Event> matcher = Event.idMatcher(id);
+            for (ColdSegment segment : segments) {
+                Event event = segment.find(matcher);
+                if (event != null) {
+                    return event;
+                }
+            }
+            throw e;
+        }
+    }
+
+    // Segments are immutable, so removing an archived event rewrites its segment without it
+    @Override
+    public boolean deleteById(String id) {
+        try {
+            return hot.deleteById(id);
+        } catch (EventNotFoundException e) {
+            Predicate<Event> matcher = Event.idMatcher(id);
+            for (int i = 0; i < segments.size(); i++) {
+                ColdSegment segment = segments.get(i);
+                if (segment.find(matcher) != null) {
+                    replaceSegment(i, segment.getAllEvents().stream().filter(matcher.negate()).toList());
+                    return true;
+                }
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Event> findEventsByDate(LocalDate date) {
+        Objects.requireNonNull(date, "Date cannot be null");
+        return findEventsInRange(date, date);
+    }
+
+    @Override
+    public List<Event> findEventsInRange(LocalDate startDate, LocalDate endDate) {
+        List<Event> events = hot.findEventsInRange(startDate, endDate);
+        for (ColdSegment segment : segments) {
+            if (segment.overlaps(startDate, endDate)) {
+                events = merge(events, segment.findEventsInRange(startDate, endDate));
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public int getSize() {
+        return hot.getSize() + getColdSize();
+    }
+
+    public int getColdSize() {
+        int total = 0;
+        for (ColdSegment segment : segments) {
+            total += segment.getSize();
+        }
+        return total;
+    }
+
+    public EventBST getHotTier() {
+        return hot;
+    }
+
+    public List<ColdSegment> getSegments() {
+        return Collections.unmodifiableList(segments);
+    }
+
+    public Period getHorizon() {
+        return horizon;
+    }
+
+    public void setAutoArchive(boolean autoArchive) {
+        this.autoArchive = autoArchive;
+        lastCutoff = null;
+    }
+
+    public boolean isAutoArchive() {
+        return autoArchive;
+    }
+
+    private void replaceSegment(int index, List<Event> remaining) {
+        ColdSegment segment = segments.get(index);
+        try {
+            if (remaining.isEmpty()) {
+                Files.delete(segment.getFile());
+                segments.remove(index);
+            } else {
+                segments.set(index, ColdSegment.write(segment.getFile(), remaining));
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Failed to remove cold segment", segment.getFile().toString(), e);
+        }
+    }
+
+    private static List<Event> merge(List<Event> left, List<Event> right) {
+        if (right.isEmpty()) {
+            return left;
+        }
+        List<Event> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            if (left.get(i).compareTo(right.get(j)) <= 0) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
+    }
+
+    private static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
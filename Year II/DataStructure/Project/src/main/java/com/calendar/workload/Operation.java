@@ -0,0 +1,40 @@
+package com.calendar.workload;
+
+import com.calendar.model.Event;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+// One step of a trace; only the fields relevant to the type are set
+public record Operation(
+        OperationType type,
+        Event event,
+        String id,
+        LocalDate startDate,
+        LocalDate endDate) {
+
+    public Operation {
+        Objects.requireNonNull(type, "Operation type cannot be null");
+    }
+
+    public static Operation insert(Event event) {
+        return new Operation(OperationType.INSERT, Objects.requireNonNull(event, "Event cannot be null"),
+                null, null, null);
+    }
+
+    public static Operation findById(String id) {
+        return new Operation(OperationType.FIND_BY_ID, null, id, null, null);
+    }
+
+    public static Operation delete(String id) {
+        return new Operation(OperationType.DELETE, null, id, null, null);
+    }
+
+    public static Operation findByDate(LocalDate date) {
+        return new Operation(OperationType.FIND_BY_DATE, null, null, date, date);
+    }
+
+    public static Operation findInRange(LocalDate startDate, LocalDate endDate) {
+        return new Operation(OperationType.FIND_IN_RANGE, null, null, startDate, endDate);
+    }
+}
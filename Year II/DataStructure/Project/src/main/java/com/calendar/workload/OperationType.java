@@ -0,0 +1,19 @@
+package com.calendar.workload;
+
+public enum OperationType {
+    INSERT("Insert"),
+    FIND_BY_ID("Find by id"),
+    FIND_BY_DATE("Find by date"),
+    FIND_IN_RANGE("Range read"),
+    DELETE("Delete");
+
+    private final String displayName;
+
+    OperationType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
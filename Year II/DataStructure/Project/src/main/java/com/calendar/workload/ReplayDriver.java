@@ -0,0 +1,140 @@
+package com.calendar.workload;
+
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.metrics.LatencyHistogram;
+import com.calendar.store.EventStore;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Replays a trace against a store and records the latency of every operation by type.
+// With several threads each one takes every n-th operation, so cross-thread ordering is lost:
+// a delete or lookup may run before the insert it refers to, which is counted as a miss.
+public class ReplayDriver {
+
+    public ReplayReport replay(WorkloadTrace trace, EventStore store) {
+        return replay(trace, store, 1);
+    }
+
+    public ReplayReport replay(WorkloadTrace trace, EventStore store, int threads) {
+        Objects.requireNonNull(trace, "Trace cannot be null");
+        Objects.requireNonNull(store, "Store cannot be null");
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+
+        trace.preload().forEach(store::insert);
+
+        if (threads == 1) {
+            long start = System.nanoTime();
+            Worker worker = new Worker(trace.operations(), 0, 1, store, null);
+            worker.run();
+            return new ReplayReport(trace.operations().size(), 1, System.nanoTime() - start,
+                    worker.histograms, worker.misses);
+        }
+
+        EventStore shared = EventStore.synchronizedView(store);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Worker(trace.operations(), i, threads, shared, startSignal));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Worker worker : workers) {
+                futures.add(executor.submit(worker));
+            }
+            long start = System.nanoTime();
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Map<OperationType, LatencyHistogram> merged = newHistograms();
+            long misses = 0;
+            for (Worker worker : workers) {
+                worker.histograms.forEach((type, histogram) -> merged.get(type).merge(histogram));
+                misses += worker.misses;
+            }
+            return new ReplayReport(trace.operations().size(), threads, elapsed, merged, misses);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replay failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<OperationType, LatencyHistogram> newHistograms() {
+        Map<OperationType, LatencyHistogram> histograms = new EnumMap<>(OperationType.class);
+        for (OperationType type : OperationType.values()) {
+            histograms.put(type, new LatencyHistogram());
+        }
+        return histograms;
+    }
+
+    private static final class Worker implements Runnable {
+
+        private final List<Operation> operations;
+        private final int offset;
+        private final int stride;
+        private final EventStore store;
+        private final CountDownLatch startSignal;
+        private final Map<OperationType, LatencyHistogram> histograms = newHistograms();
+        private long misses;
+
+        Worker(List<Operation> operations, int offset, int stride, EventStore store, CountDownLatch startSignal) {
+            this.operations = operations;
+            this.offset = offset;
+            this.stride = stride;
+            this.store = store;
+            this.startSignal = startSignal;
+        }
+
+        @Override
+        public void run() {
+            if (startSignal != null) {
+                try {
+                    startSignal.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            for (int i = offset; i < operations.size(); i += stride) {
+                Operation operation = operations.get(i);
+                long start = System.nanoTime();
+                try {
+                    execute(operation);
+                } catch (EventNotFoundException e) {
+                    misses++;
+                }
+                histograms.get(operation.type()).record(System.nanoTime() - start);
+            }
+        }
+
+        private void execute(Operation operation) {
+            switch (operation.type()) {
+                case INSERT -> store.insert(operation.event());
+                case FIND_BY_ID -> store.findById(operation.id());
+                case FIND_BY_DATE -> store.findEventsByDate(operation.startDate());
+                case FIND_IN_RANGE -> store.findEventsInRange(operation.startDate(), operation.endDate());
+                case DELETE -> store.deleteById(operation.id());
+            }
+        }
+    }
+}
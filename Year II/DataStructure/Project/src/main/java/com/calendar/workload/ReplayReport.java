@@ -0,0 +1,55 @@
+package com.calendar.workload;
+
+import com.calendar.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public record ReplayReport(
+        int operations,
+        int threads,
+        long elapsedNanos,
+        Map<OperationType, LatencyHistogram> latencies,
+        long misses) {
+
+    public ReplayReport {
+        latencies = Collections.unmodifiableMap(new EnumMap<>(latencies));
+    }
+
+    public double throughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : operations * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public LatencyHistogram latency(OperationType type) {
+        return latencies.get(type);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("╔════════════════════════════════════════════════════════════════════╗\n");
+        sb.append("║          REPLAY REPORT                                             ║\n");
+        sb.append("╠════════════════════════════════════════════════════════════════════╣\n");
+        sb.append(String.format("║  Operations:  %-10d  Threads: %-4d  Misses: %-17d ║%n", operations, threads, misses));
+        sb.append(String.format("║  Elapsed:     %-10s  Throughput: %-28s ║%n",
+                String.format("%.1f ms", elapsedNanos / 1e6), String.format("%.0f ops/s", throughputPerSecond())));
+        sb.append("╠════════════════════════════════════════════════════════════════════╣\n");
+        sb.append(String.format("║  %-14s %9s %9s %9s %9s %11s ║%n", "Latency (µs)", "count", "p50", "p99", "p999", "max"));
+        for (Map.Entry<OperationType, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format("║  %-14s %9d %9.1f %9.1f %9.1f %11.1f ║%n",
+                    entry.getKey().getDisplayName(),
+                    histogram.getCount(),
+                    histogram.getValueAtPercentile(50) / 1e3,
+                    histogram.getValueAtPercentile(99) / 1e3,
+                    histogram.getValueAtPercentile(99.9) / 1e3,
+                    histogram.getMax() / 1e3));
+        }
+        sb.append("╚════════════════════════════════════════════════════════════════════╝\n");
+        return sb.toString();
+    }
+}
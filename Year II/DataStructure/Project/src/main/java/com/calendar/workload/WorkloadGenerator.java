@@ -0,0 +1,143 @@
+package com.calendar.workload;
+
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+// Produces the same trace for the same seed: ids, dates and operation order all come from one
+// SplittableRandom, and createdAt is pinned, so traces can be compared across runs and machines.
+public class WorkloadGenerator {
+
+    private static final String[] TITLES = {
+            "Standup", "1:1", "Lunch", "Design Review", "Sprint Planning", "Gym",
+            "Dentist", "Team Sync", "Lecture", "Study Group", "Dinner", "Call Mom"
+    };
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+    private final WorkloadMix mix;
+    private final LocalDate firstDay;
+
+    public WorkloadGenerator(WorkloadMix mix, LocalDate firstDay) {
+        this.mix = Objects.requireNonNull(mix, "Workload mix cannot be null");
+        this.firstDay = Objects.requireNonNull(firstDay, "First day cannot be null");
+    }
+
+    public WorkloadTrace generate(long seed, int preloadEvents, int operationCount) {
+        if (preloadEvents < 0 || operationCount < 0) {
+            throw new IllegalArgumentException("Event and operation counts cannot be negative");
+        }
+        return new Run(seed).generate(preloadEvents, operationCount);
+    }
+
+    private final class Run {
+
+        private final long seed;
+        private final SplittableRandom random;
+        private final ZipfianDistribution popularity;
+        private final int[] dayByRank;
+        private final List<String> liveIds = new ArrayList<>();
+        private final LocalDateTime createdAt;
+
+        private int burstRemaining;
+        private int burstDay;
+
+        Run(long seed) {
+            this.seed = seed;
+            this.random = new SplittableRandom(seed);
+            this.popularity = new ZipfianDistribution(mix.days(), mix.zipfExponent());
+            this.createdAt = firstDay.minusDays(1).atStartOfDay();
+
+            // Hot days are scattered over the calendar rather than being the first few
+            dayByRank = new int[mix.days()];
+            for (int i = 0; i < dayByRank.length; i++) {
+                dayByRank[i] = i;
+            }
+            for (int i = dayByRank.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = dayByRank[i];
+                dayByRank[i] = dayByRank[j];
+                dayByRank[j] = swap;
+            }
+        }
+
+        WorkloadTrace generate(int preloadEvents, int operationCount) {
+            List<Event> preload = new ArrayList<>(preloadEvents);
+            for (int i = 0; i < preloadEvents; i++) {
+                Event event = newEvent(hotDay());
+                liveIds.add(event.getId());
+                preload.add(event);
+            }
+
+            List<Operation> operations = new ArrayList<>(operationCount);
+            for (int i = 0; i < operationCount; i++) {
+                operations.add(nextOperation());
+            }
+            return new WorkloadTrace(seed, preload, operations);
+        }
+
+        private Operation nextOperation() {
+            if (burstRemaining == 0 && mix.insertWeight() > 0 && random.nextDouble() < mix.burstProbability()) {
+                burstRemaining = mix.burstLength();
+                burstDay = hotDay();
+            }
+            if (burstRemaining > 0) {
+                burstRemaining--;
+                return insert(burstDay);
+            }
+
+            int pick = random.nextInt(mix.totalWeight());
+            if ((pick -= mix.insertWeight()) < 0) {
+                return insert(hotDay());
+            }
+            if ((pick -= mix.findByIdWeight()) < 0 && !liveIds.isEmpty()) {
+                return Operation.findById(liveIds.get(random.nextInt(liveIds.size())));
+            }
+            if (pick < 0 || (pick -= mix.findByDateWeight()) < 0) {
+                return Operation.findByDate(firstDay.plusDays(hotDay()));
+            }
+            if ((pick -= mix.rangeWeight()) < 0 || liveIds.isEmpty()) {
+                LocalDate start = firstDay.plusDays(hotDay());
+                return Operation.findInRange(start, start.plusDays(mix.rangeDays() - 1));
+            }
+
+            // Swap-remove keeps the delete O(1); a deleted id is never chosen again
+            int index = random.nextInt(liveIds.size());
+            String id = liveIds.get(index);
+            liveIds.set(index, liveIds.get(liveIds.size() - 1));
+            liveIds.remove(liveIds.size() - 1);
+            return Operation.delete(id);
+        }
+
+        private Operation insert(int day) {
+            Event event = newEvent(day);
+            liveIds.add(event.getId());
+            return Operation.insert(event);
+        }
+
+        private int hotDay() {
+            return dayByRank[popularity.sample(random)];
+        }
+
+        private Event newEvent(int day) {
+            return Event.builder()
+                    .id(random.nextLong(), random.nextLong())
+                    .date(firstDay.plusDays(day))
+                    .time(LocalTime.of(6 + random.nextInt(16), random.nextInt(4) * 15))
+                    .durationMinutes(15 * (1 + random.nextInt(8)))
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.calendar.workload;
+
+// Relative operation weights plus the shape of the traffic. Weights need not sum to anything.
+public record WorkloadMix(
+        int insertWeight,
+        int findByIdWeight,
+        int findByDateWeight,
+        int rangeWeight,
+        int deleteWeight,
+        int days,
+        double zipfExponent,
+        double burstProbability,
+        int burstLength,
+        int rangeDays) {
+
+    public WorkloadMix {
+        if (insertWeight < 0 || findByIdWeight < 0 || findByDateWeight < 0 || rangeWeight < 0 || deleteWeight < 0) {
+            throw new IllegalArgumentException("Operation weights cannot be negative");
+        }
+        if (insertWeight + findByIdWeight + findByDateWeight + rangeWeight + deleteWeight == 0) {
+            throw new IllegalArgumentException("At least one operation weight must be positive");
+        }
+        if (days < 1) {
+            throw new IllegalArgumentException("Workload must span at least one day");
+        }
+        if (zipfExponent < 0) {
+            throw new IllegalArgumentException("Zipf exponent cannot be negative");
+        }
+        if (burstProbability < 0 || burstProbability > 1) {
+            throw new IllegalArgumentException("Burst probability must be between 0 and 1");
+        }
+        if (burstLength < 1) {
+            throw new IllegalArgumentException("Burst length must be at least 1");
+        }
+        if (rangeDays < 1) {
+            throw new IllegalArgumentException("Range reads must cover at least one day");
+        }
+    }
+
+    // Read-heavy calendar traffic: most requests look at a handful of hot days
+    public static WorkloadMix defaults() {
+        return new WorkloadMix(20, 10, 40, 25, 5, 365, 1.1, 0.002, 50, 7);
+    }
+
+    public WorkloadMix withWeights(int insert, int findById, int findByDate, int range, int delete) {
+        return new WorkloadMix(insert, findById, findByDate, range, delete,
+                days, zipfExponent, burstProbability, burstLength, rangeDays);
+    }
+
+    public WorkloadMix withDays(int days) {
+        return new WorkloadMix(insertWeight, findByIdWeight, findByDateWeight, rangeWeight, deleteWeight,
+                days, zipfExponent, burstProbability, burstLength, rangeDays);
+    }
+
+    public WorkloadMix withZipfExponent(double zipfExponent) {
+        return new WorkloadMix(insertWeight, findByIdWeight, findByDateWeight, rangeWeight, deleteWeight,
+                days, zipfExponent, burstProbability, burstLength, rangeDays);
+    }
+
+    public WorkloadMix withBursts(double burstProbability, int burstLength) {
+        return new WorkloadMix(insertWeight, findByIdWeight, findByDateWeight, rangeWeight, deleteWeight,
+                days, zipfExponent, burstProbability, burstLength, rangeDays);
+    }
+
+    int totalWeight() {
+        return insertWeight + findByIdWeight + findByDateWeight + rangeWeight + deleteWeight;
+    }
+}
@@ -0,0 +1,27 @@
+package com.calendar.workload;
+
+import com.calendar.model.Event;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Events loaded before timing starts, then the operations to replay in order
+public record WorkloadTrace(long seed, List<Event> preload, List<Operation> operations) {
+
+    public WorkloadTrace {
+        preload = List.copyOf(preload);
+        operations = List.copyOf(operations);
+    }
+
+    public Map<OperationType, Integer> countByType() {
+        Map<OperationType, Integer> counts = new EnumMap<>(OperationType.class);
+        for (OperationType type : OperationType.values()) {
+            counts.put(type, 0);
+        }
+        for (Operation operation : operations) {
+            counts.merge(operation.type(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
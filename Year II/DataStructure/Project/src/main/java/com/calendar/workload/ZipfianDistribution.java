@@ -0,0 +1,28 @@
+package com.calendar.workload;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Rank k (0-based) is drawn with probability proportional to 1 / (k + 1)^s, via a precomputed CDF
+final class ZipfianDistribution {
+
+    private final double[] cumulative;
+
+    ZipfianDistribution(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
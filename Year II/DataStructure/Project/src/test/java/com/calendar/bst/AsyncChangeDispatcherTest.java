@@ -0,0 +1,158 @@
+package com.calendar.bst;
+
+import com.calendar.model.Event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AsyncChangeDispatcher class.
+ * Tests ordered delivery off the writing thread, overflow and subscriber failures.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("AsyncChangeDispatcher Class Tests")
+class AsyncChangeDispatcherTest {
+
+    private final LocalDate start = LocalDate.of(2026, 1, 1);
+
+    private Event createEvent(int index) {
+        return Event.builder()
+                .date(start.plusDays(index % 365))
+                .time(LocalTime.of(9, 0))
+                .title("Event " + index)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should deliver every change in order on another thread")
+    void shouldDeliverInOrder() {
+        List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        EventBST calendar = new EventBST();
+
+        try (AsyncChangeDispatcher dispatcher = new AsyncChangeDispatcher(change -> {
+            sequences.add(change.sequence());
+            threads.add(Thread.currentThread());
+        }, 64)) {
+            calendar.addChangeListener(dispatcher);
+            for (int i = 0; i < 10_000; i++) {
+                calendar.insert(createEvent(i));
+                if (i % 50 == 0) {
+                    dispatcher.flush();
+                }
+            }
+            dispatcher.flush();
+
+            assertEquals(10_000, dispatcher.getDeliveredCount());
+            assertEquals(0, dispatcher.getPendingCount());
+        }
+
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(i + 1, sequences.get(i));
+        }
+        assertTrue(threads.stream().noneMatch(thread -> thread == Thread.currentThread()));
+    }
+
+    @Test
+    @DisplayName("Should drop changes instead of blocking when the subscriber falls behind")
+    void shouldDropWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        EventBST calendar = new EventBST();
+
+        AsyncChangeDispatcher dispatcher = new AsyncChangeDispatcher(change -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 8);
+        try {
+            calendar.addChangeListener(dispatcher);
+            calendar.insert(createEvent(0));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i <= 20; i++) {
+                calendar.insert(createEvent(i));
+            }
+
+            // The change being delivered keeps its slot until the subscriber returns
+            assertEquals(21, calendar.getSize());
+            assertEquals(8, dispatcher.getPendingCount());
+            assertEquals(13, dispatcher.getDroppedCount());
+        } finally {
+            release.countDown();
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep delivering after the subscriber throws")
+    void shouldSurviveSubscriberFailure() {
+        List<EventChange> delivered = Collections.synchronizedList(new ArrayList<>());
+        EventBST calendar = new EventBST();
+
+        try (AsyncChangeDispatcher dispatcher = new AsyncChangeDispatcher(change -> {
+            if (change.sequence() == 2) {
+                throw new IllegalStateException("Index unavailable");
+            }
+            delivered.add(change);
+        })) {
+            calendar.addChangeListener(dispatcher);
+            for (int i = 0; i < 3; i++) {
+                calendar.insert(createEvent(i));
+            }
+            dispatcher.flush();
+
+            assertEquals(2, delivered.size());
+            assertEquals(1, dispatcher.getFailureCount());
+            assertEquals("Index unavailable", dispatcher.getLastError().getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver queued changes on close and then drop new ones")
+    void shouldDrainOnClose() {
+        List<EventChange> delivered = Collections.synchronizedList(new ArrayList<>());
+        AsyncChangeDispatcher dispatcher = new AsyncChangeDispatcher(delivered::add);
+        EventBST calendar = new EventBST();
+        calendar.addChangeListener(dispatcher);
+        for (int i = 0; i < 100; i++) {
+            calendar.insert(createEvent(i));
+        }
+
+        dispatcher.close();
+
+        assertEquals(100, delivered.size());
+        calendar.insert(createEvent(100));
+        assertEquals(101, calendar.getSize());
+        assertEquals(100, delivered.size());
+        assertEquals(1, dispatcher.getDroppedCount());
+        assertEquals(0, calendar.getListenerFailureCount());
+    }
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two")
+    void shouldRoundCapacity() {
+        try (AsyncChangeDispatcher dispatcher = new AsyncChangeDispatcher(change -> { }, 1000)) {
+            assertEquals(1024, dispatcher.getCapacity());
+        }
+        try (AsyncChangeDispatcher dispatcher = new AsyncChangeDispatcher(change -> { }, 1)) {
+            assertEquals(1, dispatcher.getCapacity());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AsyncChangeDispatcher(change -> { }, 0));
+    }
+}
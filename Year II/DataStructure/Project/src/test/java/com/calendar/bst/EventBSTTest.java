@@ -3,19 +3,35 @@ package com.calendar.bst;
 import com.calendar.exception.EventConflictException;
 import com.calendar.exception.EventNotFoundException;
 import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.metrics.CalendarMetrics;
+import com.calendar.metrics.MetricsSnapshot;
 import com.calendar.model.Event;
 import com.calendar.model.EventCategory;
 import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+import com.calendar.store.ChangeSet;
+import com.calendar.store.EventStore;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -272,6 +288,576 @@ class EventBSTTest {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk Delete Operations")
+    class BulkDeleteTests {
+
+        private final LocalDate start = LocalDate.of(2026, 5, 1);
+
+        @BeforeEach
+        void fillMonth() {
+            for (int day = 0; day < 31; day++) {
+                bst.insert(Event.builder()
+                        .date(start.plusDays(day))
+                        .time(LocalTime.of(9, 0))
+                        .title("Day " + day)
+                        .category(day % 3 == 0 ? EventCategory.TRAVEL : EventCategory.WORK)
+                        .build());
+            }
+        }
+
+        @Test
+        @DisplayName("Should delete every event in an inclusive date range")
+        void shouldDeleteRange() {
+            int modifications = bst.getModificationCount();
+            List<Event> removed = bst.deleteRange(start.plusDays(10), start.plusDays(19));
+
+            assertEquals(10, removed.size());
+            assertEquals(start.plusDays(10), removed.get(0).getDate());
+            assertEquals(21, bst.getSize());
+            assertEquals(modifications + 1, bst.getModificationCount());
+            assertTrue(bst.findEventsInRange(start.plusDays(10), start.plusDays(19)).isEmpty());
+            assertEquals(21, bst.getAllEvents().size());
+            assertEquals(8, bst.countByCategory(EventCategory.TRAVEL));
+        }
+
+        @Test
+        @DisplayName("Should keep the tree ordered after a range delete")
+        void shouldKeepOrderAfterRangeDelete() {
+            bst.deleteRange(start.minusDays(5), start.plusDays(3));
+            bst.deleteRange(start.plusDays(28), start.plusDays(40));
+
+            List<Event> all = bst.getAllEvents();
+            assertEquals(24, all.size());
+            for (int i = 1; i < all.size(); i++) {
+                assertTrue(all.get(i - 1).compareTo(all.get(i)) <= 0);
+            }
+            Event survivor = all.get(5);
+            assertSame(survivor, bst.findById(survivor.getId()));
+        }
+
+        @Test
+        @DisplayName("Should leave the tree untouched when the range is empty")
+        void shouldIgnoreEmptyRange() {
+            int modifications = bst.getModificationCount();
+            assertTrue(bst.deleteRange(start.plusYears(1), start.plusYears(2)).isEmpty());
+            assertEquals(31, bst.getSize());
+            assertEquals(modifications, bst.getModificationCount());
+        }
+
+        @Test
+        @DisplayName("Should reject an inverted range")
+        void shouldRejectInvertedRange() {
+            assertThrows(InvalidDateRangeException.class,
+                    () -> bst.deleteRange(start.plusDays(1), start));
+        }
+
+        @Test
+        @DisplayName("Should only delete range events matching the predicate")
+        void shouldDeleteRangeMatching() {
+            List<Event> removed = bst.deleteRange(start, start.plusDays(29),
+                    e -> e.getCategory() == EventCategory.TRAVEL);
+
+            assertEquals(10, removed.size());
+            assertEquals(21, bst.getSize());
+            assertEquals(1, bst.countByCategory(EventCategory.TRAVEL));
+            assertEquals(20, bst.findEventsInRange(start, start.plusDays(29)).size());
+            List<Event> all = bst.getAllEvents();
+            for (int i = 1; i < all.size(); i++) {
+                assertTrue(all.get(i - 1).compareTo(all.get(i)) <= 0);
+            }
+            Event survivor = all.get(7);
+            assertSame(survivor, bst.findById(survivor.getId()));
+        }
+
+        @Test
+        @DisplayName("Should leave the tree's shape alone when nothing in the range matches")
+        void shouldNotReshapeWithoutMatches() {
+            String shape = bst.getTreeStructure();
+            int modifications = bst.getModificationCount();
+            Spliterator<Event> spliterator = bst.spliterator();
+            spliterator.tryAdvance(e -> { });
+
+            assertTrue(bst.deleteRange(start, start.plusDays(29), e -> false).isEmpty());
+
+            assertEquals(shape, bst.getTreeStructure());
+            assertEquals(modifications, bst.getModificationCount());
+            assertDoesNotThrow(() -> spliterator.forEachRemaining(e -> { }));
+        }
+
+        @Test
+        @DisplayName("Should delete matching events in one pass")
+        void shouldDeleteIf() {
+            int modifications = bst.getModificationCount();
+            List<Event> removed = bst.deleteIf(e -> e.getCategory() == EventCategory.TRAVEL);
+
+            assertEquals(11, removed.size());
+            assertEquals(20, bst.getSize());
+            assertEquals(modifications + 1, bst.getModificationCount());
+            assertEquals(0, bst.countByCategory(EventCategory.TRAVEL));
+            assertTrue(bst.getAllEvents().stream().noneMatch(e -> e.getCategory() == EventCategory.TRAVEL));
+            assertTrue(bst.isBalanced());
+        }
+
+        @Test
+        @DisplayName("Should delete by id among equal keys after a balanced rebuild")
+        void shouldDeleteEqualKeysAfterRebuild() {
+            bst.clear();
+            List<Event> sameSlot = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                sameSlot.add(createEvent(start, LocalTime.of(9, 0), "Slot " + i));
+            }
+            bst.bulkLoad(sameSlot);
+            bst.deleteIf(e -> false);
+
+            for (Event event : sameSlot) {
+                assertTrue(bst.deleteById(event.getId()));
+                assertEquals(bst.getSize(), bst.getAllEvents().size());
+                assertFalse(bst.getAllEvents().contains(event));
+            }
+            assertTrue(bst.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should refresh cached queries after a bulk delete")
+        void shouldInvalidateCache() {
+            bst.enableQueryCache(8);
+            bst.findEventsByDate(start);
+            bst.findEventsByDate(start.plusDays(1));
+
+            bst.deleteRange(start, start);
+            assertTrue(bst.findEventsByDate(start).isEmpty());
+            assertEquals(1, bst.findEventsByDate(start.plusDays(1)).size());
+            assertEquals(1, bst.getQueryCacheStatistics().hits());
+
+            bst.deleteIf(e -> true);
+            assertTrue(bst.findEventsByDate(start.plusDays(1)).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Split and Merge Operations")
+    class SplitMergeTests {
+
+        private final LocalDate pivot = LocalDate.of(2026, 7, 1);
+
+        private EventBST calendarOf(LocalDate first, int days, String prefix) {
+            EventBST calendar = new EventBST();
+            for (int day = 0; day < days; day++) {
+                calendar.insert(createEvent(first.plusDays(day), LocalTime.of(9, 0), prefix + day));
+            }
+            return calendar;
+        }
+
+        private void assertOrdered(EventBST calendar) {
+            List<Event> all = calendar.getAllEvents();
+            assertEquals(calendar.getSize(), all.size());
+            for (int i = 1; i < all.size(); i++) {
+                assertTrue(all.get(i - 1).compareTo(all.get(i)) <= 0);
+            }
+        }
+
+        @Test
+        @DisplayName("Should split a calendar at a pivot date")
+        void shouldSplitAtPivot() {
+            bst = calendarOf(pivot.minusDays(10), 20, "E");
+
+            EventBST tail = bst.split(pivot);
+
+            assertEquals(10, bst.getSize());
+            assertEquals(10, tail.getSize());
+            assertOrdered(bst);
+            assertOrdered(tail);
+            assertEquals(pivot, tail.getAllEvents().get(0).getDate());
+            assertTrue(bst.findEventsInRange(pivot, pivot.plusDays(30)).isEmpty());
+            assertEquals(10, tail.findEventsInRange(pivot, pivot.plusDays(30)).size());
+        }
+
+        @Test
+        @DisplayName("Should move recurring series with their first date")
+        void shouldMoveSeriesOnSplit() {
+            bst.insert(Event.builder()
+                    .date(pivot.plusDays(2))
+                    .time(LocalTime.of(7, 0))
+                    .title("Swim")
+                    .recurrence(RecurrenceRule.weekly())
+                    .build());
+
+            EventBST tail = bst.split(pivot);
+
+            assertEquals(0, bst.getRecurringSeriesCount());
+            assertEquals(1, tail.getRecurringSeriesCount());
+            assertEquals(1, tail.findEventsByDate(pivot.plusDays(9)).size());
+        }
+
+        @Test
+        @DisplayName("Should join a later calendar and empty the other")
+        void shouldJoinLaterCalendar() {
+            bst = calendarOf(pivot.minusDays(5), 5, "Early");
+            EventBST later = calendarOf(pivot, 5, "Late");
+
+            bst.join(later);
+
+            assertEquals(10, bst.getSize());
+            assertTrue(later.isEmpty());
+            assertOrdered(bst);
+            assertEquals(10, bst.countByCategory(EventCategory.OTHER));
+        }
+
+        @Test
+        @DisplayName("Should record a join as inserts of the appended events")
+        void shouldRecordJoin() {
+            bst = calendarOf(pivot.minusDays(5), 5, "Early");
+            bst.checkpoint();
+            List<EventChange> received = new ArrayList<>();
+            bst.addChangeListener(received::add);
+            EventBST later = calendarOf(pivot, 5, "Late");
+            List<Event> appended = later.getAllEvents();
+            int modifications = bst.getModificationCount();
+
+            bst.join(later);
+
+            assertEquals(modifications + 1, bst.getModificationCount());
+            assertEquals(appended, received.stream().map(EventChange::event).toList());
+            assertEquals(Set.copyOf(appended), Set.copyOf(bst.getChangesSinceCheckpoint().upserts()));
+            assertEquals(appended, bst.findEventsInRange(pivot, pivot.plusDays(10)));
+        }
+
+        @Test
+        @DisplayName("Should reject joining an overlapping calendar")
+        void shouldRejectOverlappingJoin() {
+            bst = calendarOf(pivot, 5, "Mine");
+            EventBST overlapping = calendarOf(pivot.plusDays(2), 5, "Theirs");
+
+            assertThrows(IllegalArgumentException.class, () -> bst.join(overlapping));
+            assertThrows(IllegalArgumentException.class, () -> bst.join(bst));
+            assertEquals(5, overlapping.getSize());
+        }
+
+        @Test
+        @DisplayName("Should merge interleaved calendars into a balanced tree")
+        void shouldUnionInterleavedCalendars() {
+            bst = calendarOf(pivot, 20, "Mine");
+            EventBST team = new EventBST();
+            for (int day = 0; day < 20; day += 2) {
+                team.insert(createEvent(pivot.plusDays(day), LocalTime.of(15, 0), "Team" + day));
+            }
+
+            bst.union(team);
+
+            assertEquals(30, bst.getSize());
+            assertTrue(team.isEmpty());
+            assertOrdered(bst);
+            assertTrue(bst.isBalanced());
+            assertEquals(2, bst.findEventsByDate(pivot.plusDays(4)).size());
+        }
+
+        @Test
+        @DisplayName("Should not duplicate events present in both calendars")
+        void shouldSkipSharedEvents() {
+            Event shared = createEvent(pivot, LocalTime.NOON, "Shared");
+            bst.insert(shared);
+            bst.insert(createEvent(pivot.plusDays(1), LocalTime.NOON, "Mine"));
+            EventBST other = new EventBST();
+            other.insert(shared);
+            other.insert(createEvent(pivot.minusDays(1), LocalTime.NOON, "Theirs"));
+
+            bst.union(other);
+
+            assertEquals(3, bst.getSize());
+            assertEquals(3, bst.getAllEvents().size());
+            assertSame(shared, bst.findById(shared.getId()));
+        }
+
+        @Test
+        @DisplayName("Should restore the original calendar after split and join")
+        void shouldRoundTrip() {
+            bst = calendarOf(pivot.minusDays(15), 30, "E");
+            List<Event> before = bst.getAllEvents();
+
+            bst.join(bst.split(pivot));
+
+            assertEquals(before, bst.getAllEvents());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Load")
+    class BulkLoadTests {
+
+        @Test
+        @DisplayName("Should build a balanced tree from events in start order")
+        void shouldBalanceSortedInput() {
+            List<Event> events = new ArrayList<>();
+            for (int i = 0; i < 1023; i++) {
+                events.add(createEvent(today.plusDays(i), LocalTime.NOON, "Event " + i));
+            }
+
+            bst.bulkLoad(events);
+
+            assertEquals(1023, bst.getSize());
+            assertEquals(9, bst.getHeight());
+            assertEquals(events, bst.getAllEvents());
+            assertEquals(1023, bst.countByPriority(EventPriority.MEDIUM));
+        }
+
+        @Test
+        @DisplayName("Should merge into existing events in order")
+        void shouldMergeWithExisting() {
+            bst.insert(createEvent(today.plusDays(5), LocalTime.NOON, "Existing"));
+            List<Event> events = List.of(
+                    createEvent(today.plusDays(9), LocalTime.NOON, "Late"),
+                    createEvent(today, LocalTime.NOON, "Early"));
+
+            bst.bulkLoad(events);
+
+            assertEquals(List.of("Early", "Existing", "Late"),
+                    bst.getAllEvents().stream().map(Event::getTitle).toList());
+        }
+
+        @Test
+        @DisplayName("Should skip repeated and already present events")
+        void shouldSkipDuplicates() {
+            Event present = createEvent(today, LocalTime.NOON, "Present");
+            bst.insert(present);
+            Event fresh = createEvent(today.plusDays(1), LocalTime.NOON, "Fresh");
+
+            bst.bulkLoad(List.of(present, fresh, fresh));
+
+            assertEquals(2, bst.getSize());
+            assertEquals(2, bst.getAllEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should replace an event whose id is already present at another time")
+        void shouldReplaceMovedEvent() {
+            Event original = Event.builder()
+                    .id("X-1")
+                    .date(today.plusDays(4))
+                    .time(LocalTime.NOON)
+                    .title("Planning")
+                    .build();
+            bst.insert(original);
+            bst.insert(createEvent(today.plusDays(6), LocalTime.NOON, "Other"));
+            Event moved = original.toBuilder().date(today.plusDays(8)).build();
+
+            bst.bulkLoad(List.of(moved));
+
+            assertEquals(2, bst.getSize());
+            assertSame(moved, bst.findById("X-1"));
+            assertTrue(bst.findEventsByDate(today.plusDays(4)).isEmpty());
+            assertEquals(2, bst.getAllEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should keep the last copy of an id repeated in the batch")
+        void shouldKeepLastRepeatedCopy() {
+            Event first = Event.builder()
+                    .id("X-2")
+                    .date(today)
+                    .time(LocalTime.NOON)
+                    .title("Draft")
+                    .build();
+            Event last = first.toBuilder().title("Final").build();
+
+            bst.bulkLoad(List.of(first, last));
+
+            assertEquals(1, bst.getSize());
+            assertEquals("Final", bst.findById("X-2").getTitle());
+        }
+
+        @Test
+        @DisplayName("Should record loaded events since the checkpoint")
+        void shouldTrackLoadedEvents() {
+            bst.checkpoint();
+            Event event = createEvent(today, LocalTime.NOON, "Imported");
+
+            bst.bulkLoad(List.of(event));
+
+            assertEquals(List.of(event), bst.getChangesSinceCheckpoint().upserts());
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Tracking")
+    class ChangeTrackingTests {
+
+        @Test
+        @DisplayName("Should require a full save until the first checkpoint")
+        void shouldRequireFullSaveBeforeCheckpoint() {
+            bst.insert(createEvent(today, LocalTime.NOON, "Untracked"));
+
+            assertTrue(bst.getChangesSinceCheckpoint().fullRewrite());
+            assertTrue(bst.hasChangesSinceCheckpoint());
+        }
+
+        @Test
+        @DisplayName("Should record inserted and deleted ids since the checkpoint")
+        void shouldRecordDelta() {
+            Event kept = createEvent(today, LocalTime.of(9, 0), "Kept");
+            Event removed = createEvent(today, LocalTime.of(10, 0), "Removed");
+            bst.insert(kept);
+            bst.insert(removed);
+            bst.checkpoint();
+            assertFalse(bst.hasChangesSinceCheckpoint());
+
+            Event added = createEvent(today.plusDays(1), LocalTime.NOON, "Added");
+            Event temporary = createEvent(today.plusDays(2), LocalTime.NOON, "Temporary");
+            bst.insert(added);
+            bst.insert(temporary);
+            bst.deleteById(temporary.getId());
+            bst.deleteById(removed.getId());
+
+            ChangeSet changes = bst.getChangesSinceCheckpoint();
+            assertFalse(changes.fullRewrite());
+            assertEquals(List.of(added), changes.upserts());
+            assertEquals(Set.of(removed.getId(), temporary.getId()), changes.deletedIds());
+        }
+
+        @Test
+        @DisplayName("Should track bulk deletes and fall back to a full save after clear")
+        void shouldTrackBulkOperations() {
+            for (int day = 0; day < 5; day++) {
+                bst.insert(createEvent(today.plusDays(day), LocalTime.NOON, "Day " + day));
+            }
+            bst.checkpoint();
+
+            assertEquals(2, bst.deleteRange(today, today.plusDays(1)).size());
+            assertEquals(2, bst.getChangesSinceCheckpoint().deletedIds().size());
+
+            bst.clear();
+            assertTrue(bst.getChangesSinceCheckpoint().fullRewrite());
+            bst.checkpoint();
+            assertTrue(bst.getChangesSinceCheckpoint().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Listeners")
+    class ChangeListenerTests {
+
+        private final List<EventChange> received = new ArrayList<>();
+
+        @BeforeEach
+        void addListener() {
+            bst.addChangeListener(received::add);
+        }
+
+        @Test
+        @DisplayName("Should report inserts and deletes after the tree has changed")
+        void shouldReportSingleChanges() {
+            Event first = createEvent(today, LocalTime.of(9, 0), "First");
+            Event second = createEvent(today, LocalTime.of(10, 0), "Second");
+            bst.addChangeListener(change -> assertEquals(change.sequence(), bst.getModificationCount()));
+
+            bst.insert(first);
+            bst.insert(second);
+            bst.deleteById(first.getId());
+            bst.deleteByTitle("Second");
+
+            assertEquals(List.of(
+                    new EventChange(EventChange.Type.INSERTED, first, 1),
+                    new EventChange(EventChange.Type.INSERTED, second, 2),
+                    new EventChange(EventChange.Type.DELETED, first, 3),
+                    new EventChange(EventChange.Type.DELETED, second, 4)), received);
+        }
+
+        @Test
+        @DisplayName("Should report every event of a bulk operation under one sequence")
+        void shouldReportBulkChanges() {
+            for (int day = 0; day < 5; day++) {
+                bst.insert(createEvent(today.plusDays(day), LocalTime.NOON, "Day " + day));
+            }
+            received.clear();
+
+            bst.deleteRange(today, today.plusDays(1));
+            bst.deleteIf(event -> event.getTitle().equals("Day 2"));
+            bst.split(today.plusDays(4));
+
+            assertEquals(4, received.size());
+            assertTrue(received.stream().allMatch(change -> change.type() == EventChange.Type.DELETED));
+            assertEquals(received.get(0).sequence(), received.get(1).sequence());
+            assertTrue(received.get(2).sequence() < received.get(3).sequence());
+        }
+
+        @Test
+        @DisplayName("Should report only the events a bulk load actually added")
+        void shouldReportBulkLoad() {
+            Event existing = createEvent(today, LocalTime.NOON, "Existing");
+            Event loaded = createEvent(today.plusDays(1), LocalTime.NOON, "Loaded");
+            bst.insert(existing);
+            received.clear();
+
+            bst.bulkLoad(List.of(existing, loaded));
+
+            assertEquals(List.of(new EventChange(EventChange.Type.INSERTED, loaded, 2)), received);
+        }
+
+        @Test
+        @DisplayName("Should report a replaced event as deleted and its copy as inserted")
+        void shouldReportReplacement() {
+            Event existing = createEvent(today, LocalTime.NOON, "Existing");
+            bst.insert(existing);
+            bst.checkpoint();
+            received.clear();
+            Event edited = existing.toBuilder().title("Edited").build();
+
+            bst.bulkLoad(List.of(edited));
+
+            assertEquals(List.of(new EventChange(EventChange.Type.DELETED, existing, 2),
+                    new EventChange(EventChange.Type.INSERTED, edited, 2)), received);
+            ChangeSet delta = bst.getChangesSinceCheckpoint();
+            assertEquals(List.of(edited), delta.upserts());
+            assertEquals(Set.of(existing.getId()), delta.deletedIds());
+            assertEquals(1, bst.countByCategory(existing.getCategory()));
+        }
+
+        @Test
+        @DisplayName("Should report clear as a single change")
+        void shouldReportClear() {
+            bst.insert(createEvent(today, LocalTime.NOON, "Lunch"));
+            bst.clear();
+
+            assertEquals(new EventChange(EventChange.Type.CLEARED, null, 2), received.get(1));
+        }
+
+        @Test
+        @DisplayName("Should keep notifying and recording after a listener throws")
+        void shouldIsolateListenerFailure() {
+            CalendarMetrics metrics = new CalendarMetrics();
+            bst.setMetrics(metrics);
+            List<EventChange> later = new ArrayList<>();
+            bst.addChangeListener(change -> {
+                throw new IllegalStateException("Index unavailable");
+            });
+            bst.addChangeListener(later::add);
+
+            bst.insert(createEvent(today, LocalTime.NOON, "Lunch"));
+            bst.insert(createEvent(today, LocalTime.of(13, 0), "Review"));
+
+            assertEquals(2, bst.getSize());
+            assertEquals(2, received.size());
+            assertEquals(2, later.size());
+            assertEquals(2, bst.getListenerFailureCount());
+            assertEquals("Index unavailable", bst.getLastListenerError().getMessage());
+            assertEquals(2, metrics.snapshot().get(CalendarMetrics.Operation.INSERT).count());
+        }
+
+        @Test
+        @DisplayName("Should stop notifying a removed listener")
+        void shouldRemoveListener() {
+            EventChangeListener counting = received::add;
+            bst.addChangeListener(counting);
+            bst.insert(createEvent(today, LocalTime.NOON, "Twice"));
+
+            assertTrue(bst.removeChangeListener(counting));
+            assertFalse(bst.removeChangeListener(counting));
+            bst.insert(createEvent(today, LocalTime.of(13, 0), "Once"));
+
+            assertEquals(3, received.size());
+        }
+    }
+
     @Nested
     @DisplayName("Traversal Operations")
     class TraversalTests {
@@ -377,6 +963,497 @@ class EventBSTTest {
             assertEquals(1, highPriority.size());
             assertEquals("Work Event", highPriority.get(0).getTitle());
         }
+
+        @Test
+        @DisplayName("Should filter by category and priority")
+        void shouldFilterByCategoryAndPriority() {
+            List<Event> results = bst.findByCategoryAndPriority(EventCategory.WORK, EventPriority.MEDIUM);
+
+            assertEquals(1, results.size());
+            assertEquals("Another Work Event", results.get(0).getTitle());
+        }
+
+        @Test
+        @DisplayName("Should filter by category and priority within a date range")
+        void shouldFilterByCategoryAndPriorityInRange() {
+            bst.insert(Event.builder()
+                    .date(today.plusDays(7))
+                    .time(LocalTime.of(9, 0))
+                    .title("Next Week Work Event")
+                    .category(EventCategory.WORK)
+                    .priority(EventPriority.HIGH)
+                    .build());
+
+            List<Event> nextWeek = bst.findByCategoryAndPriority(
+                    EventCategory.WORK, EventPriority.HIGH, today.plusDays(1), today.plusDays(7));
+
+            assertEquals(1, nextWeek.size());
+            assertEquals("Next Week Work Event", nextWeek.get(0).getTitle());
+        }
+
+        @Test
+        @DisplayName("Should keep indexes in sync after deletes")
+        void shouldKeepIndexesInSyncAfterDeletes() {
+            bst.deleteByTitle("Work Event");
+
+            assertEquals(1, bst.findByCategory(EventCategory.WORK).size());
+            assertTrue(bst.findByPriority(EventPriority.HIGH).isEmpty());
+
+            bst.clear();
+
+            assertEquals(0, bst.countByCategory(EventCategory.WORK));
+            assertEquals(0, bst.countByPriority(EventPriority.LOW));
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Builder")
+    class QueryTests {
+
+        @BeforeEach
+        void addTestEvents() {
+            bst.insert(Event.builder().date(today).time(LocalTime.of(9, 0)).title("Standup")
+                    .category(EventCategory.WORK).priority(EventPriority.HIGH).build());
+            bst.insert(Event.builder().date(today.plusDays(1)).time(LocalTime.of(9, 0)).title("Standup")
+                    .category(EventCategory.WORK).priority(EventPriority.MEDIUM).build());
+            bst.insert(Event.builder().date(today.plusDays(2)).time(LocalTime.of(11, 0)).title("Release Review")
+                    .category(EventCategory.WORK).priority(EventPriority.URGENT).build());
+            bst.insert(Event.builder().date(today.plusDays(2)).time(LocalTime.of(18, 0)).title("Gym")
+                    .category(EventCategory.HEALTH).priority(EventPriority.LOW).build());
+            bst.insert(Event.builder().date(today.plusDays(10)).time(LocalTime.of(9, 0)).title("Standup")
+                    .category(EventCategory.WORK).priority(EventPriority.HIGH).build());
+        }
+
+        @Test
+        @DisplayName("Should combine range, category and minimum priority")
+        void shouldCombineFilters() {
+            List<Event> results = bst.query()
+                    .between(today, today.plusDays(7))
+                    .category(EventCategory.WORK)
+                    .minPriority(EventPriority.HIGH)
+                    .list();
+
+            assertEquals(2, results.size());
+            assertEquals("Standup", results.get(0).getTitle());
+            assertEquals("Release Review", results.get(1).getTitle());
+        }
+
+        @Test
+        @DisplayName("Should honour limit and keep chronological order")
+        void shouldHonourLimit() {
+            List<Event> results = bst.query().titleContains("standup").limit(2).list();
+
+            assertEquals(2, results.size());
+            assertEquals(today, results.get(0).getDate());
+            assertEquals(today.plusDays(1), results.get(1).getDate());
+        }
+
+        @Test
+        @DisplayName("Should pick the cheapest access path")
+        void shouldPickCheapestAccessPath() {
+            assertEquals(EventQuery.AccessPath.FULL_SCAN, bst.query().titleContains("gym").plan());
+            assertEquals(EventQuery.AccessPath.RANGE_SCAN, bst.query().on(today).plan());
+            assertEquals(EventQuery.AccessPath.CATEGORY_INDEX,
+                    bst.query().category(EventCategory.HEALTH).priority(EventPriority.HIGH).plan());
+            assertEquals(EventQuery.AccessPath.PRIORITY_INDEX,
+                    bst.query().category(EventCategory.WORK).priority(EventPriority.URGENT).plan());
+        }
+
+        @Test
+        @DisplayName("Should count and find first match")
+        void shouldCountAndFindFirst() {
+            assertEquals(3, bst.query().from(today.plusDays(1)).where(e -> e.getTime().getHour() < 12).count());
+            assertEquals("Gym", bst.query().category(EventCategory.HEALTH).first().orElseThrow().getTitle());
+            assertTrue(bst.query().on(today.plusDays(5)).first().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Traversal")
+    class StreamTests {
+
+        @BeforeEach
+        void addTestEvents() {
+            Random random = new Random(42);
+            for (int i = 0; i < 500; i++) {
+                bst.insert(createEvent(today.plusDays(random.nextInt(365)),
+                        LocalTime.of(random.nextInt(24), random.nextInt(60)), "Event " + i));
+            }
+        }
+
+        @Test
+        @DisplayName("Should stream events in chronological order")
+        void shouldStreamInOrder() {
+            assertEquals(bst.getAllEvents(), bst.stream().toList());
+        }
+
+        @Test
+        @DisplayName("Should preserve encounter order in parallel streams")
+        void shouldPreserveOrderInParallel() {
+            List<Event> expected = bst.getAllEvents().stream()
+                    .filter(e -> e.getTime().getHour() < 12)
+                    .toList();
+
+            List<Event> actual = bst.parallelStream()
+                    .filter(e -> e.getTime().getHour() < 12)
+                    .toList();
+
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        @DisplayName("Should cover every event exactly once when split")
+        void shouldCoverEveryEventWhenSplit() {
+            Spliterator<Event> first = bst.spliterator();
+            Spliterator<Event> second = first.trySplit();
+            Spliterator<Event> third = first.trySplit();
+
+            List<Event> collected = new ArrayList<>();
+            second.forEachRemaining(collected::add);
+            third.forEachRemaining(collected::add);
+            first.forEachRemaining(collected::add);
+
+            assertEquals(bst.getAllEvents(), collected);
+        }
+
+        @Test
+        @DisplayName("Should fail fast when modified during traversal")
+        void shouldFailFastOnModification() {
+            Spliterator<Event> spliterator = bst.spliterator();
+            spliterator.tryAdvance(e -> { });
+            bst.insert(createEvent(today, LocalTime.NOON, "Late Event"));
+
+            assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> { }));
+        }
+    }
+
+    @Nested
+    @DisplayName("Recurring Events")
+    class RecurringEventTests {
+
+        @Test
+        @DisplayName("Should store a series once and expand it in range queries")
+        void shouldExpandSeriesInRange() {
+            bst.insert(Event.builder()
+                    .date(today)
+                    .time(LocalTime.of(9, 0))
+                    .title("Daily Standup")
+                    .recurrence(RecurrenceRule.daily().withCount(30))
+                    .build());
+            bst.insert(createEvent(today.plusDays(1), LocalTime.of(8, 0), "Breakfast"));
+
+            List<Event> events = bst.findEventsInRange(today, today.plusDays(2));
+
+            assertEquals(2, bst.getSize());
+            assertEquals(1, bst.getRecurringSeriesCount());
+            assertEquals(4, events.size());
+            assertEquals("Daily Standup", events.get(0).getTitle());
+            assertEquals("Breakfast", events.get(1).getTitle());
+            assertEquals(today.plusDays(2), events.get(3).getDate());
+        }
+
+        @Test
+        @DisplayName("Should expand series that started before the requested date")
+        void shouldExpandEarlierSeriesOnDate() {
+            bst.insert(Event.builder()
+                    .date(today.minusWeeks(3))
+                    .time(LocalTime.of(10, 0))
+                    .title("Weekly Review")
+                    .recurrence(RecurrenceRule.weekly())
+                    .build());
+
+            assertEquals(1, bst.findEventsByDate(today).size());
+            assertTrue(bst.findEventsByDate(today.plusDays(1)).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should expand series in upcoming and past events")
+        void shouldExpandSeriesInUpcomingAndPast() {
+            bst.insert(weeklyReview());
+            bst.insert(createEvent(today.minusDays(2), LocalTime.NOON, "Lunch"));
+            bst.insert(createEvent(today.plusDays(2), LocalTime.NOON, "Dinner"));
+
+            List<Event> upcoming = bst.getUpcomingEvents();
+            List<Event> past = bst.getPastEvents();
+
+            assertEquals(today, upcoming.get(0).getDate());
+            assertEquals("Dinner", upcoming.get(1).getTitle());
+            assertTrue(upcoming.size() > 50);
+            assertTrue(upcoming.stream().allMatch(e -> !e.isRecurring()
+                    && !e.getDate().isAfter(today.plus(EventBST.SERIES_HORIZON))));
+            assertEquals(4, past.size());
+            assertEquals(today.minusWeeks(3), past.get(0).getDate());
+            assertEquals("Lunch", past.get(3).getTitle());
+            assertTrue(past.stream().noneMatch(Event::isRecurring));
+        }
+
+        @Test
+        @DisplayName("Should expand series in index lookups and queries")
+        void shouldExpandSeriesInQueries() {
+            bst.insert(weeklyReview());
+            bst.insert(createEvent(today.plusDays(1), LocalTime.NOON, "Lunch"));
+
+            List<Event> work = bst.findByCategory(EventCategory.WORK);
+            List<Event> twoWeeks = bst.query()
+                    .category(EventCategory.WORK)
+                    .between(today, today.plusDays(13))
+                    .list();
+
+            assertTrue(work.stream().noneMatch(Event::isRecurring));
+            assertEquals(today.minusWeeks(3), work.get(0).getDate());
+            assertEquals(1, bst.countByCategory(EventCategory.WORK));
+            assertEquals(List.of(today, today.plusDays(7)), twoWeeks.stream().map(Event::getDate).toList());
+            assertEquals(3, bst.query().between(today, today.plusDays(13)).count());
+            assertEquals(today.minusWeeks(3), bst.query().first().orElseThrow().getDate());
+            assertEquals(2, bst.findByCategoryAndPriority(EventCategory.WORK, EventPriority.MEDIUM,
+                    today.minusDays(1), today.plusDays(7)).size());
+            assertEquals(3, bst.stream(today, today.plusDays(13)).count());
+        }
+
+        @Test
+        @DisplayName("Should not delete a whole series through an occurrence id")
+        void shouldNotDeleteSeriesThroughOccurrence() {
+            Event series = weeklyReview();
+            bst.insert(series);
+            Event occurrence = bst.findEventsByDate(today).get(0);
+
+            assertTrue(occurrence.isOccurrence());
+            assertSame(series, occurrence.getSeries());
+            assertThrows(EventNotFoundException.class, () -> bst.deleteById(occurrence.getId()));
+            assertEquals(1, bst.getRecurringSeriesCount());
+            assertTrue(bst.deleteById(occurrence.getSeries().getId()));
+        }
+
+        private Event weeklyReview() {
+            return Event.builder()
+                    .date(today.minusWeeks(3))
+                    .time(LocalTime.of(10, 0))
+                    .title("Weekly Review")
+                    .category(EventCategory.WORK)
+                    .recurrence(RecurrenceRule.weekly())
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should detect conflicts with series occurrences")
+        void shouldDetectConflictsWithOccurrences() {
+            bst.insert(Event.builder()
+                    .date(today.minusDays(1))
+                    .time(LocalTime.of(10, 0))
+                    .title("Daily Focus Time")
+                    .recurrence(RecurrenceRule.daily())
+                    .build());
+
+            assertThrows(EventConflictException.class,
+                    () -> bst.insert(createEvent(today.plusDays(5), LocalTime.of(10, 30), "Clash"), true));
+        }
+    }
+
+    @Nested
+    @DisplayName("Operation Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should not record anything until metrics are attached")
+        void shouldBeOffByDefault() {
+            bst.insert(createEvent(LocalDate.of(2026, 1, 1), LocalTime.NOON, "A"));
+
+            assertNull(bst.getMetrics());
+            assertEquals(0, bst.getMetricsSnapshot().get(CalendarMetrics.Operation.INSERT).count());
+        }
+
+        @Test
+        @DisplayName("Should count operations and nodes visited")
+        void shouldRecordOperations() {
+            bst.setMetrics(new CalendarMetrics());
+            LocalDate date = LocalDate.of(2026, 1, 10);
+            Event middle = createEvent(date, LocalTime.NOON, "Middle");
+            bst.insert(middle);
+            bst.insert(createEvent(date.minusDays(1), LocalTime.NOON, "Left"));
+            bst.insert(createEvent(date.plusDays(1), LocalTime.NOON, "Right"));
+            bst.findEventsByDate(date);
+            bst.findEventsInRange(date.minusDays(1), date.plusDays(1));
+            bst.findById(middle.getId());
+            bst.deleteById(middle.getId());
+
+            MetricsSnapshot snapshot = bst.getMetricsSnapshot();
+            assertEquals(3, snapshot.get(CalendarMetrics.Operation.INSERT).count());
+            assertEquals(2, snapshot.get(CalendarMetrics.Operation.INSERT).nodesVisited());
+            assertEquals(1, snapshot.get(CalendarMetrics.Operation.FIND_BY_DATE).count());
+            assertEquals(3, snapshot.get(CalendarMetrics.Operation.FIND_IN_RANGE).nodesVisited());
+            assertEquals(1, snapshot.get(CalendarMetrics.Operation.FIND_BY_ID).count());
+            assertEquals(1, snapshot.get(CalendarMetrics.Operation.DELETE).count());
+            assertTrue(snapshot.toString().contains("Range"));
+        }
+
+        @Test
+        @DisplayName("Should emit JFR events for tree traversals")
+        void shouldEmitFlightRecorderEvents() throws Exception {
+            LocalDate date = LocalDate.of(2026, 1, 10);
+            bst.insert(createEvent(date, LocalTime.NOON, "Middle"));
+            bst.insert(createEvent(date.minusDays(1), LocalTime.NOON, "Left"));
+            bst.insert(createEvent(date.plusDays(1), LocalTime.NOON, "Right"));
+
+            List<RecordedEvent> recorded;
+            Path dump = Files.createTempFile("traversal", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("com.calendar.TreeTraversal");
+                recording.start();
+                bst.getAllEvents();
+                bst.searchByTitleContains("ight");
+                recording.stop();
+                recording.dump(dump);
+                recorded = RecordingFile.readAllEvents(dump);
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+
+            assertEquals(2, recorded.size());
+            RecordedEvent inOrder = recorded.get(0);
+            assertEquals("IN_ORDER", inOrder.getString("traversal"));
+            assertEquals(3, inOrder.getLong("nodesVisited"));
+            assertEquals(3, inOrder.getInt("resultSize"));
+            assertEquals("TITLE_SCAN", recorded.get(1).getString("traversal"));
+            assertEquals(1, recorded.get(1).getInt("resultSize"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Cache")
+    class QueryCacheTests {
+
+        private final LocalDate date = LocalDate.of(2026, 2, 10);
+
+        @BeforeEach
+        void enableCache() {
+            bst.insert(createEvent(date, LocalTime.of(9, 0), "Standup"));
+            bst.insert(createEvent(date.plusDays(1), LocalTime.of(9, 0), "Review"));
+            bst.enableQueryCache(4);
+        }
+
+        @Test
+        @DisplayName("Should be disabled by default")
+        void shouldBeOffByDefault() {
+            EventBST fresh = new EventBST();
+            assertFalse(fresh.isQueryCacheEnabled());
+            assertNull(fresh.getQueryCacheStatistics());
+        }
+
+        @Test
+        @DisplayName("Should serve repeated lookups from the cache")
+        void shouldHitOnRepeatedLookup() {
+            List<Event> first = bst.findEventsByDate(date);
+            first.clear();
+            List<Event> second = bst.findEventsByDate(date);
+
+            assertEquals(1, second.size());
+            EventBST.CacheStatistics stats = bst.getQueryCacheStatistics();
+            assertEquals(1, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(0.5, stats.hitRate());
+        }
+
+        @Test
+        @DisplayName("Should only invalidate entries covering the changed date")
+        void shouldInvalidatePerDate() {
+            bst.findEventsByDate(date);
+            bst.findEventsByDate(date.plusDays(1));
+            bst.findEventsInRange(date, date.plusDays(7));
+
+            bst.insert(createEvent(date.plusDays(1), LocalTime.of(14, 0), "Lunch"));
+
+            assertEquals(1, bst.findEventsByDate(date).size());
+            assertEquals(2, bst.findEventsByDate(date.plusDays(1)).size());
+            assertEquals(3, bst.findEventsInRange(date, date.plusDays(7)).size());
+            EventBST.CacheStatistics stats = bst.getQueryCacheStatistics();
+            assertEquals(1, stats.hits());
+            assertEquals(2, stats.invalidations());
+        }
+
+        @Test
+        @DisplayName("Should invalidate on delete and clear")
+        void shouldInvalidateOnDeleteAndClear() {
+            Event standup = bst.findEventsByDate(date).get(0);
+            bst.deleteById(standup.getId());
+            assertTrue(bst.findEventsByDate(date).isEmpty());
+
+            bst.findEventsByDate(date.plusDays(1));
+            bst.clear();
+            assertTrue(bst.findEventsByDate(date.plusDays(1)).isEmpty());
+            assertEquals(0, bst.getQueryCacheStatistics().hits());
+        }
+
+        @Test
+        @DisplayName("Should flush everything when a recurring series changes")
+        void shouldFlushOnRecurringInsert() {
+            bst.findEventsByDate(date.plusDays(5));
+            bst.insert(Event.builder()
+                    .date(date)
+                    .time(LocalTime.of(18, 0))
+                    .title("Gym")
+                    .recurrence(RecurrenceRule.daily())
+                    .build());
+
+            assertEquals(1, bst.findEventsByDate(date.plusDays(5)).size());
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used entry at capacity")
+        void shouldEvictLeastRecentlyUsed() {
+            for (int day = 0; day < 5; day++) {
+                bst.findEventsByDate(date.plusDays(day));
+            }
+            // Touching day 1 makes day 2 the eldest, so reloading day 0 evicts day 2 instead
+            bst.findEventsByDate(date.plusDays(1));
+            bst.findEventsByDate(date);
+            bst.findEventsByDate(date.plusDays(1));
+
+            EventBST.CacheStatistics stats = bst.getQueryCacheStatistics();
+            assertEquals(4, stats.entries());
+            assertEquals(2, stats.evictions());
+            assertEquals(2, stats.hits());
+        }
+
+        @Test
+        @DisplayName("Should cache upcoming events until a future date changes")
+        void shouldCacheUpcomingEvents() {
+            int before = bst.getUpcomingEvents().size();
+            bst.insert(createEvent(today.minusDays(3), LocalTime.NOON, "Past"));
+            assertEquals(before, bst.getUpcomingEvents().size());
+            bst.insert(createEvent(today.plusDays(3), LocalTime.NOON, "Future"));
+            assertEquals(before + 1, bst.getUpcomingEvents().size());
+            assertEquals(1, bst.getQueryCacheStatistics().hits());
+        }
+
+        @Test
+        @DisplayName("Should stay consistent for concurrent readers sharing a read lock")
+        void shouldSurviveConcurrentReaders() throws InterruptedException {
+            EventStore shared = EventStore.synchronizedView(bst);
+            int threads = 4;
+            int lookups = 5_000;
+            List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> readers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                readers.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        for (int i = 0; i < lookups; i++) {
+                            // Eight distinct keys against a capacity of four keeps the LRU evicting
+                            assertEquals(i % 8 < 2 ? 1 : 0, shared.findEventsByDate(date.plusDays(i % 8)).size());
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }));
+            }
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            assertTrue(failures.isEmpty(), () -> failures.get(0).toString());
+            EventBST.CacheStatistics stats = bst.getQueryCacheStatistics();
+            assertEquals((long) threads * lookups, stats.hits() + stats.misses());
+            assertTrue(stats.entries() <= 4);
+        }
     }
 
     @Nested
@@ -0,0 +1,61 @@
+package com.calendar.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LatencyHistogram class.
+ * Tests percentile accuracy, merging and bucket boundaries.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("LatencyHistogram Class Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report percentiles within bucket precision")
+    void shouldReportPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 * 0.02);
+        assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 * 0.02);
+        assertEquals(99_900_000, histogram.getValueAtPercentile(99.9), 99_900_000 * 0.02);
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(1_000, histogram.getMin());
+    }
+
+    @Test
+    @DisplayName("Should merge counts from another histogram")
+    void shouldMerge() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            fast.record(100);
+        }
+        slow.record(1_000_000);
+
+        fast.merge(slow);
+
+        assertEquals(100, fast.getCount());
+        assertEquals(100, fast.getValueAtPercentile(50));
+        assertEquals(1_000_000, fast.getValueAtPercentile(100));
+    }
+
+    @Test
+    @DisplayName("Should map every value into a bucket that contains it")
+    void shouldCoverFullRange() {
+        long[] samples = {0, 1, 127, 128, 129, 255, 256, 1_000_003, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        for (long value : samples) {
+            long highest = LatencyHistogram.highestValueIn(LatencyHistogram.indexOf(value));
+            assertTrue(highest >= value, "bucket too low for " + value);
+            assertTrue(highest - value <= Math.max(1, value / 64), "bucket too wide for " + value);
+        }
+    }
+}
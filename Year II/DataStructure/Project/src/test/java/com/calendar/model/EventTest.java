@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -175,6 +179,40 @@ class EventTest {
             // Higher priority should come first (negative comparison)
             assertTrue(highPriority.compareTo(lowPriority) < 0);
         }
+
+        @Test
+        @DisplayName("Should order sub-second times before priority")
+        void shouldOrderSubSecondTimesBeforePriority() {
+            LocalDate date = LocalDate.of(2026, 1, 26);
+
+            Event earlierLow = Event.builder()
+                    .date(date)
+                    .time(LocalTime.of(14, 0, 0, 100))
+                    .title("Earlier")
+                    .priority(EventPriority.LOW)
+                    .build();
+
+            Event laterUrgent = Event.builder()
+                    .date(date)
+                    .time(LocalTime.of(14, 0, 0, 200))
+                    .title("Later")
+                    .priority(EventPriority.URGENT)
+                    .build();
+
+            assertTrue(earlierLow.compareTo(laterUrgent) < 0);
+            assertTrue(laterUrgent.compareTo(earlierLow) > 0);
+        }
+
+        @Test
+        @DisplayName("Should agree with the packed sort key")
+        void shouldAgreeWithSortKey() {
+            Event early = Event.builder().date(LocalDate.of(1999, 12, 31)).time(LocalTime.MAX.withNano(0)).title("A").build();
+            Event late = Event.builder().date(LocalDate.of(2000, 1, 1)).time(LocalTime.MIN).title("B").build();
+
+            assertTrue(early.getSortKey() < late.getSortKey());
+            assertTrue(early.compareTo(late) < 0);
+            assertTrue(Event.startOfDayKey(late.getDate()) <= late.getSortKey());
+        }
     }
 
     @Nested
@@ -267,6 +305,29 @@ class EventTest {
 
             assertFalse(event1.overlapsWith(event2));
         }
+
+        @Test
+        @DisplayName("Should detect overlap for events running past midnight")
+        void shouldDetectOverlapPastMidnight() {
+            LocalDate date = LocalDate.of(2026, 1, 26);
+
+            Event lateShow = Event.builder()
+                    .date(date)
+                    .time(LocalTime.of(23, 0))
+                    .durationMinutes(120)
+                    .title("Late Show")
+                    .build();
+
+            Event afterParty = Event.builder()
+                    .date(date)
+                    .time(LocalTime.of(23, 30))
+                    .durationMinutes(60)
+                    .title("After Party")
+                    .build();
+
+            assertTrue(lateShow.overlapsWith(afterParty));
+            assertTrue(afterParty.overlapsWith(lateShow));
+        }
     }
 
     @Nested
@@ -350,6 +411,126 @@ class EventTest {
         }
     }
 
+    @Nested
+    @DisplayName("Recurrence Tests")
+    class RecurrenceTests {
+
+        @Test
+        @DisplayName("Should expand weekly occurrences within a window")
+        void shouldExpandWeeklyOccurrences() {
+            Event series = Event.builder()
+                    .date(LocalDate.of(2026, 1, 5))
+                    .time(LocalTime.of(9, 0))
+                    .title("Weekly Sync")
+                    .recurrence(RecurrenceRule.weekly().withCount(10).withException(LocalDate.of(2026, 1, 19)))
+                    .build();
+
+            List<Event> occurrences = series.occurrencesBetween(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 2, 1));
+
+            assertEquals(2, occurrences.size());
+            assertEquals(LocalDate.of(2026, 1, 12), occurrences.get(0).getDate());
+            assertEquals(LocalDate.of(2026, 1, 26), occurrences.get(1).getDate());
+            assertFalse(occurrences.get(0).isRecurring());
+            assertTrue(occurrences.get(0).isOccurrence());
+            assertSame(series, occurrences.get(0).getSeries());
+            assertNotEquals(series, occurrences.get(0));
+            assertNotEquals(occurrences.get(0), occurrences.get(1));
+            assertEquals(series.getId() + "/2026-01-12", occurrences.get(0).getId());
+            assertFalse(series.isOccurrence());
+        }
+
+        @Test
+        @DisplayName("Should stop at count and until")
+        void shouldStopAtCountAndUntil() {
+            LocalDate start = LocalDate.of(2026, 1, 31);
+
+            assertEquals(LocalDate.of(2026, 4, 30), RecurrenceRule.monthly().withCount(4).lastDate(start));
+            assertEquals(LocalDate.of(2026, 2, 3), RecurrenceRule.daily().withUntil(LocalDate.of(2026, 2, 3)).lastDate(start));
+            assertNull(RecurrenceRule.daily().lastDate(start));
+        }
+
+        @Test
+        @DisplayName("Should round-trip through its text form")
+        void shouldRoundTripTextForm() {
+            RecurrenceRule rule = RecurrenceRule.weekly()
+                    .withInterval(2)
+                    .withUntil(LocalDate.of(2026, 6, 1))
+                    .withException(LocalDate.of(2026, 2, 2));
+
+            assertEquals(rule, RecurrenceRule.parse(rule.toString()));
+        }
+
+        @Test
+        @DisplayName("Should reject until before the event date")
+        void shouldRejectUntilBeforeDate() {
+            assertThrows(IllegalArgumentException.class, () -> Event.builder()
+                    .date(LocalDate.of(2026, 1, 5))
+                    .time(LocalTime.of(9, 0))
+                    .title("Invalid")
+                    .recurrence(RecurrenceRule.daily().withUntil(LocalDate.of(2026, 1, 1)))
+                    .build());
+        }
+    }
+
+    @Nested
+    @DisplayName("Id Generation Tests")
+    class IdGenerationTests {
+
+        @Test
+        @DisplayName("Should generate unique version 7 UUIDs by default")
+        void shouldGenerateTimeOrderedIds() {
+            LocalDate date = LocalDate.of(2026, 1, 26);
+            Set<String> ids = new HashSet<>();
+            for (int i = 0; i < 1000; i++) {
+                ids.add(createEvent(date, LocalTime.NOON).getId());
+            }
+
+            assertEquals(1000, ids.size());
+            UUID uuid = UUID.fromString(ids.iterator().next());
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+        }
+
+        @Test
+        @DisplayName("Should keep custom ids verbatim and pack UUID-shaped ones")
+        void shouldHandleCustomIds() {
+            String uuidText = "0190f5e4-2b7c-7a31-9c4e-5d1f0a2b3c4d";
+            Event packed = createEvent(LocalDate.of(2026, 1, 26), LocalTime.NOON).toBuilder().id(uuidText).build();
+            Event custom = createEvent(LocalDate.of(2026, 1, 26), LocalTime.NOON).toBuilder().id("meeting-42").build();
+
+            assertFalse(packed.hasCustomId());
+            assertEquals(uuidText, packed.getId());
+            assertTrue(custom.hasCustomId());
+            assertEquals("meeting-42", custom.getId());
+            assertTrue(Event.idMatcher(uuidText).test(packed));
+            assertFalse(Event.idMatcher(uuidText).test(custom));
+        }
+
+        @Test
+        @DisplayName("Should build the string form of a packed id once")
+        void shouldCacheIdString() {
+            Event event = createEvent(LocalDate.of(2026, 1, 26), LocalTime.NOON);
+
+            assertSame(event.getId(), event.getId());
+            assertNull(Event.parseCanonicalUuid("0190F5E4-2B7C-7A31-9C4E-5D1F0A2B3C4D"));
+            assertNull(Event.parseCanonicalUuid("meeting-42"));
+        }
+
+        @Test
+        @DisplayName("Should use a per-builder generator when given")
+        void shouldUsePluggableGenerator() {
+            Event event = Event.builder()
+                    .date(LocalDate.of(2026, 1, 26))
+                    .time(LocalTime.NOON)
+                    .title("Generated")
+                    .idGenerator(sink -> sink.accept(0, 42))
+                    .build();
+
+            assertEquals(new UUID(0, 42).toString(), event.getId());
+            assertEquals(event, event.toBuilder().title("Renamed").build());
+        }
+    }
+
     // Helper method for creating simple events
     private Event createEvent(LocalDate date, LocalTime time) {
         return Event.builder()
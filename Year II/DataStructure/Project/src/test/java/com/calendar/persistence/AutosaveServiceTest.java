@@ -0,0 +1,292 @@
+package com.calendar.persistence;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AutosaveService class.
+ * Tests debounced background saves, explicit flushes and failure handling.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("AutosaveService Class Tests")
+class AutosaveServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private EventBST calendar;
+    private CalendarPersistence persistence;
+    private AutosaveService autosave;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new EventBST();
+        persistence = new CalendarPersistence(tempDir.resolve("calendar_events.json"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (autosave != null) {
+            autosave.close();
+        }
+    }
+
+    private Event createEvent(String title, int day) {
+        return Event.builder()
+                .date(LocalDate.of(2026, 5, day))
+                .time(LocalTime.of(9, 0))
+                .durationMinutes(30)
+                .title(title)
+                .category(EventCategory.WORK)
+                .priority(EventPriority.MEDIUM)
+                .build();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for autosave");
+            Thread.sleep(10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Background Saves")
+    class BackgroundSaveTests {
+
+        @Test
+        @DisplayName("Should coalesce a burst of edits into one save")
+        void shouldCoalesceBurst() throws InterruptedException {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMillis(200));
+
+            for (int day = 1; day <= 10; day++) {
+                Event event = createEvent("Event " + day, day);
+                autosave.edit(() -> calendar.insert(event));
+            }
+            assertEquals(10, autosave.getPendingEdits());
+
+            awaitCondition(() -> autosave.getSaveCount() > 0);
+            assertEquals(1, autosave.getSaveCount());
+            assertEquals(0, autosave.getPendingEdits());
+            assertEquals(10, persistence.loadEvents().size());
+            assertEquals(10.0, autosave.getStatistics().editsPerSave(), 0.001);
+        }
+
+        @Test
+        @DisplayName("Should journal edits made after the first save")
+        void shouldJournalLaterEdits() {
+            // The window never closes during the test, so only the flushes decide what each save holds
+            autosave = new AutosaveService(calendar, persistence, Duration.ofHours(1));
+            Event first = createEvent("First", 1);
+            autosave.edit(() -> calendar.insert(first));
+            autosave.flush();
+
+            autosave.edit(() -> calendar.insert(createEvent("Second", 2)));
+            autosave.edit(() -> calendar.deleteById(first.getId()));
+            autosave.flush();
+
+            assertEquals(2, autosave.getSaveCount());
+
+            assertTrue(Files.exists(persistence.getJournalPath()));
+            List<Event> loaded = persistence.loadEvents();
+            assertEquals(1, loaded.size());
+            assertEquals("Second", loaded.get(0).getTitle());
+        }
+
+        @Test
+        @DisplayName("Should record the latency of the last save")
+        void shouldRecordLatency() throws InterruptedException {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMillis(50));
+            autosave.edit(() -> calendar.insert(createEvent("Event", 1)));
+            awaitCondition(() -> autosave.getSaveCount() == 1);
+
+            assertTrue(autosave.getLastSaveLatency().toNanos() > 0);
+            assertNull(autosave.getLastError());
+            assertTrue(autosave.getStatistics().toString().contains("AUTOSAVE"));
+        }
+
+        @Test
+        @DisplayName("Should not schedule a save when the edit throws")
+        void shouldNotScheduleFailedEdit() {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMinutes(1));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> autosave.edit(() -> { throw new IllegalArgumentException("rejected"); }));
+            assertEquals(0, autosave.getPendingEdits());
+        }
+
+        @Test
+        @DisplayName("Should schedule a save when the edit throws after changing the calendar")
+        void shouldScheduleEditThatThrowsAfterChange() {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMinutes(1));
+
+            assertThrows(IllegalStateException.class, () -> autosave.edit(() -> {
+                calendar.insert(createEvent("Inserted", 1));
+                throw new IllegalStateException("listener failed");
+            }));
+            assertEquals(1, autosave.getPendingEdits());
+
+            autosave.flush();
+            assertEquals(1, persistence.loadEvents().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Flush and Reload")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should save pending edits on flush without waiting for the window")
+        void shouldFlushImmediately() {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMinutes(1));
+            autosave.edit(() -> calendar.insert(createEvent("Event", 1)));
+
+            autosave.flush();
+
+            assertFalse(autosave.hasPendingEdits());
+            assertEquals(1, autosave.getSaveCount());
+            assertEquals(1, persistence.loadEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should do nothing on flush without pending edits")
+        void shouldSkipEmptyFlush() {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMinutes(1));
+
+            autosave.flush();
+
+            assertEquals(0, autosave.getSaveCount());
+            assertFalse(persistence.hasExistingData());
+        }
+
+        @Test
+        @DisplayName("Should leave nothing pending after a reload")
+        void shouldClearPendingOnReload() {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMinutes(1));
+            autosave.edit(() -> calendar.insert(createEvent("Discarded", 1)));
+
+            autosave.reload(() -> {
+                calendar.clear();
+                calendar.insert(createEvent("Loaded", 2));
+            });
+
+            assertFalse(autosave.hasPendingEdits());
+            assertFalse(calendar.hasChangesSinceCheckpoint());
+        }
+
+        @Test
+        @DisplayName("Should take a consistent full snapshot while edits land between chunks")
+        void shouldSnapshotAcrossConcurrentEdits() {
+            List<Runnable> editsAfterFirstChunk = new ArrayList<>();
+            calendar = new EventBST() {
+                @Override
+                public List<Event> getAllEventsFrom(LocalDate startDate, int limit) {
+                    List<Event> chunk = super.getAllEventsFrom(startDate, limit);
+                    // Runs while the chunk's lock is still held, so it is ordered just as an edit
+                    // arriving right after the chunk was copied
+                    editsAfterFirstChunk.forEach(Runnable::run);
+                    editsAfterFirstChunk.clear();
+                    return chunk;
+                }
+            };
+            List<Event> seeded = new ArrayList<>();
+            for (int i = 0; i < AutosaveService.SNAPSHOT_CHUNK * 3; i++) {
+                seeded.add(createEvent("Event " + i, 1 + i % 28));
+            }
+            calendar.bulkLoad(seeded);
+            Event late = calendar.findEventsByDate(LocalDate.of(2026, 5, 27)).get(0);
+            Event early = calendar.findEventsByDate(LocalDate.of(2026, 5, 2)).get(0);
+            Event doomed = calendar.findEventsByDate(LocalDate.of(2026, 5, 26)).get(0);
+            editsAfterFirstChunk.add(() -> {
+                // Into the part already copied, out of it, out of the tree, and new
+                calendar.deleteById(late.getId());
+                calendar.insert(late.toBuilder().date(LocalDate.of(2026, 5, 1)).build());
+                calendar.deleteById(early.getId());
+                calendar.insert(early.toBuilder().date(LocalDate.of(2026, 5, 28)).build());
+                calendar.deleteById(doomed.getId());
+                calendar.insert(createEvent("Added", 1));
+            });
+            autosave = new AutosaveService(calendar, persistence, Duration.ofHours(1));
+            autosave.edit(() -> calendar.insert(createEvent("Trigger", 1)));
+
+            autosave.flush();
+
+            assertTrue(editsAfterFirstChunk.isEmpty());
+            Map<String, LocalDate> expected = new HashMap<>();
+            calendar.getAllEvents().forEach(event -> expected.put(event.getId(), event.getDate()));
+            Map<String, LocalDate> saved = new HashMap<>();
+            persistence.loadEvents().forEach(event -> assertNull(saved.put(event.getId(), event.getDate())));
+            assertEquals(expected, saved);
+            assertEquals(LocalDate.of(2026, 5, 1), saved.get(late.getId()));
+            assertFalse(saved.containsKey(doomed.getId()));
+        }
+
+        @Test
+        @DisplayName("Should reject edits after close")
+        void shouldRejectEditsAfterClose() {
+            autosave = new AutosaveService(calendar, persistence, Duration.ofMinutes(1));
+            autosave.close();
+
+            assertThrows(IllegalStateException.class,
+                    () -> autosave.edit(() -> calendar.insert(createEvent("Late", 1))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should keep edits pending and fall back to a full save after a failure")
+        void shouldRetryWithFullSave() throws Exception {
+            Path blocker = tempDir.resolve("blocker");
+            Files.writeString(blocker, "not a directory");
+            Path target = blocker.resolve("calendar_events.json");
+            autosave = new AutosaveService(calendar, new CalendarPersistence(target), Duration.ofMinutes(1));
+            autosave.edit(() -> calendar.insert(createEvent("Event", 1)));
+
+            assertThrows(RuntimeException.class, autosave::flush);
+            assertEquals(1, autosave.getPendingEdits());
+            assertNotNull(autosave.getLastError());
+
+            Files.delete(blocker);
+            Files.createDirectory(blocker);
+            autosave.flush();
+
+            assertFalse(autosave.hasPendingEdits());
+            assertNull(autosave.getLastError());
+            assertEquals(1, new CalendarPersistence(target).loadEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should reject a non-positive debounce")
+        void shouldRejectZeroDebounce() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new AutosaveService(calendar, persistence, Duration.ZERO));
+        }
+    }
+}
@@ -0,0 +1,500 @@
+package com.calendar.persistence;
+
+import com.calendar.bst.EventBST;
+import com.calendar.metrics.CalendarMetrics;
+import com.calendar.metrics.MetricsSnapshot;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalendarPersistence class.
+ * Tests saving and loading events through the JSON file format.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("CalendarPersistence Class Tests")
+class CalendarPersistenceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CalendarPersistence persistence;
+
+    @BeforeEach
+    void setUp() {
+        persistence = new CalendarPersistence(tempDir.resolve("calendar_events.json"));
+    }
+
+    @Nested
+    @DisplayName("Round Trip")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should load what was saved")
+        void shouldLoadWhatWasSaved() {
+            Event event = Event.builder()
+                    .date(LocalDate.of(2026, 3, 14))
+                    .time(LocalTime.of(15, 9))
+                    .durationMinutes(45)
+                    .title("Title\twith tab")
+                    .description("Line one\nLine two")
+                    .category(EventCategory.EDUCATION)
+                    .priority(EventPriority.URGENT)
+                    .build();
+
+            persistence.saveEvents(List.of(event));
+            List<Event> loaded = persistence.loadEvents();
+
+            assertEquals(1, loaded.size());
+            Event copy = loaded.get(0);
+            assertEquals(event.getId(), copy.getId());
+            assertEquals(event.getTitle(), copy.getTitle());
+            assertEquals(event.getDescription(), copy.getDescription());
+            assertEquals(event.getDuration(), copy.getDuration());
+            assertEquals(event.getCategory(), copy.getCategory());
+            assertEquals(event.getPriority(), copy.getPriority());
+            assertNull(copy.getRecurrence());
+        }
+
+        @Test
+        @DisplayName("Should preserve recurrence rules")
+        void shouldPreserveRecurrence() {
+            RecurrenceRule rule = RecurrenceRule.weekly().withCount(8).withException(LocalDate.of(2026, 1, 19));
+            Event series = Event.builder()
+                    .date(LocalDate.of(2026, 1, 5))
+                    .time(LocalTime.of(9, 0))
+                    .title("Weekly Sync")
+                    .recurrence(rule)
+                    .build();
+            Event single = Event.builder()
+                    .date(LocalDate.of(2026, 1, 6))
+                    .time(LocalTime.of(9, 0))
+                    .title("One-off")
+                    .build();
+
+            persistence.saveEvents(List.of(series, single));
+            List<Event> loaded = persistence.loadEvents();
+
+            assertEquals(2, loaded.size());
+            assertEquals(rule, loaded.get(0).getRecurrence());
+            assertNull(loaded.get(1).getRecurrence());
+        }
+
+        @Test
+        @DisplayName("Should preserve quotes and backslashes in text")
+        void shouldPreserveEscapedCharacters() {
+            Event event = Event.builder()
+                    .date(LocalDate.of(2026, 3, 14))
+                    .time(LocalTime.of(10, 0))
+                    .title("Review \"Q1\" plan")
+                    .description("C:\\temp\\notes \\n not a newline")
+                    .build();
+
+            persistence.saveEvents(List.of(event));
+            Event copy = persistence.loadEvents().get(0);
+
+            assertEquals(event.getTitle(), copy.getTitle());
+            assertEquals(event.getDescription(), copy.getDescription());
+        }
+
+        @Test
+        @DisplayName("Should record save and load metrics when attached")
+        void shouldRecordMetrics() {
+            CalendarMetrics metrics = new CalendarMetrics();
+            persistence.setMetrics(metrics);
+            persistence.saveEvents(List.of(Event.builder()
+                    .date(LocalDate.of(2026, 3, 14))
+                    .time(LocalTime.of(10, 0))
+                    .title("Measured")
+                    .build()));
+            persistence.loadEvents();
+
+            MetricsSnapshot snapshot = metrics.snapshot();
+            long saved = snapshot.get(CalendarMetrics.Operation.SAVE).bytes();
+            assertTrue(saved > 0);
+            assertEquals(saved, snapshot.get(CalendarMetrics.Operation.LOAD).bytes());
+            assertEquals(1, snapshot.get(CalendarMetrics.Operation.LOAD).count());
+        }
+
+        @Test
+        @DisplayName("Should emit a JFR event for each save and load")
+        void shouldEmitFlightRecorderEvents() throws Exception {
+            List<RecordedEvent> recorded;
+            try (Recording recording = new Recording()) {
+                recording.enable("com.calendar.Persistence");
+                recording.start();
+                persistence.saveEvents(List.of(Event.builder()
+                        .date(LocalDate.of(2026, 3, 14))
+                        .time(LocalTime.of(10, 0))
+                        .title("Recorded")
+                        .build()));
+                persistence.loadEvents();
+                recording.stop();
+                Path dump = tempDir.resolve("persistence.jfr");
+                recording.dump(dump);
+                recorded = RecordingFile.readAllEvents(dump);
+            }
+
+            assertEquals(List.of("SAVE", "LOAD"), recorded.stream().map(e -> e.getString("operation")).toList());
+            for (RecordedEvent event : recorded) {
+                assertEquals(1, event.getInt("eventCount"));
+                assertTrue(event.getLong("fileSize") > 0);
+            }
+        }
+
+        @Test
+        @DisplayName("Should return empty list when no file exists")
+        void shouldReturnEmptyWhenMissing() {
+            assertFalse(persistence.hasExistingData());
+            assertTrue(persistence.loadEvents().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("String Interning")
+    class InterningTests {
+
+        @Test
+        @DisplayName("Should share repeated titles and descriptions")
+        void shouldShareRepeatedText() {
+            List<Event> events = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                events.add(Event.builder()
+                        .date(LocalDate.of(2026, 1, 1).plusDays(i))
+                        .time(LocalTime.of(9, 0))
+                        .title(i % 2 == 0 ? "Standup" : "Lunch")
+                        .build());
+            }
+
+            persistence.saveEvents(events);
+            List<Event> loaded = persistence.loadEvents();
+
+            assertSame(loaded.get(0).getTitle(), loaded.get(2).getTitle());
+            assertSame(loaded.get(1).getDescription(), loaded.get(3).getDescription());
+
+            StringPool.PoolStatistics stats = persistence.getLastLoadStatistics();
+            assertEquals(40, stats.lookups());
+            assertEquals(3, stats.distinct());
+            assertEquals(37, stats.hits());
+            assertTrue(stats.bytesSaved() > 0);
+        }
+
+        @Test
+        @DisplayName("Should stop growing once the pool is full")
+        void shouldRespectCapacity() {
+            StringPool pool = new StringPool(2);
+            pool.intern("a");
+            pool.intern("b");
+            String first = pool.intern("c");
+
+            assertEquals(2, pool.getSize());
+            assertNotSame(first, pool.intern(new String("c")));
+            assertSame(pool.intern("a"), pool.intern(new String("a")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Saves")
+    class JournalTests {
+
+        private EventBST calendar;
+
+        @BeforeEach
+        void loadCalendar() {
+            calendar = new EventBST();
+            for (int day = 0; day < 10; day++) {
+                calendar.insert(Event.builder()
+                        .date(LocalDate.of(2026, 4, 1 + day))
+                        .time(LocalTime.of(9, 0))
+                        .title("Day " + day)
+                        .description("Seeded")
+                        .build());
+            }
+            persistence.saveEvents(calendar.getAllEvents());
+            calendar.checkpoint();
+        }
+
+        @Test
+        @DisplayName("Should append edits to the journal and replay them on load")
+        void shouldReplayJournal() throws Exception {
+            long snapshotSize = Files.size(persistence.getFilePath());
+            Event removed = calendar.getAllEvents().get(3);
+            calendar.deleteById(removed.getId());
+            calendar.insert(Event.builder()
+                    .date(LocalDate.of(2026, 4, 20))
+                    .time(LocalTime.of(15, 30))
+                    .title("Retro \"Q2\"")
+                    .description("Line one\nline two")
+                    .build());
+
+            assertTrue(persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents));
+            calendar.checkpoint();
+
+            assertEquals(snapshotSize, Files.size(persistence.getFilePath()));
+            assertTrue(Files.exists(persistence.getJournalPath()));
+            List<Event> loaded = persistence.loadEvents();
+            assertEquals(10, loaded.size());
+            assertTrue(loaded.stream().noneMatch(e -> e.getId().equals(removed.getId())));
+            Event retro = loaded.stream().filter(e -> e.getTitle().startsWith("Retro")).findFirst().orElseThrow();
+            assertEquals("Line one\nline two", retro.getDescription());
+        }
+
+        @Test
+        @DisplayName("Should fold the journal back in on a full save")
+        void shouldCompactOnFullSave() {
+            calendar.insert(Event.builder().date(LocalDate.of(2026, 5, 1)).time(LocalTime.NOON).title("Extra").build());
+            persistence.appendChanges(calendar.getChangesSinceCheckpoint());
+
+            persistence.saveEvents(calendar.getAllEvents());
+
+            assertFalse(Files.exists(persistence.getJournalPath()));
+            assertEquals(11, persistence.loadEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should keep the old snapshot and journal when a rewrite fails part way")
+        void shouldKeepSnapshotOnFailedRewrite() {
+            calendar.insert(Event.builder().date(LocalDate.of(2026, 5, 1)).time(LocalTime.NOON).title("Extra").build());
+            persistence.appendChanges(calendar.getChangesSinceCheckpoint());
+            List<Event> all = calendar.getAllEvents();
+            List<Event> failing = new AbstractList<>() {
+                @Override
+                public Event get(int index) {
+                    if (index == 5) {
+                        throw new IllegalStateException("Interrupted");
+                    }
+                    return all.get(index);
+                }
+
+                @Override
+                public int size() {
+                    return all.size();
+                }
+            };
+            persistence.setCompression(CalendarPersistence.Compression.GZIP);
+
+            assertThrows(IllegalStateException.class, () -> persistence.saveEvents(failing));
+
+            assertTrue(Files.exists(persistence.getJournalPath()));
+            assertFalse(persistence.isCompressed());
+            assertEquals(11, persistence.loadEvents().size());
+            assertEquals(2, tempDir.toFile().list().length);
+        }
+
+        @Test
+        @DisplayName("Should rewrite the snapshot when the delta is unknown")
+        void shouldFallBackToFullSave() {
+            calendar.clear();
+            calendar.insert(Event.builder().date(LocalDate.of(2026, 5, 1)).time(LocalTime.NOON).title("Only").build());
+
+            assertFalse(persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents));
+            assertThrows(IllegalArgumentException.class,
+                    () -> persistence.appendChanges(new EventBST().getChangesSinceCheckpoint()));
+            assertEquals(1, persistence.loadEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should compact once the journal outgrows half the snapshot")
+        void shouldCompactLargeJournal() {
+            for (int i = 0; i < 20; i++) {
+                calendar.insert(Event.builder().date(LocalDate.of(2026, 6, 1)).time(LocalTime.of(8, i))
+                        .title("Burst " + i).build());
+                persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents);
+                calendar.checkpoint();
+            }
+
+            assertEquals(30, persistence.loadEvents().size());
+            CalendarMetrics metrics = new CalendarMetrics();
+            persistence.setMetrics(metrics);
+            calendar.insert(Event.builder().date(LocalDate.of(2026, 6, 2)).time(LocalTime.NOON).title("Last").build());
+            persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents);
+            assertEquals(1, metrics.snapshot().get(CalendarMetrics.Operation.APPEND).count()
+                    + metrics.snapshot().get(CalendarMetrics.Operation.SAVE).count());
+        }
+        @Test
+        @DisplayName("Should count journal entries against snapshot events when compressed")
+        void shouldCompactByEntryCount() {
+            for (int i = 0; i < 190; i++) {
+                calendar.insert(Event.builder().date(LocalDate.of(2026, 7, 1)).time(LocalTime.of(i / 60, i % 60))
+                        .title("Repeated").description("Seeded").build());
+            }
+            persistence.setCompression(CalendarPersistence.Compression.GZIP);
+            persistence.saveEvents(calendar.getAllEvents());
+            calendar.checkpoint();
+
+            int incremental = 0;
+            for (int i = 0; i < 120; i++) {
+                calendar.insert(Event.builder().date(LocalDate.of(2026, 8, 1)).time(LocalTime.of(i / 60, i % 60))
+                        .title("Burst " + i).build());
+                if (persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents)) {
+                    incremental++;
+                }
+                calendar.checkpoint();
+            }
+
+            // Only the save after the journal passes half of the 200 snapshot events rewrites it
+            assertEquals(119, incremental);
+            assertEquals(320, persistence.loadEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should keep counting the journal after a reload")
+        void shouldCountJournalAfterReload() {
+            for (int i = 0; i < 6; i++) {
+                calendar.insert(Event.builder().date(LocalDate.of(2026, 6, 1)).time(LocalTime.of(8, i))
+                        .title("Burst " + i).build());
+                assertTrue(persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents));
+                calendar.checkpoint();
+            }
+
+            CalendarPersistence reopened = new CalendarPersistence(persistence.getFilePath());
+            assertEquals(16, reopened.loadEvents().size());
+            calendar.insert(Event.builder().date(LocalDate.of(2026, 6, 2)).time(LocalTime.NOON).title("Last").build());
+            assertFalse(reopened.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents));
+            assertFalse(Files.exists(reopened.getJournalPath()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compression")
+    class CompressionTests {
+
+        private List<Event> createEvents(int count) {
+            List<Event> events = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                events.add(Event.builder()
+                        .date(LocalDate.of(2026, 6, 1).plusDays(i % 30))
+                        .time(LocalTime.of(8 + i % 10, 0))
+                        .durationMinutes(30)
+                        .title("Stand-up " + (i % 5))
+                        .description("Daily \"sync\"\nwith the team")
+                        .category(EventCategory.WORK)
+                        .priority(EventPriority.HIGH)
+                        .build());
+            }
+            return events;
+        }
+
+        @Test
+        @DisplayName("Should write plain JSON by default")
+        void shouldWritePlainByDefault() throws Exception {
+            persistence.saveEvents(createEvents(3));
+
+            assertFalse(persistence.isCompressed());
+            assertTrue(Files.readString(persistence.getFilePath()).startsWith("{"));
+        }
+
+        @Test
+        @DisplayName("Should load what was saved gzipped")
+        void shouldRoundTripGzip() {
+            List<Event> events = createEvents(50);
+            persistence.setCompression(CalendarPersistence.Compression.GZIP);
+            persistence.saveEvents(events);
+
+            assertTrue(persistence.isCompressed());
+            List<Event> loaded = persistence.loadEvents();
+            assertEquals(events.size(), loaded.size());
+            for (int i = 0; i < events.size(); i++) {
+                assertEquals(events.get(i).getId(), loaded.get(i).getId());
+                assertEquals(events.get(i).getDescription(), loaded.get(i).getDescription());
+            }
+        }
+
+        @Test
+        @DisplayName("Should stream events that straddle read buffers in either format")
+        void shouldStreamEventsAcrossBuffers() {
+            List<Event> events = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                events.add(Event.builder()
+                        .date(LocalDate.of(2026, 6, 1).plusDays(i % 30))
+                        .time(LocalTime.of(9, 0))
+                        .durationMinutes(30)
+                        .title("Notes {" + i + "}")
+                        .description("Agenda ".repeat(i * 20) + "\\ \"{}\"")
+                        .category(EventCategory.WORK)
+                        .priority(EventPriority.LOW)
+                        .build());
+            }
+
+            for (CalendarPersistence.Compression compression : CalendarPersistence.Compression.values()) {
+                persistence.setCompression(compression);
+                persistence.saveEvents(events);
+
+                List<Event> loaded = persistence.loadEvents();
+                assertEquals(events.size(), loaded.size());
+                for (int i = 0; i < events.size(); i++) {
+                    assertEquals(events.get(i).getTitle(), loaded.get(i).getTitle());
+                    assertEquals(events.get(i).getDescription(), loaded.get(i).getDescription());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should be much smaller than plain JSON for repetitive calendars")
+        void shouldShrinkRepetitiveCalendar() throws Exception {
+            List<Event> events = createEvents(500);
+            persistence.saveEvents(events);
+            long plainSize = Files.size(persistence.getFilePath());
+
+            persistence.setCompression(CalendarPersistence.Compression.GZIP);
+            persistence.saveEvents(events);
+
+            assertTrue(Files.size(persistence.getFilePath()) * 4 < plainSize);
+        }
+
+        @Test
+        @DisplayName("Should detect the format on load whatever the current setting")
+        void shouldDetectFormatOnLoad() {
+            CalendarPersistence gzipWriter = new CalendarPersistence(persistence.getFilePath());
+            gzipWriter.setCompression(CalendarPersistence.Compression.GZIP);
+            gzipWriter.saveEvents(createEvents(5));
+
+            assertEquals(CalendarPersistence.Compression.NONE, persistence.getCompression());
+            assertEquals(5, persistence.loadEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should replay the journal over a gzipped snapshot")
+        void shouldReplayJournalOverGzip() {
+            EventBST calendar = new EventBST();
+            createEvents(5).forEach(calendar::insert);
+            persistence.setCompression(CalendarPersistence.Compression.GZIP);
+            persistence.saveEvents(calendar.getAllEvents());
+            calendar.checkpoint();
+
+            calendar.deleteById(calendar.getAllEvents().get(0).getId());
+            assertTrue(persistence.saveChanges(calendar.getChangesSinceCheckpoint(), calendar::getAllEvents));
+
+            assertTrue(persistence.isCompressed());
+            assertEquals(4, persistence.loadEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should reject a null compression")
+        void shouldRejectNullCompression() {
+            assertThrows(NullPointerException.class, () -> persistence.setCompression(null));
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.calendar.persistence;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceFrequency;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ICalendarReader class.
+ * Tests round trips through ICalendarWriter, files written by other tools and bulk import.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("ICalendarReader Class Tests")
+class ICalendarReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String... lines) throws IOException {
+        Path file = tempDir.resolve("import.ics");
+        Files.writeString(file, String.join("\r\n", lines) + "\r\n", StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<Event> readAll(Path file) {
+        try (ICalendarReader reader = new ICalendarReader(file)) {
+            return reader.events().toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Round Trip")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should read back every field the writer wrote")
+        void shouldRoundTripFields() {
+            Event event = Event.builder()
+                    .date(LocalDate.of(2026, 5, 4))
+                    .time(LocalTime.of(18, 45))
+                    .durationMinutes(95)
+                    .title("Dinner; then a film, maybe")
+                    .description("Bring:\n- tickets\n- C:\\notes")
+                    .category(EventCategory.SOCIAL)
+                    .priority(EventPriority.LOW)
+                    .createdAt(LocalDateTime.of(2026, 4, 1, 8, 0, 30))
+                    .build();
+            Path file = tempDir.resolve("calendar.ics");
+            ICalendarWriter.export(file, List.of(event));
+
+            Event read = readAll(file).get(0);
+
+            assertEquals(event.getId(), read.getId());
+            assertFalse(read.hasCustomId());
+            assertEquals(event.getDate(), read.getDate());
+            assertEquals(event.getTime(), read.getTime());
+            assertEquals(event.getDuration(), read.getDuration());
+            assertEquals(event.getTitle(), read.getTitle());
+            assertEquals(event.getDescription(), read.getDescription());
+            assertEquals(event.getCategory(), read.getCategory());
+            assertEquals(event.getPriority(), read.getPriority());
+            assertEquals(event.getCreatedAt(), read.getCreatedAt());
+        }
+
+        @Test
+        @DisplayName("Should read back recurrence rules and exceptions")
+        void shouldRoundTripRecurrence() {
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 2, 10, null,
+                    new TreeSet<>(List.of(LocalDate.of(2026, 5, 8))));
+            Event event = Event.builder()
+                    .date(LocalDate.of(2026, 5, 4))
+                    .time(LocalTime.of(7, 0))
+                    .title("Run")
+                    .recurrence(rule)
+                    .build();
+            Path file = tempDir.resolve("calendar.ics");
+            ICalendarWriter.export(file, List.of(event));
+
+            Event read = readAll(file).get(0);
+
+            assertEquals(rule, read.getRecurrence());
+        }
+
+        @Test
+        @DisplayName("Should unfold long titles")
+        void shouldUnfoldLongLines() {
+            String title = "Quarterly planning ".repeat(12).trim();
+            Event event = Event.builder()
+                    .date(LocalDate.of(2026, 5, 4))
+                    .time(LocalTime.NOON)
+                    .title(title)
+                    .build();
+            Path file = tempDir.resolve("calendar.ics");
+            ICalendarWriter.export(file, List.of(event));
+
+            assertEquals(title, readAll(file).get(0).getTitle());
+        }
+    }
+
+    @Nested
+    @DisplayName("Foreign Files")
+    class ForeignFileTests {
+
+        @Test
+        @DisplayName("Should fall back to standard properties and DTEND")
+        void shouldReadStandardProperties() throws IOException {
+            Path file = write(
+                    "BEGIN:VCALENDAR",
+                    "BEGIN:VEVENT",
+                    "UID:abc@example.com",
+                    "DTSTART:20260601T100000",
+                    "DTEND:20260601T113000",
+                    "SUMMARY:Dentist",
+                    "CATEGORIES:Appointments,Health",
+                    "PRIORITY:1",
+                    "END:VEVENT",
+                    "END:VCALENDAR");
+
+            Event event = readAll(file).get(0);
+
+            assertEquals("abc@example.com", event.getId());
+            assertEquals(Duration.ofMinutes(90), event.getDuration());
+            assertEquals(EventCategory.HEALTH, event.getCategory());
+            assertEquals(EventPriority.URGENT, event.getPriority());
+        }
+
+        @Test
+        @DisplayName("Should move UTC times into the local zone")
+        void shouldConvertUtcTimes() throws IOException {
+            Path file = write(
+                    "BEGIN:VEVENT",
+                    "DTSTART:20260601T120000Z",
+                    "SUMMARY:Call",
+                    "END:VEVENT");
+
+            Event event = readAll(file).get(0);
+
+            LocalDateTime expected = LocalDateTime.of(2026, 6, 1, 12, 0)
+                    .atOffset(ZoneOffset.UTC)
+                    .atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+            assertEquals(expected, event.getDate().atTime(event.getTime()));
+        }
+
+        @Test
+        @DisplayName("Should read all-day events as starting at midnight")
+        void shouldReadAllDayEvents() throws IOException {
+            Path file = write(
+                    "BEGIN:VEVENT",
+                    "DTSTART;VALUE=DATE:20260704",
+                    "SUMMARY:Holiday",
+                    "END:VEVENT");
+
+            Event event = readAll(file).get(0);
+
+            assertEquals(LocalDate.of(2026, 7, 4), event.getDate());
+            assertEquals(LocalTime.MIDNIGHT, event.getTime());
+            assertEquals(Duration.ofDays(1), event.getDuration());
+        }
+
+        @Test
+        @DisplayName("Should ignore alarms and other components")
+        void shouldIgnoreNestedComponents() throws IOException {
+            Path file = write(
+                    "BEGIN:VCALENDAR",
+                    "BEGIN:VTIMEZONE",
+                    "TZID:Europe/Paris",
+                    "END:VTIMEZONE",
+                    "BEGIN:VEVENT",
+                    "DTSTART;TZID=\"Europe/Paris\":20260601T090000",
+                    "DURATION:P1W",
+                    "SUMMARY:Trip",
+                    "BEGIN:VALARM",
+                    "TRIGGER:-PT15M",
+                    "DESCRIPTION:Alarm text",
+                    "END:VALARM",
+                    "END:VEVENT",
+                    "BEGIN:VTODO",
+                    "SUMMARY:Not an event",
+                    "END:VTODO",
+                    "END:VCALENDAR");
+
+            List<Event> events = readAll(file);
+
+            assertEquals(1, events.size());
+            assertEquals("Trip", events.get(0).getTitle());
+            assertEquals("", events.get(0).getDescription());
+            assertEquals(Duration.ofDays(7), events.get(0).getDuration());
+        }
+
+        @Test
+        @DisplayName("Should skip events this model cannot represent")
+        void shouldSkipUnsupportedEvents() throws IOException {
+            Path file = write(
+                    "BEGIN:VEVENT",
+                    "DTSTART:20260601T090000",
+                    "SUMMARY:Yearly",
+                    "RRULE:FREQ=YEARLY",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "DTSTART:20260601T090000",
+                    "SUMMARY:Twice a week",
+                    "RRULE:FREQ=WEEKLY;BYDAY=MO,TH",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "SUMMARY:No start",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "DTSTART:20260601T090000",
+                    "SUMMARY:Mondays",
+                    "RRULE:FREQ=WEEKLY;BYDAY=MO;WKST=MO",
+                    "END:VEVENT");
+
+            try (ICalendarReader reader = new ICalendarReader(file)) {
+                List<Event> events = reader.events().toList();
+
+                assertEquals(1, events.size());
+                assertEquals("Mondays", events.get(0).getTitle());
+                assertEquals(RecurrenceFrequency.WEEKLY, events.get(0).getRecurrence().frequency());
+                assertEquals(3, reader.getSkippedCount());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Import")
+    class ImportTests {
+
+        @Test
+        @DisplayName("Should bulk load a file into a balanced tree")
+        void shouldImportIntoTree() {
+            List<Event> events = new ArrayList<>();
+            LocalDate start = LocalDate.of(2026, 1, 1);
+            for (int i = 0; i < 1023; i++) {
+                events.add(Event.builder()
+                        .date(start.plusDays(i))
+                        .time(LocalTime.of(9, 0))
+                        .title("Event " + i)
+                        .build());
+            }
+            Path file = tempDir.resolve("calendar.ics");
+            ICalendarWriter.export(file, events);
+            EventBST calendar = new EventBST();
+
+            int imported = ICalendarReader.importInto(file, calendar);
+
+            assertEquals(1023, imported);
+            assertEquals(1023, calendar.getSize());
+            assertEquals(9, calendar.getHeight());
+        }
+
+        @Test
+        @DisplayName("Should import in batches without losing or repeating events")
+        void shouldImportInBatches() {
+            List<Event> events = new ArrayList<>();
+            LocalDate start = LocalDate.of(2026, 1, 1);
+            for (int i = 0; i < 250; i++) {
+                // Every fifth event lands back in January so later batches interleave with earlier ones
+                events.add(Event.builder()
+                        .date(start.plusDays(i % 5 == 0 ? i % 31 : i))
+                        .time(LocalTime.of(9 + i % 8, 0))
+                        .title("Event " + i)
+                        .build());
+            }
+            Path file = tempDir.resolve("calendar.ics");
+            ICalendarWriter.export(file, events);
+            EventBST calendar = new EventBST();
+
+            int imported = ICalendarReader.importInto(file, calendar, 64);
+
+            assertEquals(250, imported);
+            assertEquals(250, calendar.getSize());
+            for (Event event : events) {
+                assertEquals(event.getDate(), calendar.findById(event.getId()).getDate());
+            }
+        }
+
+        @Test
+        @DisplayName("Should replace events by UID when a file is imported again")
+        void shouldReplaceOnReimport() {
+            LocalDate start = LocalDate.of(2026, 1, 5);
+            Event planning = Event.builder()
+                    .id("X-1")
+                    .date(start)
+                    .time(LocalTime.of(10, 0))
+                    .title("Planning")
+                    .build();
+            Event review = Event.builder()
+                    .id("X-2")
+                    .date(start.plusDays(1))
+                    .time(LocalTime.of(15, 0))
+                    .title("Review")
+                    .build();
+            Path file = tempDir.resolve("calendar.ics");
+            ICalendarWriter.export(file, List.of(planning, review));
+            EventBST calendar = new EventBST();
+            ICalendarReader.importInto(file, calendar);
+
+            ICalendarWriter.export(file, List.of(planning.toBuilder().date(start.plusDays(4)).build(), review));
+            ICalendarReader.importInto(file, calendar);
+
+            assertEquals(2, calendar.getSize());
+            assertEquals(start.plusDays(4), calendar.findById("X-1").getDate());
+            assertTrue(calendar.findEventsByDate(start).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep a series and add its moved occurrence as its own event")
+        void shouldImportOverriddenOccurrence() throws IOException {
+            String[] master = {
+                    "BEGIN:VEVENT",
+                    "UID:weekly@example.com",
+                    "DTSTART:20260105T090000",
+                    "RRULE:FREQ=WEEKLY;COUNT=10",
+                    "SUMMARY:Team sync",
+                    "END:VEVENT"};
+            String[] moved = {
+                    "BEGIN:VEVENT",
+                    "UID:weekly@example.com",
+                    "RECURRENCE-ID:20260112T090000",
+                    "DTSTART:20260113T140000",
+                    "SUMMARY:Team sync (moved)",
+                    "END:VEVENT"};
+            String[] cancelled = {
+                    "BEGIN:VEVENT",
+                    "UID:weekly@example.com",
+                    "RECURRENCE-ID:20260119T090000",
+                    "DTSTART:20260119T090000",
+                    "STATUS:CANCELLED",
+                    "END:VEVENT"};
+
+            // Overrides both after and before their series, as different tools order them
+            for (boolean masterFirst : new boolean[] {true, false}) {
+                List<String> lines = new ArrayList<>(List.of("BEGIN:VCALENDAR"));
+                if (masterFirst) {
+                    lines.addAll(List.of(master));
+                }
+                lines.addAll(List.of(moved));
+                lines.addAll(List.of(cancelled));
+                if (!masterFirst) {
+                    lines.addAll(List.of(master));
+                }
+                lines.add("END:VCALENDAR");
+                Path file = write(lines.toArray(new String[0]));
+                EventBST calendar = new EventBST();
+
+                int imported = ICalendarReader.importInto(file, calendar);
+
+                assertEquals(2, imported);
+                assertEquals(2, calendar.getSize());
+                Event series = calendar.findById("weekly@example.com");
+                assertEquals(Set.of(LocalDate.of(2026, 1, 12), LocalDate.of(2026, 1, 19)),
+                        series.getRecurrence().exceptions());
+                List<Event> january = calendar.findEventsInRange(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+                assertEquals(List.of(LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 13), LocalDate.of(2026, 1, 26)),
+                        january.stream().map(Event::getDate).toList());
+                assertEquals("Team sync (moved)", calendar.findById("weekly@example.com/2026-01-12").getTitle());
+            }
+        }
+
+        @Test
+        @DisplayName("Should count only events the calendar gained")
+        void shouldCountAddedEvents() throws IOException {
+            Path file = write(
+                    "BEGIN:VCALENDAR",
+                    "BEGIN:VEVENT",
+                    "UID:same@example.com",
+                    "DTSTART:20260601T100000",
+                    "SUMMARY:Draft",
+                    "END:VEVENT",
+                    "BEGIN:VEVENT",
+                    "UID:same@example.com",
+                    "DTSTART:20260602T100000",
+                    "SUMMARY:Final",
+                    "END:VEVENT",
+                    "END:VCALENDAR");
+            EventBST calendar = new EventBST();
+
+            assertEquals(1, ICalendarReader.importInto(file, calendar));
+            assertEquals(1, calendar.getSize());
+            assertEquals(0, ICalendarReader.importInto(file, calendar));
+        }
+
+        @Test
+        @DisplayName("Should report a missing file")
+        void shouldReportMissingFile() {
+            assertThrows(PersistenceException.class,
+                    () -> ICalendarReader.importInto(tempDir.resolve("missing.ics"), new EventBST()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.calendar.persistence;
+
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceFrequency;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ICalendarWriter class.
+ * Tests the VCALENDAR layout, text escaping and line folding.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("ICalendarWriter Class Tests")
+class ICalendarWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Event createEvent(String title, String description) {
+        return Event.builder()
+                .id("standup")
+                .date(LocalDate.of(2026, 3, 9))
+                .time(LocalTime.of(9, 30))
+                .durationMinutes(15)
+                .title(title)
+                .description(description)
+                .category(EventCategory.WORK)
+                .priority(EventPriority.HIGH)
+                .build();
+    }
+
+    private String export(Event... events) throws IOException {
+        Path file = tempDir.resolve("calendar.ics");
+        ICalendarWriter.export(file, List.of(events));
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should wrap events in a VCALENDAR with CRLF line endings")
+    void shouldWriteCalendarEnvelope() throws IOException {
+        String content = export(createEvent("Standup", ""));
+
+        assertTrue(content.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(content.endsWith("END:VCALENDAR\r\n"));
+        assertFalse(content.replace("\r\n", "").contains("\n"));
+    }
+
+    @Test
+    @DisplayName("Should write the event's properties")
+    void shouldWriteProperties() throws IOException {
+        String content = export(createEvent("Standup", ""));
+
+        assertTrue(content.contains("BEGIN:VEVENT\r\nUID:standup\r\n"));
+        assertTrue(content.contains("DTSTART:20260309T093000\r\n"));
+        assertTrue(content.contains("DURATION:PT15M\r\n"));
+        assertTrue(content.contains("SUMMARY:Standup\r\n"));
+        assertTrue(content.contains("PRIORITY:3\r\n"));
+        assertTrue(content.contains("X-CALENDAR-CATEGORY:WORK\r\n"));
+        assertTrue(content.contains("X-CALENDAR-PRIORITY:HIGH\r\n"));
+        assertFalse(content.contains("DESCRIPTION"));
+    }
+
+    @Test
+    @DisplayName("Should escape special characters in text")
+    void shouldEscapeText() throws IOException {
+        String content = export(createEvent("Plan; review, ship", "Line one\nC:\\temp"));
+
+        assertTrue(content.contains("SUMMARY:Plan\\; review\\, ship\r\n"));
+        assertTrue(content.contains("DESCRIPTION:Line one\\nC:\\\\temp\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should fold long lines at 75 octets without splitting characters")
+    void shouldFoldLongLines() throws IOException {
+        String content = export(createEvent("Réunion " + "é".repeat(100), ""));
+
+        for (String line : content.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        String unfolded = content.replace("\r\n ", "");
+        assertTrue(unfolded.contains("SUMMARY:Réunion " + "é".repeat(100) + "\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should write recurrence rules and exception dates")
+    void shouldWriteRecurrence() throws IOException {
+        TreeSet<LocalDate> exceptions = new TreeSet<>(List.of(LocalDate.of(2026, 3, 16)));
+        Event event = createEvent("Standup", "").toBuilder()
+                .recurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, 0,
+                        LocalDate.of(2026, 6, 1), exceptions))
+                .build();
+
+        String content = export(event);
+
+        assertTrue(content.contains("RRULE:FREQ=WEEKLY;INTERVAL=1;UNTIL=20260601\r\n"));
+        assertTrue(content.contains("EXDATE:20260316T093000\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should count the events written")
+    void shouldCountEvents() {
+        int written = ICalendarWriter.export(tempDir.resolve("calendar.ics"),
+                List.of(createEvent("One", ""), createEvent("Two", "")));
+
+        assertEquals(2, written);
+    }
+}
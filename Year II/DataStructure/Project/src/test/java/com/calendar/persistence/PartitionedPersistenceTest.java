@@ -0,0 +1,209 @@
+package com.calendar.persistence;
+
+import com.calendar.model.Event;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PartitionedPersistence class.
+ * Tests per-year partition files, lazy range loading and dirty-only saves.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("PartitionedPersistence Class Tests")
+class PartitionedPersistenceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp() {
+        events = new ArrayList<>();
+        for (int year = 2022; year <= 2026; year++) {
+            for (int month = 1; month <= 12; month += 3) {
+                events.add(createEvent(LocalDate.of(year, month, 10), "Review " + year + "-" + month));
+            }
+        }
+        events.add(Event.builder()
+                .date(LocalDate.of(2022, 1, 3))
+                .time(LocalTime.of(8, 0))
+                .title("Weekly planning")
+                .description("Since 2022")
+                .recurrence(RecurrenceRule.weekly())
+                .build());
+        new PartitionedPersistence(tempDir).save(events);
+    }
+
+    private Event createEvent(LocalDate date, String title) {
+        return Event.builder()
+                .date(date)
+                .time(LocalTime.of(10, 0))
+                .title(title)
+                .description("Quarterly")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should write one file per year plus recurring series and a manifest")
+    void shouldPartitionByYear() {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+
+        assertTrue(persistence.hasExistingData());
+        assertEquals(Set.of("2022", "2023", "2024", "2025", "2026", "recurring"), persistence.getPartitionKeys());
+        assertEquals(21, persistence.getStoredEventCount());
+        assertTrue(Files.exists(tempDir.resolve("events-2024.json")));
+        assertTrue(persistence.getLoadedPartitions().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should only load partitions covering the requested range")
+    void shouldLoadRangeLazily() {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+
+        List<Event> window = persistence.loadRange(LocalDate.of(2025, 11, 1), LocalDate.of(2026, 2, 1));
+
+        assertEquals(9, window.size());
+        assertEquals(Set.of("2025", "2026", "recurring"), persistence.getLoadedPartitions());
+        assertTrue(persistence.isLoaded(LocalDate.of(2026, 6, 1)));
+        assertFalse(persistence.isLoaded(LocalDate.of(2024, 6, 1)));
+
+        assertTrue(persistence.loadRange(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31)).isEmpty());
+        assertEquals(12, persistence.loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Should only rewrite partitions that changed")
+    void shouldRewriteDirtyPartitions() throws Exception {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+        List<Event> loaded = new ArrayList<>(persistence.loadAll());
+        FileTime untouched = FileTime.fromMillis(0);
+        for (String key : persistence.getPartitionKeys()) {
+            Files.setLastModifiedTime(persistence.partitionFile(key), untouched);
+        }
+
+        assertEquals(0, persistence.save(loaded));
+
+        loaded.add(createEvent(LocalDate.of(2024, 7, 4), "Holiday"));
+        loaded.removeIf(e -> e.getTitle().equals("Review 2023-1"));
+        assertEquals(2, persistence.save(loaded));
+
+        assertNotEquals(untouched, Files.getLastModifiedTime(persistence.partitionFile("2024")));
+        assertNotEquals(untouched, Files.getLastModifiedTime(persistence.partitionFile("2023")));
+        assertEquals(untouched, Files.getLastModifiedTime(persistence.partitionFile("2022")));
+        assertEquals(21, new PartitionedPersistence(tempDir).loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Should keep unloaded history when saving a partial calendar")
+    void shouldPreserveUnloadedPartitions() {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+        List<Event> window = new ArrayList<>(persistence.loadRange(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)));
+        window.add(createEvent(LocalDate.of(2022, 5, 5), "Backfilled"));
+
+        assertEquals(1, persistence.save(window));
+
+        PartitionedPersistence reopened = new PartitionedPersistence(tempDir);
+        assertEquals(22, reopened.loadAll().size());
+        assertFalse(persistence.isLoaded(LocalDate.of(2022, 5, 5)));
+    }
+
+    @Test
+    @DisplayName("Should apply edits and deletes to events merged into an unloaded partition")
+    void shouldUpdateMergedEvents() {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+        List<Event> window = new ArrayList<>(persistence.loadRange(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        Event kept = createEvent(LocalDate.of(2022, 5, 5), "Backfilled");
+        Event dropped = createEvent(LocalDate.of(2022, 6, 6), "Mistake");
+        window.add(kept);
+        window.add(dropped);
+        assertEquals(1, persistence.save(window));
+
+        window.remove(dropped);
+        window.remove(kept);
+        window.add(kept.toBuilder().title("Renamed").build());
+        assertEquals(1, persistence.save(window));
+        assertEquals(0, persistence.save(window));
+
+        List<Event> all = new PartitionedPersistence(tempDir).loadAll();
+        assertEquals(22, all.size());
+        assertTrue(all.stream().noneMatch(e -> e.getTitle().equals("Mistake") || e.getTitle().equals("Backfilled")));
+        assertTrue(all.stream().anyMatch(e -> e.getTitle().equals("Renamed")));
+        assertFalse(persistence.isLoaded(LocalDate.of(2022, 5, 5)));
+    }
+
+    @Test
+    @DisplayName("Should remove a merged event once the calendar deletes it")
+    void shouldDeleteMergedEvent() {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+        List<Event> window = new ArrayList<>(persistence.loadRange(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        Event added = createEvent(LocalDate.of(2022, 3, 3), "Old trip");
+        window.add(added);
+        persistence.save(window);
+        assertEquals(22, new PartitionedPersistence(tempDir).getStoredEventCount());
+
+        window.remove(added);
+        assertEquals(1, persistence.save(window));
+
+        List<Event> all = new PartitionedPersistence(tempDir).loadAll();
+        assertEquals(21, all.size());
+        assertTrue(all.stream().noneMatch(e -> e.getTitle().equals("Old trip")));
+    }
+
+    @Test
+    @DisplayName("Should not return merged events again when their partition is loaded")
+    void shouldNotReloadMergedEvents() {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+        List<Event> window = new ArrayList<>(persistence.loadRange(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)));
+        window.add(createEvent(LocalDate.of(2022, 5, 5), "Backfilled"));
+        persistence.save(window);
+
+        List<Event> history = persistence.loadRange(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31));
+        window.addAll(history);
+
+        assertEquals(4, history.size());
+        assertEquals(0, persistence.save(window));
+        assertEquals(22, new PartitionedPersistence(tempDir).loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Should drop a partition once all of its events are deleted")
+    void shouldDeleteEmptyPartitions() {
+        PartitionedPersistence persistence = new PartitionedPersistence(tempDir);
+        List<Event> all = new ArrayList<>(persistence.loadAll());
+        all.removeIf(e -> e.getDate().getYear() == 2022 && !e.isRecurring());
+
+        persistence.save(all);
+
+        assertFalse(Files.exists(tempDir.resolve("events-2022.json")));
+        assertFalse(new PartitionedPersistence(tempDir).getPartitionKeys().contains("2022"));
+    }
+
+    @Test
+    @DisplayName("Should honour the scheme recorded in the manifest")
+    void shouldPartitionByMonth() {
+        Path monthly = tempDir.resolve("monthly");
+        new PartitionedPersistence(monthly, PartitionedPersistence.Scheme.MONTH).save(events);
+
+        PartitionedPersistence reopened = new PartitionedPersistence(monthly);
+        assertEquals(PartitionedPersistence.Scheme.MONTH, reopened.getScheme());
+        assertEquals(2, reopened.loadRange(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30)).size());
+    }
+}
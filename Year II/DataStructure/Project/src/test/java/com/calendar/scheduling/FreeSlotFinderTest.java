@@ -0,0 +1,106 @@
+package com.calendar.scheduling;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.model.Event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FreeSlotFinder class.
+ * Tests merging of busy intervals and lazy emission of free slots.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("FreeSlotFinder Class Tests")
+class FreeSlotFinderTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime SIX_PM = LocalTime.of(18, 0);
+
+    private EventBST calendar;
+    private FreeSlotFinder finder;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new EventBST();
+        finder = new FreeSlotFinder(calendar);
+        monday = LocalDate.of(2026, 1, 5);
+    }
+
+    @Test
+    @DisplayName("Should return the whole working day when it is empty")
+    void shouldReturnWholeDayWhenEmpty() {
+        List<TimeSlot> slots = finder.findFreeSlots(monday, monday, NINE, SIX_PM, Duration.ofMinutes(45)).toList();
+
+        assertEquals(List.of(new TimeSlot(monday.atTime(NINE), monday.atTime(SIX_PM))), slots);
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping busy intervals")
+    void shouldMergeOverlappingEvents() {
+        calendar.insert(event(monday, 9, 0, 60));
+        calendar.insert(event(monday, 9, 30, 90));
+        calendar.insert(event(monday, 13, 0, 60));
+
+        List<TimeSlot> slots = finder.findFreeSlots(monday, monday, NINE, SIX_PM, Duration.ofMinutes(30)).toList();
+
+        assertEquals(2, slots.size());
+        assertEquals(new TimeSlot(monday.atTime(11, 0), monday.atTime(13, 0)), slots.get(0));
+        assertEquals(new TimeSlot(monday.atTime(14, 0), monday.atTime(SIX_PM)), slots.get(1));
+    }
+
+    @Test
+    @DisplayName("Should skip gaps shorter than the requested length")
+    void shouldSkipShortGaps() {
+        calendar.insert(event(monday, 9, 30, 480));
+
+        Optional<TimeSlot> slot = finder.findFirstFreeSlot(monday, monday.plusDays(1), NINE, SIX_PM,
+                Duration.ofMinutes(45));
+
+        assertTrue(slot.isPresent());
+        assertEquals(monday.plusDays(1).atTime(NINE), slot.get().start());
+    }
+
+    @Test
+    @DisplayName("Should account for events that run past midnight")
+    void shouldAccountForOvernightEvents() {
+        calendar.insert(event(monday, 20, 0, 15 * 60));
+
+        TimeSlot slot = finder.findFirstFreeSlot(monday.plusDays(1), monday.plusDays(1), NINE, SIX_PM,
+                Duration.ofMinutes(45)).orElseThrow();
+
+        assertEquals(LocalDateTime.of(monday.plusDays(1), LocalTime.of(11, 0)), slot.start());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid windows")
+    void shouldRejectInvalidWindows() {
+        assertThrows(InvalidDateRangeException.class,
+                () -> finder.findFreeSlots(monday.plusDays(1), monday, NINE, SIX_PM, Duration.ofMinutes(30)));
+        assertThrows(IllegalArgumentException.class,
+                () -> finder.findFreeSlots(monday, monday, SIX_PM, NINE, Duration.ofMinutes(30)));
+    }
+
+    private Event event(LocalDate date, int hour, int minute, int durationMinutes) {
+        return Event.builder()
+                .date(date)
+                .time(LocalTime.of(hour, minute))
+                .durationMinutes(durationMinutes)
+                .title("Busy")
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.calendar.store;
+
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ColdSegment class.
+ * Tests the on-disk round trip and sparse-index range seeks.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("ColdSegment Class Tests")
+class ColdSegmentTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final LocalDate start = LocalDate.of(2024, 1, 1);
+
+    private List<Event> sortedEvents(int count) {
+        Random random = new Random(5);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(Event.builder()
+                    .date(start.plusDays(random.nextInt(90)))
+                    .time(LocalTime.of(random.nextInt(24), random.nextInt(4) * 15))
+                    .title("Réunion " + i)
+                    .description(i % 2 == 0 ? "Notes " + i : null)
+                    .category(EventCategory.values()[random.nextInt(EventCategory.values().length)])
+                    .priority(EventPriority.values()[random.nextInt(4)])
+                    .build());
+        }
+        events.sort(null);
+        return events;
+    }
+
+    @Test
+    @DisplayName("Should round trip every field through the file")
+    void shouldRoundTrip() {
+        List<Event> events = sortedEvents(200);
+        events.add(0, Event.builder().id("legacy-1").date(start.minusDays(1)).time(LocalTime.NOON)
+                .title("Legacy").build());
+
+        ColdSegment.write(tempDir.resolve("a.cold"), events);
+        ColdSegment reopened = ColdSegment.open(tempDir.resolve("a.cold"));
+        List<Event> read = reopened.getAllEvents();
+
+        assertEquals(events.size(), reopened.getSize());
+        assertEquals(events, read);
+        for (int i = 0; i < events.size(); i++) {
+            Event expected = events.get(i);
+            Event actual = read.get(i);
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getStartDateTime(), actual.getStartDateTime());
+            assertEquals(expected.getDuration(), actual.getDuration());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        }
+    }
+
+    @Test
+    @DisplayName("Should seek to ranges using the sparse index")
+    void shouldSeekRanges() {
+        List<Event> events = sortedEvents(1000);
+        ColdSegment segment = ColdSegment.write(tempDir.resolve("b.cold"), events);
+
+        assertEquals((1000 + ColdSegment.INDEX_INTERVAL - 1) / ColdSegment.INDEX_INTERVAL,
+                ColdSegment.open(segment.getFile()).getIndexEntries());
+        for (int offset = 0; offset < 90; offset += 7) {
+            LocalDate from = start.plusDays(offset);
+            LocalDate to = from.plusDays(3);
+            List<Event> expected = events.stream()
+                    .filter(e -> !e.getDate().isBefore(from) && !e.getDate().isAfter(to))
+                    .toList();
+            assertEquals(expected, segment.findEventsInRange(from, to));
+        }
+        assertTrue(segment.findEventsInRange(start.plusYears(1), start.plusYears(2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject recurring series and unsorted input")
+    void shouldRejectInvalidInput() {
+        Event series = Event.builder().date(start).time(LocalTime.NOON).title("Daily")
+                .recurrence(RecurrenceRule.daily()).build();
+        Event later = Event.builder().date(start.plusDays(1)).time(LocalTime.NOON).title("Later").build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ColdSegment.write(tempDir.resolve("c.cold"), List.of(series)));
+        assertThrows(IllegalArgumentException.class,
+                () -> ColdSegment.write(tempDir.resolve("c.cold"), List.of(later, series.toBuilder()
+                        .recurrence(null).build())));
+        assertFalse(Files.exists(tempDir.resolve("c.cold")));
+        // Nor the temporary file the failed write started
+        assertEquals(0, tempDir.toFile().list().length);
+    }
+
+    @Test
+    @DisplayName("Should refuse files that are not segments")
+    void shouldRejectForeignFile() throws Exception {
+        Path file = tempDir.resolve("d.cold");
+        Files.write(file, new byte[64]);
+        assertThrows(PersistenceException.class, () -> ColdSegment.open(file));
+    }
+}
@@ -0,0 +1,127 @@
+package com.calendar.store;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CompactEventStore class.
+ * Tests that packed storage preserves event data and BST ordering.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("CompactEventStore Class Tests")
+class CompactEventStoreTest {
+
+    private CompactEventStore store;
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        store = new CompactEventStore();
+        start = LocalDate.of(2026, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should materialize events identical to the originals")
+    void shouldMaterializeIdenticalEvents() {
+        Event original = Event.builder()
+                .date(start)
+                .time(LocalTime.of(14, 30, 15))
+                .durationMinutes(75)
+                .title("Review")
+                .description("Quarterly review")
+                .category(EventCategory.FINANCE)
+                .priority(EventPriority.URGENT)
+                .build();
+        store.add(original);
+
+        Event copy = store.findById(original.getId());
+
+        assertEquals(original, copy);
+        assertEquals(original.getTime(), copy.getTime());
+        assertEquals(original.getDuration(), copy.getDuration());
+        assertEquals(original.getCategory(), copy.getCategory());
+        assertEquals(original.getPriority(), copy.getPriority());
+        assertEquals(original.getCreatedAt(), copy.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should keep the same order as EventBST")
+    void shouldMatchBstOrder() {
+        EventBST tree = new EventBST();
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            Event event = Event.builder()
+                    .date(start.plusDays(random.nextInt(60)))
+                    .time(LocalTime.of(random.nextInt(24), random.nextInt(4) * 15))
+                    .title("Event " + i)
+                    .priority(EventPriority.values()[random.nextInt(4)])
+                    .build();
+            tree.insert(event);
+            store.add(event);
+        }
+
+        assertEquals(tree.getAllEvents(), store.getAllEvents());
+        assertEquals(tree.findEventsInRange(start.plusDays(10), start.plusDays(20)),
+                store.findEventsInRange(start.plusDays(10), start.plusDays(20)));
+        assertEquals(tree.getAllEvents(), CompactEventStore.from(tree).getAllEvents());
+    }
+
+    @Test
+    @DisplayName("Should keep custom ids and expand recurring series")
+    void shouldKeepCustomIdsAndSeries() {
+        store.add(Event.builder().id("custom-id").date(start).time(LocalTime.NOON).title("Custom").build());
+        store.add(Event.builder().date(start).time(LocalTime.of(8, 0)).title("Daily")
+                .recurrence(RecurrenceRule.daily().withCount(5)).build());
+
+        assertEquals("Custom", store.findById("custom-id").getTitle());
+        List<Event> secondDay = store.findEventsByDate(start.plusDays(1));
+        assertEquals(1, secondDay.size());
+        assertEquals("Daily", secondDay.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should delete by id")
+    void shouldDeleteById() {
+        Event first = Event.builder().date(start).time(LocalTime.of(9, 0)).title("First").build();
+        Event second = Event.builder().date(start).time(LocalTime.of(10, 0)).title("Second").build();
+        store.add(first);
+        store.add(second);
+
+        assertTrue(store.deleteById(first.getId()));
+        assertEquals(List.of(second), store.getAllEvents());
+        assertThrows(EventNotFoundException.class, () -> store.deleteById(first.getId()));
+    }
+
+    @Test
+    @DisplayName("Should report a smaller footprint than the object graph")
+    void shouldReportSmallerFootprint() {
+        for (int i = 0; i < 1000; i++) {
+            store.add(Event.builder().date(start.plusDays(i % 30)).time(LocalTime.of(9, 0)).title("Standup").build());
+        }
+        store.trimToSize();
+
+        MemoryFootprint footprint = store.estimateFootprint();
+
+        assertEquals(1000, footprint.events());
+        assertTrue(footprint.packedBytesPerEvent() < footprint.objectBytesPerEvent());
+        assertTrue(footprint.bytesSaved() > 0);
+        assertNotNull(footprint.toString());
+    }
+}
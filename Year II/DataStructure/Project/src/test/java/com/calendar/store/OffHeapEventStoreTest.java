@@ -0,0 +1,211 @@
+package com.calendar.store;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.model.Event;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the OffHeapEventStore class.
+ * Tests off-heap record storage, deletion and the mapped file round trip.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("OffHeapEventStore Class Tests")
+class OffHeapEventStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private OffHeapEventStore store;
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapEventStore();
+        start = LocalDate.of(2026, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should keep the same order as EventBST")
+    void shouldMatchBstOrder() {
+        EventBST tree = new EventBST();
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            Event event = Event.builder()
+                    .date(start.plusDays(random.nextInt(60)))
+                    .time(LocalTime.of(random.nextInt(24), random.nextInt(4) * 15))
+                    .title("Événement " + i)
+                    .priority(EventPriority.values()[random.nextInt(4)])
+                    .build();
+            tree.insert(event);
+            store.add(event);
+        }
+
+        assertEquals(tree.getAllEvents(), store.getAllEvents());
+        assertEquals(tree.findEventsInRange(start.plusDays(10), start.plusDays(20)),
+                store.findEventsInRange(start.plusDays(10), start.plusDays(20)));
+    }
+
+    @Test
+    @DisplayName("Should delete by id and support custom ids")
+    void shouldDeleteById() {
+        Event keep = Event.builder().id("custom-1").date(start).time(LocalTime.NOON).title("Keep").build();
+        Event drop = Event.builder().date(start).time(LocalTime.NOON).title("Drop").build();
+        store.add(keep);
+        store.add(drop);
+
+        assertTrue(store.deleteById(drop.getId()));
+
+        assertEquals(1, store.getSize());
+        assertEquals(List.of(keep), store.findEventsByDate(start));
+        assertEquals("custom-1", store.findById("custom-1").getId());
+        assertThrows(EventNotFoundException.class, () -> store.findById(drop.getId()));
+    }
+
+    @Test
+    @DisplayName("Should expand recurring series")
+    void shouldExpandRecurringSeries() {
+        store.add(Event.builder()
+                .date(start)
+                .time(LocalTime.of(9, 0))
+                .title("Standup")
+                .recurrence(RecurrenceRule.daily().withCount(10))
+                .build());
+
+        assertEquals(3, store.findEventsInRange(start.plusDays(2), start.plusDays(4)).size());
+    }
+
+    @Test
+    @DisplayName("Should reopen a saved store from its mapped file")
+    void shouldRoundTripThroughFile() {
+        for (int i = 0; i < 50; i++) {
+            store.add(Event.builder()
+                    .date(start.plusDays(i % 7))
+                    .time(LocalTime.of(8 + i % 10, 0))
+                    .title("Event " + i)
+                    .description(i % 2 == 0 ? "Even" : null)
+                    .build());
+        }
+        store.deleteById(store.getAllEvents().get(0).getId());
+        Path file = tempDir.resolve("events.bin");
+        store.saveTo(file);
+
+        try (OffHeapEventStore reopened = OffHeapEventStore.open(file)) {
+            assertEquals(store.getAllEvents(), reopened.getAllEvents());
+            assertEquals(49, reopened.getSize());
+
+            Event added = Event.builder().date(start).time(LocalTime.MIDNIGHT).title("Late add").build();
+            reopened.add(added);
+            assertEquals(added, reopened.findEventsByDate(start).get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reclaim deleted records and strings on compaction")
+    void shouldCompactDeletedRecords() {
+        List<Event> kept = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Event event = Event.builder()
+                    .id(i % 3 == 0 ? "custom-" + i : UUID.randomUUID().toString())
+                    .date(start.plusDays(i % 30))
+                    .time(LocalTime.of(8 + i % 10, 0))
+                    .title("Événement " + "x".repeat(i % 17) + i)
+                    .description(i % 2 == 0 ? "Notes " + i : null)
+                    .recurrence(i % 25 == 0 ? RecurrenceRule.weekly().withCount(3) : null)
+                    .build();
+            store.add(event);
+            if (i % 4 != 1) {
+                kept.add(event);
+            }
+        }
+        for (Event event : store.getAllEvents()) {
+            if (!kept.contains(event)) {
+                store.deleteById(event.getId());
+            }
+        }
+
+        store.compact();
+
+        assertEquals(0, store.getDeletedCount());
+        assertEquals(kept.size(), store.getSize());
+        kept.sort(null);
+        assertEquals(kept, store.getAllEvents());
+        for (Event event : kept) {
+            assertEquals(event.getTitle(), store.findById(event.getId()).getTitle());
+            assertEquals(event.getRecurrence(), store.findById(event.getId()).getRecurrence());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse freed space instead of growing on delete and add cycles")
+    void shouldNotGrowUnderChurn() {
+        for (int i = 0; i < 500; i++) {
+            store.add(Event.builder().date(start).time(LocalTime.NOON).title("Seed " + i).build());
+        }
+        long bytes = store.getOffHeapBytes();
+
+        for (int round = 0; round < 60; round++) {
+            for (Event event : store.findEventsByDate(start).subList(0, 250)) {
+                store.deleteById(event.getId());
+            }
+            for (int i = 0; i < 250; i++) {
+                store.add(Event.builder()
+                        .date(start)
+                        .time(LocalTime.NOON)
+                        .title("Round " + round + " " + "x".repeat(500) + i)
+                        .build());
+            }
+        }
+
+        assertEquals(500, store.getSize());
+        assertEquals(bytes, store.getOffHeapBytes());
+    }
+
+    @Test
+    @DisplayName("Should not write deleted records to the saved file")
+    void shouldSaveOnlyLiveRecords() throws IOException {
+        OffHeapEventStore fresh = new OffHeapEventStore();
+        for (int i = 0; i < 20; i++) {
+            Event event = Event.builder().date(start).time(LocalTime.of(i, 0)).title("Event " + i).build();
+            store.add(event);
+            if (i < 15) {
+                fresh.add(event);
+            }
+        }
+        for (Event event : store.getAllEvents().subList(15, 20)) {
+            store.deleteById(event.getId());
+        }
+
+        store.saveTo(tempDir.resolve("churned.bin"));
+        fresh.saveTo(tempDir.resolve("fresh.bin"));
+        fresh.close();
+
+        assertEquals(Files.size(tempDir.resolve("fresh.bin")), Files.size(tempDir.resolve("churned.bin")));
+    }
+}
@@ -0,0 +1,224 @@
+package com.calendar.store;
+
+import com.calendar.bst.EventBST;
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.exception.InvalidDateRangeException;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.EventCategory;
+import com.calendar.model.EventPriority;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SqliteEventStore class.
+ * Tests batched inserts, SQL range queries and reopening a database file.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("SqliteEventStore Class Tests")
+class SqliteEventStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SqliteEventStore store;
+    private final LocalDate start = LocalDate.of(2026, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        store = new SqliteEventStore(tempDir.resolve("calendar.db"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private Event createEvent(LocalDate date, LocalTime time, String title) {
+        return Event.builder()
+                .date(date)
+                .time(time)
+                .durationMinutes(45)
+                .title(title)
+                .description("Notes for " + title)
+                .category(EventCategory.HEALTH)
+                .priority(EventPriority.LOW)
+                .build();
+    }
+
+    private List<Event> createEvents(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(createEvent(start.plusDays(i % 90), LocalTime.of(8 + i % 10, 15), "Event " + i));
+        }
+        return events;
+    }
+
+    @Test
+    @DisplayName("Should store every field of an event")
+    void shouldRoundTripFields() {
+        Event event = Event.builder()
+                .id("custom-id")
+                .date(start)
+                .time(LocalTime.of(7, 45))
+                .durationMinutes(90)
+                .title("Run \"5k\"")
+                .description("Line one\nline two")
+                .category(EventCategory.HEALTH)
+                .priority(EventPriority.URGENT)
+                .build();
+        store.insert(event);
+
+        Event found = store.findById("custom-id");
+
+        assertEquals(event.getDate(), found.getDate());
+        assertEquals(event.getTime(), found.getTime());
+        assertEquals(event.getDuration(), found.getDuration());
+        assertEquals(event.getTitle(), found.getTitle());
+        assertEquals(event.getDescription(), found.getDescription());
+        assertEquals(event.getCategory(), found.getCategory());
+        assertEquals(event.getPriority(), found.getPriority());
+        assertEquals(event.getCreatedAt(), found.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should keep UUID ids as UUIDs")
+    void shouldKeepUuidIds() {
+        Event event = createEvent(start, LocalTime.NOON, "Lunch");
+        store.insert(event);
+
+        Event found = store.findById(event.getId());
+
+        assertFalse(found.hasCustomId());
+        assertEquals(event.getIdMostSignificantBits(), found.getIdMostSignificantBits());
+        assertEquals(event.getIdLeastSignificantBits(), found.getIdLeastSignificantBits());
+    }
+
+    @Test
+    @DisplayName("Should insert more rows than one batch in a single call")
+    void shouldInsertAcrossBatches() {
+        store.insertAll(createEvents(SqliteEventStore.BATCH_SIZE * 2 + 17));
+
+        assertEquals(SqliteEventStore.BATCH_SIZE * 2 + 17, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Should roll back the whole batch when one event fails")
+    void shouldRollBackFailedBatch() {
+        store.insert(createEvent(start, LocalTime.NOON, "Existing"));
+        List<Event> events = createEvents(10);
+        events.add(null);
+
+        assertThrows(NullPointerException.class, () -> store.insertAll(events));
+        assertEquals(1, store.getSize());
+    }
+
+    @Test
+    @DisplayName("Should return the same range results as the tree")
+    void shouldMatchTreeRangeResults() {
+        List<Event> events = createEvents(500);
+        store.insertAll(events);
+        EventBST tree = new EventBST();
+        events.forEach(tree::insert);
+
+        List<Event> fromStore = store.findEventsInRange(start.plusDays(10), start.plusDays(16));
+        List<Event> fromTree = tree.findEventsInRange(start.plusDays(10), start.plusDays(16));
+
+        assertEquals(fromTree.size(), fromStore.size());
+        for (int i = 0; i < fromTree.size(); i++) {
+            assertEquals(fromTree.get(i).getId(), fromStore.get(i).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should expand series that started before the range")
+    void shouldExpandSeries() {
+        store.insert(Event.builder()
+                .date(start)
+                .time(LocalTime.of(9, 0))
+                .title("Weekly review")
+                .recurrence(RecurrenceRule.weekly())
+                .build());
+        store.insert(createEvent(start.plusDays(14), LocalTime.of(8, 0), "One-off"));
+
+        List<Event> events = store.findEventsInRange(start.plusDays(14), start.plusDays(20));
+
+        assertEquals(2, events.size());
+        assertEquals("One-off", events.get(0).getTitle());
+        assertEquals("Weekly review", events.get(1).getTitle());
+        assertEquals(start.plusDays(14), events.get(1).getDate());
+    }
+
+    @Test
+    @DisplayName("Should delete by id and report unknown ids")
+    void shouldDeleteById() {
+        Event event = createEvent(start, LocalTime.NOON, "Lunch");
+        store.insert(event);
+
+        assertTrue(store.deleteById(event.getId()));
+        assertTrue(store.isEmpty());
+        assertThrows(EventNotFoundException.class, () -> store.deleteById(event.getId()));
+        assertThrows(EventNotFoundException.class, () -> store.findById(event.getId()));
+    }
+
+    @Test
+    @DisplayName("Should replace an event inserted again with the same id")
+    void shouldReplaceSameId() {
+        store.insert(Event.builder().id("meeting").date(start).time(LocalTime.of(9, 0)).title("Old").build());
+        store.insert(Event.builder().id("meeting").date(start).time(LocalTime.of(10, 0)).title("New").build());
+
+        assertEquals(1, store.getSize());
+        assertEquals("New", store.findById("meeting").getTitle());
+    }
+
+    @Test
+    @DisplayName("Should keep events after reopening the database")
+    void shouldPersistAcrossReopen() {
+        store.insertAll(createEvents(100));
+        store.close();
+
+        store = new SqliteEventStore(tempDir.resolve("calendar.db"));
+
+        assertEquals(100, store.getSize());
+        assertEquals(100, store.getAllEvents().size());
+    }
+
+    @Test
+    @DisplayName("Should run in WAL mode")
+    void shouldUseWriteAheadLog() {
+        store.insert(createEvent(start, LocalTime.NOON, "Lunch"));
+
+        assertTrue(Files.exists(tempDir.resolve("calendar.db-wal")));
+    }
+
+    @Test
+    @DisplayName("Should reject a reversed range")
+    void shouldRejectReversedRange() {
+        assertThrows(InvalidDateRangeException.class,
+                () -> store.findEventsInRange(start.plusDays(1), start));
+    }
+
+    @Test
+    @DisplayName("Should report a database that cannot be opened")
+    void shouldReportUnopenableDatabase() {
+        Path missing = tempDir.resolve("missing").resolve("calendar.db");
+
+        assertThrows(PersistenceException.class, () -> new SqliteEventStore(missing).close());
+    }
+}
@@ -0,0 +1,180 @@
+package com.calendar.store;
+
+import com.calendar.bst.EventChange;
+import com.calendar.exception.EventNotFoundException;
+import com.calendar.exception.PersistenceException;
+import com.calendar.model.Event;
+import com.calendar.model.RecurrenceRule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TieredEventStore class.
+ * Tests archival into cold segments and merged queries across both tiers.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("TieredEventStore Class Tests")
+class TieredEventStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TieredEventStore store;
+    private final LocalDate start = LocalDate.of(2025, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        store = new TieredEventStore(tempDir, Period.ofMonths(3));
+        for (int day = 0; day < 60; day++) {
+            store.insert(createEvent(start.plusDays(day), LocalTime.of(9 + day % 8, 0), "Event " + day));
+        }
+    }
+
+    private Event createEvent(LocalDate date, LocalTime time, String title) {
+        return Event.builder()
+                .date(date)
+                .time(time)
+                .title(title)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should move events before the cutoff into a cold segment")
+    void shouldArchiveBeforeCutoff() {
+        int archived = store.archiveBefore(start.plusDays(40));
+
+        assertEquals(40, archived);
+        assertEquals(20, store.getHotTier().getSize());
+        assertEquals(40, store.getColdSize());
+        assertEquals(60, store.getSize());
+        assertEquals(1, store.getSegments().size());
+    }
+
+    @Test
+    @DisplayName("Should merge hot and cold results in order")
+    void shouldMergeTiers() {
+        List<Event> before = store.findEventsInRange(start, start.plusDays(59));
+        store.archiveBefore(start.plusDays(20));
+        store.insert(createEvent(start.plusDays(5), LocalTime.of(23, 0), "Late addition"));
+
+        List<Event> after = store.findEventsInRange(start, start.plusDays(59));
+
+        assertEquals(before.size() + 1, after.size());
+        for (int i = 1; i < after.size(); i++) {
+            assertTrue(after.get(i - 1).compareTo(after.get(i)) <= 0);
+        }
+        assertEquals(2, store.findEventsByDate(start.plusDays(5)).size());
+    }
+
+    @Test
+    @DisplayName("Should keep recurring series in the hot tier")
+    void shouldKeepSeriesHot() {
+        store.insert(Event.builder()
+                .date(start)
+                .time(LocalTime.of(7, 0))
+                .title("Weekly sync")
+                .recurrence(RecurrenceRule.weekly())
+                .build());
+
+        assertEquals(60, store.archiveBefore(start.plusDays(60)));
+        assertEquals(1, store.getHotTier().getRecurringSeriesCount());
+        assertEquals(2, store.findEventsByDate(start.plusDays(7)).size());
+    }
+
+    @Test
+    @DisplayName("Should leave series untouched in the hot tier while archiving")
+    void shouldNotChurnSeries() {
+        store.insert(Event.builder()
+                .date(start)
+                .time(LocalTime.of(7, 0))
+                .title("Weekly sync")
+                .recurrence(RecurrenceRule.weekly())
+                .build());
+        List<EventChange> changes = new ArrayList<>();
+        store.getHotTier().addChangeListener(changes::add);
+
+        store.archiveBefore(start.plusDays(30));
+
+        assertEquals(30, changes.size());
+        assertTrue(changes.stream().allMatch(change -> change.type() == EventChange.Type.DELETED));
+        assertTrue(changes.stream().noneMatch(change -> change.event().isRecurring()));
+    }
+
+    @Test
+    @DisplayName("Should keep events hot when the segment cannot be written")
+    void shouldKeepEventsOnFailedWrite() throws IOException {
+        Path blocked = Files.createFile(tempDir.resolve("blocked"));
+        TieredEventStore failing = new TieredEventStore(blocked, Period.ofMonths(3));
+        failing.insert(createEvent(start, LocalTime.NOON, "Keep me"));
+
+        assertThrows(PersistenceException.class, () -> failing.archiveBefore(start.plusDays(1)));
+        assertEquals(1, failing.getHotTier().getSize());
+        assertEquals(0, failing.getColdSize());
+    }
+
+    @Test
+    @DisplayName("Should find and delete archived events by id")
+    void shouldFindAndDeleteArchived() {
+        Event first = store.findEventsByDate(start).get(0);
+        store.archiveBefore(start.plusDays(30));
+
+        assertEquals(first, store.findById(first.getId()));
+        assertTrue(store.deleteById(first.getId()));
+        assertEquals(29, store.getColdSize());
+        assertThrows(EventNotFoundException.class, () -> store.findById(first.getId()));
+    }
+
+    @Test
+    @DisplayName("Should reopen existing segments from the directory")
+    void shouldReopenSegments() {
+        store.archiveBefore(start.plusDays(10));
+        store.archiveBefore(start.plusDays(30));
+
+        TieredEventStore reopened = new TieredEventStore(tempDir, Period.ofMonths(3));
+
+        assertEquals(2, reopened.getSegments().size());
+        assertEquals(30, reopened.getColdSize());
+        assertEquals(10, reopened.findEventsInRange(start.plusDays(5), start.plusDays(14)).size());
+        reopened.insert(createEvent(start.plusDays(31), LocalTime.NOON, "New"));
+        reopened.archiveBefore(start.plusDays(32));
+        assertEquals(3, reopened.getSegments().size());
+    }
+
+    @Test
+    @DisplayName("Should archive on the first insert of a day once auto-archive is on")
+    void shouldAutoArchive() {
+        store.setAutoArchive(true);
+        store.insert(createEvent(start.plusDays(70), LocalTime.NOON, "Late"));
+
+        assertEquals(61, store.getColdSize());
+        assertEquals(1, store.getSegments().size());
+
+        // The cutoff has not moved, so the next insert stays hot
+        store.insert(createEvent(start.plusDays(71), LocalTime.NOON, "Later"));
+        assertEquals(1, store.getHotTier().getSize());
+        assertEquals(1, store.getSegments().size());
+    }
+
+    @Test
+    @DisplayName("Should archive using the configured horizon")
+    void shouldArchiveUsingHorizon() {
+        assertEquals(60, store.archive());
+        assertTrue(store.getHotTier().isEmpty());
+    }
+}
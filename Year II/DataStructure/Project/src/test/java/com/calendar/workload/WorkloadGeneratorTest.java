@@ -0,0 +1,123 @@
+package com.calendar.workload;
+
+import com.calendar.bst.EventBST;
+import com.calendar.model.Event;
+import com.calendar.store.CompactEventStore;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the WorkloadGenerator and ReplayDriver classes.
+ * Tests trace determinism, traffic shape and replay accounting.
+ *
+ * @author Personal Calendar Team
+ * @version 1.0
+ */
+@DisplayName("Workload Generator and Replay Tests")
+class WorkloadGeneratorTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+
+    private final WorkloadGenerator generator = new WorkloadGenerator(WorkloadMix.defaults(), FIRST_DAY);
+
+    @Nested
+    @DisplayName("Generation")
+    class GenerationTests {
+
+        @Test
+        @DisplayName("Should produce identical traces for the same seed")
+        void shouldBeDeterministic() {
+            WorkloadTrace first = generator.generate(42, 200, 2_000);
+            WorkloadTrace second = generator.generate(42, 200, 2_000);
+
+            assertEquals(first.operations().size(), second.operations().size());
+            for (int i = 0; i < first.operations().size(); i++) {
+                Operation a = first.operations().get(i);
+                Operation b = second.operations().get(i);
+                assertEquals(a.type(), b.type());
+                assertEquals(a.id(), b.id());
+                assertEquals(a.startDate(), b.startDate());
+                if (a.event() != null) {
+                    assertEquals(a.event().getId(), b.event().getId());
+                    assertEquals(a.event().getDate(), b.event().getDate());
+                }
+            }
+            assertNotEquals(first.preload().get(0).getId(), generator.generate(43, 200, 0).preload().get(0).getId());
+        }
+
+        @Test
+        @DisplayName("Should concentrate traffic on a few hot days")
+        void shouldSkewTowardsHotDays() {
+            WorkloadTrace trace = generator.generate(7, 5_000, 0);
+            Map<LocalDate, Integer> perDay = new HashMap<>();
+            for (Event event : trace.preload()) {
+                perDay.merge(event.getDate(), 1, Integer::sum);
+            }
+
+            int hottest = perDay.values().stream().max(Integer::compare).orElseThrow();
+            assertTrue(hottest > 5_000 / 365 * 10, "hottest day only had " + hottest + " events");
+        }
+
+        @Test
+        @DisplayName("Should roughly follow the configured mix")
+        void shouldFollowMix() {
+            WorkloadMix readOnly = WorkloadMix.defaults().withWeights(0, 0, 1, 1, 0);
+            WorkloadTrace trace = new WorkloadGenerator(readOnly, FIRST_DAY).generate(1, 100, 1_000);
+
+            Map<OperationType, Integer> counts = trace.countByType();
+            assertEquals(0, counts.get(OperationType.INSERT));
+            assertEquals(0, counts.get(OperationType.DELETE));
+            assertEquals(1_000, counts.get(OperationType.FIND_BY_DATE) + counts.get(OperationType.FIND_IN_RANGE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should replay a trace single-threaded without misses")
+        void shouldReplaySingleThreaded() {
+            WorkloadTrace trace = generator.generate(3, 500, 3_000);
+            EventBST tree = new EventBST();
+
+            ReplayReport report = new ReplayDriver().replay(trace, tree);
+
+            Map<OperationType, Integer> counts = trace.countByType();
+            assertEquals(0, report.misses());
+            assertEquals(500 + counts.get(OperationType.INSERT) - counts.get(OperationType.DELETE), tree.getSize());
+            long recorded = report.latencies().values().stream().mapToLong(h -> h.getCount()).sum();
+            assertEquals(3_000, recorded);
+            assertTrue(report.toString().contains("Range read"));
+        }
+
+        @Test
+        @DisplayName("Should replay a trace across threads against any store")
+        void shouldReplayMultiThreaded() {
+            WorkloadTrace trace = generator.generate(5, 500, 4_000);
+
+            ReplayReport report = new ReplayDriver().replay(trace, new CompactEventStore(), 4);
+
+            assertEquals(4, report.threads());
+            long recorded = report.latencies().values().stream().mapToLong(h -> h.getCount()).sum();
+            assertEquals(4_000, recorded);
+            assertTrue(report.throughputPerSecond() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep preloaded events in the trace")
+    void shouldExposePreload() {
+        List<Event> preload = generator.generate(9, 10, 0).preload();
+        assertEquals(10, preload.size());
+    }
+}